@@ -0,0 +1,98 @@
+package io.github.ice_lfernandes.spring.log.utils.benchmark;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.LogSink;
+import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.features.aspect.GlobalHttpMethodLogAspect;
+import io.github.ice_lfernandes.spring.log.utils.features.aspect.HttpMethodLogExecutionAspect;
+import io.github.ice_lfernandes.spring.log.utils.features.aspect.LogExecutionAspect;
+import io.github.ice_lfernandes.spring.log.utils.features.control.LoggingControl;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.properties.ControlProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.ExecutionProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.GlobalProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.RenderingProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.helpers.MessageFormatter;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of each aspect through a real Spring AOP proxy, compared with a direct call on the target.
+ * <p>
+ * The log lines are formatted into a {@link Blackhole} instead of being written by an appender, so the numbers cover
+ * the interception, the argument rendering and the message formatting, but no I/O.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AspectBenchmark {
+
+    @Param({"FULL", "SINGLE", "TAIL"})
+    private LogMode mode;
+
+    private GreetingService target;
+
+    private GreetingService logExecutionProxy;
+
+    private GreetingService httpMethodLogExecutionProxy;
+
+    private GreetingService globalHttpMethodProxy;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        var renderingProperties = new RenderingProperties(null, null, null);
+        var executionProperties = new ExecutionProperties(mode, null, null);
+        var loggingControl = new LoggingControl(new ControlProperties(null));
+        target = new GreetingService();
+        logExecutionProxy = proxy(new LogExecutionAspect(renderingProperties, executionProperties, loggingControl));
+        httpMethodLogExecutionProxy = proxy(new HttpMethodLogExecutionAspect(renderingProperties, executionProperties,
+                loggingControl));
+        globalHttpMethodProxy = proxy(new GlobalHttpMethodLogAspect(new GlobalProperties(null), renderingProperties,
+                executionProperties, loggingControl));
+        LoggingCommonsMethods.setLogSink((logger, level, template, arguments) ->
+                blackhole.consume(MessageFormatter.arrayFormat(template, arguments).getMessage()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        LoggingCommonsMethods.setLogSink(LogSink.SYNC);
+    }
+
+    @Benchmark
+    public String baseline() {
+        return target.greet("John", 3);
+    }
+
+    @Benchmark
+    public String logExecution() {
+        return logExecutionProxy.logExecution("John", 3);
+    }
+
+    @Benchmark
+    public String httpMethodLogExecution() {
+        return httpMethodLogExecutionProxy.httpMethodLogExecution("John", 3);
+    }
+
+    @Benchmark
+    public String globalHttpMethod() {
+        return globalHttpMethodProxy.globalHttpMethod("John", 3);
+    }
+
+    private GreetingService proxy(Object aspect) {
+        var factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.ice_lfernandes.spring.log.utils.benchmark;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+
+/**
+ * DTOs of 5, 20 and 50 fields, every other field being masked, used by {@link LogMaskBenchmark}.
+ */
+final class BenchmarkDtos {
+
+    private BenchmarkDtos() {
+    }
+
+    static LogMask of(int fields) throws ReflectiveOperationException {
+        Class<? extends LogMask> type = switch (fields) {
+            case 5 -> Dto5.class;
+            case 20 -> Dto20.class;
+            case 50 -> Dto50.class;
+            default -> throw new IllegalArgumentException("Unsupported number of fields: " + fields);
+        };
+        Object[] values = new Object[fields];
+        Class<?>[] types = new Class<?>[fields];
+        for (int i = 0; i < fields; i++) {
+            values[i] = "value-" + i + "@example.com";
+            types[i] = String.class;
+        }
+        return type.getDeclaredConstructor(types).newInstance(values);
+    }
+
+    record Dto5(
+            @MaskSensitiveData(maskedType = MaskedType.ALL) String field0,
+            String field1,
+            @MaskSensitiveData(maskedType = MaskedType.EMAIL) String field2,
+            String field3,
+            @MaskSensitiveData(maskedType = MaskedType.DOCUMENT) String field4
+    ) implements LogMask {
+    }
+
+    record Dto20(
+            @MaskSensitiveData(maskedType = MaskedType.ALL) String field0,
+            String field1,
+            @MaskSensitiveData(maskedType = MaskedType.EMAIL) String field2,
+            String field3,
+            @MaskSensitiveData(maskedType = MaskedType.DOCUMENT) String field4,
+            String field5,
+            @MaskSensitiveData(maskedType = MaskedType.NAME) String field6,
+            String field7,
+            @MaskSensitiveData(maskedType = MaskedType.DATE) String field8,
+            String field9,
+            @MaskSensitiveData(maskedType = MaskedType.ADDRESS) String field10,
+            String field11,
+            @MaskSensitiveData(maskedType = MaskedType.ZIP_CODE) String field12,
+            String field13,
+            @MaskSensitiveData(maskedType = MaskedType.NUMBER) String field14,
+            String field15,
+            @MaskSensitiveData(maskedType = MaskedType.TELEPHONE) String field16,
+            String field17,
+            @MaskSensitiveData(maskedType = MaskedType.ALL) String field18,
+            String field19
+    ) implements LogMask {
+    }
+
+    record Dto50(
+            @MaskSensitiveData(maskedType = MaskedType.ALL) String field0,
+            String field1,
+            @MaskSensitiveData(maskedType = MaskedType.EMAIL) String field2,
+            String field3,
+            @MaskSensitiveData(maskedType = MaskedType.DOCUMENT) String field4,
+            String field5,
+            @MaskSensitiveData(maskedType = MaskedType.NAME) String field6,
+            String field7,
+            @MaskSensitiveData(maskedType = MaskedType.DATE) String field8,
+            String field9,
+            @MaskSensitiveData(maskedType = MaskedType.ADDRESS) String field10,
+            String field11,
+            @MaskSensitiveData(maskedType = MaskedType.ZIP_CODE) String field12,
+            String field13,
+            @MaskSensitiveData(maskedType = MaskedType.NUMBER) String field14,
+            String field15,
+            @MaskSensitiveData(maskedType = MaskedType.TELEPHONE) String field16,
+            String field17,
+            @MaskSensitiveData(maskedType = MaskedType.ALL) String field18,
+            String field19,
+            @MaskSensitiveData(maskedType = MaskedType.EMAIL) String field20,
+            String field21,
+            @MaskSensitiveData(maskedType = MaskedType.DOCUMENT) String field22,
+            String field23,
+            @MaskSensitiveData(maskedType = MaskedType.NAME) String field24,
+            String field25,
+            @MaskSensitiveData(maskedType = MaskedType.DATE) String field26,
+            String field27,
+            @MaskSensitiveData(maskedType = MaskedType.ADDRESS) String field28,
+            String field29,
+            @MaskSensitiveData(maskedType = MaskedType.ZIP_CODE) String field30,
+            String field31,
+            @MaskSensitiveData(maskedType = MaskedType.NUMBER) String field32,
+            String field33,
+            @MaskSensitiveData(maskedType = MaskedType.TELEPHONE) String field34,
+            String field35,
+            @MaskSensitiveData(maskedType = MaskedType.ALL) String field36,
+            String field37,
+            @MaskSensitiveData(maskedType = MaskedType.EMAIL) String field38,
+            String field39,
+            @MaskSensitiveData(maskedType = MaskedType.DOCUMENT) String field40,
+            String field41,
+            @MaskSensitiveData(maskedType = MaskedType.NAME) String field42,
+            String field43,
+            @MaskSensitiveData(maskedType = MaskedType.DATE) String field44,
+            String field45,
+            @MaskSensitiveData(maskedType = MaskedType.ADDRESS) String field46,
+            String field47,
+            @MaskSensitiveData(maskedType = MaskedType.ZIP_CODE) String field48,
+            String field49
+    ) implements LogMask {
+    }
+}
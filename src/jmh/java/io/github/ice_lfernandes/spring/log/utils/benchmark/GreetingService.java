@@ -0,0 +1,30 @@
+package io.github.ice_lfernandes.spring.log.utils.benchmark;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.HttpMethodLogExecution;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.LogExecution;
+import org.springframework.web.bind.annotation.GetMapping;
+
+/**
+ * Target of {@link AspectBenchmark}, with one method per aspect.
+ */
+public class GreetingService {
+
+    @LogExecution
+    public String logExecution(String name, int times) {
+        return greet(name, times);
+    }
+
+    @HttpMethodLogExecution
+    public String httpMethodLogExecution(String name, int times) {
+        return greet(name, times);
+    }
+
+    @GetMapping("/greetings")
+    public String globalHttpMethod(String name, int times) {
+        return greet(name, times);
+    }
+
+    public String greet(String name, int times) {
+        return "Hello " + name + " x" + times;
+    }
+}
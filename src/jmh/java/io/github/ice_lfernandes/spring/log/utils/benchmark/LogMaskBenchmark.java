@@ -0,0 +1,43 @@
+package io.github.ice_lfernandes.spring.log.utils.benchmark;
+
+import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link LogMask#mask(Object)} on DTOs of 5, 20 and 50 fields, compared with their unmasked
+ * {@code toString()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LogMaskBenchmark {
+
+    @Param({"5", "20", "50"})
+    private int fields;
+
+    private LogMask dto;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        dto = BenchmarkDtos.of(fields);
+    }
+
+    @Benchmark
+    public String baseline() {
+        return dto.toString();
+    }
+
+    @Benchmark
+    public String mask() {
+        return dto.mask(dto);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.ice_lfernandes.spring.log.utils.benchmark;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.MaskCache;
+import io.github.ice_lfernandes.spring.log.utils.properties.MaskCacheProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link LoggingCommonsMethods#mask(String, String)} for each {@link MaskedType}, with the {@link MaskCache} on
+ * and off, compared with the plain {@code String.replaceAll} it replaces and with a baseline returning the value
+ * unmasked. With the cache on, the same value is masked on every call, so {@code mask} measures a hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MaskingBenchmark {
+
+    @Param
+    private MaskedType maskedType;
+
+    @Param({"false", "true"})
+    private boolean maskCacheEnabled;
+
+    private String value;
+    private MaskCache maskCache;
+
+    @Setup
+    public void setUp() {
+        value = switch (maskedType) {
+            case EMAIL -> "john.doe@gmail.com";
+            case DOCUMENT -> "12345678911";
+            case NAME -> "John Doe";
+            case DATE -> "1986-04-08";
+            case ADDRESS -> "Rua Flamengo 745, RJ";
+            case ZIP_CODE -> "20720-011";
+            case NUMBER -> "4111 1111 1111 1111";
+            case TELEPHONE -> "21-99876-5432";
+            case ALL -> "secret value";
+        };
+        if (maskCacheEnabled) {
+            maskCache = new MaskCache(new MaskCacheProperties(true, null, null, null));
+            maskCache.afterPropertiesSet();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (maskCache != null)
+            maskCache.destroy();
+    }
+
+    @Benchmark
+    public String baseline() {
+        return value;
+    }
+
+    @Benchmark
+    public String replaceAll() {
+        return value.replaceAll(maskedType.getRegex(), "*");
+    }
+
+    @Benchmark
+    public String mask() {
+        return LoggingCommonsMethods.mask(value, maskedType.getRegex());
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.ice_lfernandes.spring.log.utils.autoconfigure;
+
+import io.github.ice_lfernandes.spring.log.utils.features.aot.LogUtilsAotProcessor;
+import io.github.ice_lfernandes.spring.log.utils.features.aot.LogUtilsRuntimeHints;
+import io.github.ice_lfernandes.spring.log.utils.features.aspect.GlobalHttpMethodLogAspect;
+import io.github.ice_lfernandes.spring.log.utils.features.aspect.HttpMethodLogExecutionAspect;
+import io.github.ice_lfernandes.spring.log.utils.features.aspect.LogExecutionAspect;
+import io.github.ice_lfernandes.spring.log.utils.features.async.AsyncLogDispatcher;
+import io.github.ice_lfernandes.spring.log.utils.features.conditions.LogConditionsValidator;
+import io.github.ice_lfernandes.spring.log.utils.features.control.LoggingControl;
+import io.github.ice_lfernandes.spring.log.utils.features.control.LoggingControlEndpoint;
+import io.github.ice_lfernandes.spring.log.utils.features.exceptions.ExceptionDeduplicator;
+import io.github.ice_lfernandes.spring.log.utils.features.http.HttpCaptureFilter;
+import io.github.ice_lfernandes.spring.log.utils.features.http.HttpCaptureWebFilter;
+import io.github.ice_lfernandes.spring.log.utils.features.journal.ExecutionJournal;
+import io.github.ice_lfernandes.spring.log.utils.features.json.MaskSensitiveDataModule;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.MaskCache;
+import io.github.ice_lfernandes.spring.log.utils.features.metrics.ExecutionMetricsRecorder;
+import io.github.ice_lfernandes.spring.log.utils.features.summary.ExecutionSummarizer;
+import io.github.ice_lfernandes.spring.log.utils.features.tree.CallTreeRecorder;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Auto-configuration of the library, registering its aspects and components.
+ * <p>
+ * Each imported component keeps its own conditions, e.g. {@code spring.log-utils.async.enabled} for
+ * {@link AsyncLogDispatcher}. With Spring AOT, e.g. for a GraalVM native image, {@link LogUtilsRuntimeHints} registers
+ * the hints needed by the library itself and {@link LogUtilsAotProcessor} those needed by the application's
+ * intercepted methods and masked types, resolved at build time.
+ * </p>
+ */
+@AutoConfiguration
+@Import({
+        GlobalHttpMethodLogAspect.class,
+        LogExecutionAspect.class,
+        HttpMethodLogExecutionAspect.class,
+        AsyncLogDispatcher.class,
+        ExecutionMetricsRecorder.class,
+        MaskSensitiveDataModule.class,
+        LoggingControl.class,
+        LoggingControlEndpoint.class,
+        ExecutionJournal.class,
+        ExecutionSummarizer.class,
+        ExceptionDeduplicator.class,
+        HttpCaptureFilter.class,
+        HttpCaptureWebFilter.class,
+        CallTreeRecorder.class,
+        MaskCache.class,
+        LogConditionsValidator.class
+})
+@ImportRuntimeHints(LogUtilsRuntimeHints.class)
+public class LogUtilsAutoConfiguration {
+}
@@ -0,0 +1,173 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorates asynchronous return values so that an intercepted call is timed and logged when its result is
+ * available, rather than when the method returns.
+ * <p>
+ * Supported return values are {@link CompletionStage}s (including {@code CompletableFuture}), Reactor's {@code Mono}
+ * and {@code Flux}, and Spring MVC's {@code DeferredResult}. The completion is observed with callbacks run by the
+ * thread that completes the result, so no thread hop is added and no thread is ever blocked. Reactor and Spring Web are
+ * optional: their types are only decorated when present on the classpath.
+ * </p>
+ */
+@UtilityClass
+public class AsyncResults {
+
+    /**
+     * Result reported for a {@code Mono} or {@code Flux} cancelled before completion.
+     */
+    public final Object CANCELLED = new Object() {
+        @Override
+        public String toString() {
+            return "cancelled";
+        }
+    };
+
+    private final boolean REACTOR_PRESENT = ClassUtils.isPresent(
+            "reactor.core.publisher.Mono", AsyncResults.class.getClassLoader());
+
+    private final boolean DEFERRED_RESULT_PRESENT = ClassUtils.isPresent(
+            "org.springframework.web.context.request.async.DeferredResult", AsyncResults.class.getClassLoader());
+
+    /**
+     * Callback receiving the outcome of an asynchronous result.
+     */
+    @FunctionalInterface
+    public interface Completion {
+
+        /**
+         * @param value The result value, {@code null} if it failed
+         * @param error The failure, {@code null} if it succeeded
+         */
+        void complete(Object value, Throwable error);
+    }
+
+    /**
+     * @param result The value returned by an intercepted method
+     * @return {@code true} if {@code result} is of a supported asynchronous type
+     */
+    public boolean isAsync(Object result) {
+        return result instanceof CompletionStage<?>
+                || REACTOR_PRESENT && ReactorResults.isReactive(result)
+                || DEFERRED_RESULT_PRESENT && DeferredResults.isDeferred(result);
+    }
+
+    /**
+     * Registers {@code completion} to be called once, when {@code result} completes.
+     *
+     * @param result     The value returned by the intercepted method
+     * @param completion The callback to run on completion
+     * @return The value to return in place of {@code result}, or {@code null} if {@code result} is not asynchronous
+     * and {@code completion} was not registered
+     */
+    public Object decorate(Object result, Completion completion) {
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, error) -> completion.complete(value, unwrap(error)));
+            return stage;
+        }
+        if (REACTOR_PRESENT && ReactorResults.isReactive(result))
+            return ReactorResults.decorate(result, new OnceCompletion(completion));
+        if (DEFERRED_RESULT_PRESENT && DeferredResults.isDeferred(result))
+            return DeferredResults.decorate(result, new OnceCompletion(completion));
+        return null;
+    }
+
+    private Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Guards against a result completed more than once, e.g. a {@code Mono} subscribed several times.
+     */
+    private static final class OnceCompletion implements Completion {
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private final Completion delegate;
+
+        private OnceCompletion(Completion delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void complete(Object value, Throwable error) {
+            if (completed.compareAndSet(false, true))
+                delegate.complete(value, error);
+        }
+    }
+
+    /**
+     * Isolates the Reactor types so they are only loaded when present.
+     */
+    private static final class ReactorResults {
+
+        private static boolean isReactive(Object result) {
+            return result instanceof Mono<?> || result instanceof Flux<?>;
+        }
+
+        private static Object decorate(Object result, Completion completion) {
+            if (result instanceof Mono<?> mono)
+                return mono.doOnSuccess(value -> completion.complete(value, null))
+                        .doOnError(error -> completion.complete(null, error))
+                        .doOnCancel(() -> completion.complete(CANCELLED, null));
+            var elements = new AtomicLong();
+            return ((Flux<?>) result).doOnNext(value -> elements.incrementAndGet())
+                    .doOnComplete(() -> completion.complete("Flux[elements=" + elements.get() + "]", null))
+                    .doOnError(error -> completion.complete(null, error))
+                    .doOnCancel(() -> completion.complete(CANCELLED, null));
+        }
+    }
+
+    /**
+     * Isolates the Spring MVC types so they are only loaded when present.
+     * <p>
+     * The result is observed through a {@link DeferredResultProcessingInterceptor} registered on the current request's
+     * {@link WebAsyncManager}, which doesn't replace the callbacks set by the application. Outside a Spring MVC request,
+     * the {@code DeferredResult} is not decorated.
+     * </p>
+     */
+    private static final class DeferredResults {
+
+        private static boolean isDeferred(Object result) {
+            return result instanceof DeferredResult<?>;
+        }
+
+        private static Object decorate(Object result, Completion completion) {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            Object asyncManager = attributes == null ? null
+                    : attributes.getAttribute(WebAsyncUtils.WEB_ASYNC_MANAGER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (!(asyncManager instanceof WebAsyncManager manager))
+                return null;
+            manager.registerDeferredResultInterceptor(new Object(), new DeferredResultProcessingInterceptor() {
+                @Override
+                public <T> void postProcess(NativeWebRequest request, DeferredResult<T> deferredResult,
+                                            Object concurrentResult) {
+                    if (deferredResult != result)
+                        return;
+                    if (concurrentResult instanceof Throwable error)
+                        completion.complete(null, error);
+                    else
+                        completion.complete(concurrentResult, null);
+                }
+            });
+            return result;
+        }
+    }
+}
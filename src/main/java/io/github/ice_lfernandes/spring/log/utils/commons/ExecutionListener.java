@@ -0,0 +1,44 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+/**
+ * Callback notified of every execution intercepted by {@link LoggingCommonsMethods}, whether or not it is logged.
+ * <p>
+ * Listeners are registered with {@link LoggingCommonsMethods#addExecutionListener(ExecutionListener)} and called on
+ * the calling thread right after the method returns or throws, so implementations must be cheap and thread-safe.
+ * </p>
+ */
+@FunctionalInterface
+public interface ExecutionListener {
+
+    /**
+     * Called after an intercepted method returns or throws.
+     *
+     * @param descriptor   The interception metadata of the method
+     * @param elapsedNanos The execution time in nanoseconds
+     * @param throwable    The exception thrown by the method, or {@code null} if it returned normally
+     */
+    void onExecution(InterceptionDescriptor descriptor, long elapsedNanos, Throwable throwable);
+
+    /**
+     * Called after an intercepted method returns or throws, with its arguments and result. By default, delegates to
+     * {@link #onExecution(InterceptionDescriptor, long, Throwable)}.
+     *
+     * @param descriptor   The interception metadata of the method
+     * @param elapsedNanos The execution time in nanoseconds
+     * @param throwable    The exception thrown by the method, or {@code null} if it returned normally
+     * @param arguments    The arguments of the call, or {@code null} unless {@link #capturesArguments()}
+     * @param result       The value returned by the method, or {@code null} if it threw
+     */
+    default void onExecution(InterceptionDescriptor descriptor, long elapsedNanos, Throwable throwable,
+                             Object[] arguments, Object result) {
+        onExecution(descriptor, elapsedNanos, throwable);
+    }
+
+    /**
+     * @return {@code true} if the arguments of the calls must be captured for this listener, even when the calls are
+     * not logged
+     */
+    default boolean capturesArguments() {
+        return false;
+    }
+}
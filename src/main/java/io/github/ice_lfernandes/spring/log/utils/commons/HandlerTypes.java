@@ -0,0 +1,102 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Walks the application types an intercepted method reads and writes: its parameter and return types, through their
+ * type arguments (e.g. {@code ResponseEntity<List<User>>}), and the types of the instance fields of every application
+ * type reached, including the fields inherited from application superclasses.
+ * <p>
+ * Shared by the HTTP body masking, resolved on the first request of a handler, and the AOT processor, resolved at
+ * build time, so both reach the same types.
+ * </p>
+ */
+@UtilityClass
+public class HandlerTypes {
+
+    /**
+     * Packages whose types are only walked through their type arguments, e.g. {@code ResponseEntity<User>}.
+     */
+    private final List<String> FRAMEWORK_PACKAGES = List.of(
+            "java.", "javax.", "jakarta.", "org.springframework.", "reactor.", "kotlin.", "com.fasterxml.");
+
+    /**
+     * Receives the application types reached by a walk.
+     */
+    public interface Visitor {
+
+        /**
+         * Called once per application type, before its fields.
+         *
+         * @param type The application type
+         */
+        default void type(Class<?> type) {
+        }
+
+        /**
+         * Called for every instance field of an application type and of its application superclasses.
+         *
+         * @param type  The application type walked
+         * @param field The field, declared by {@code type} or one of its superclasses
+         * @return Whether the type of the field is walked too
+         */
+        boolean field(Class<?> type, Field field);
+    }
+
+    /**
+     * @param method  The intercepted method
+     * @param visitor Receives the application types reached from its parameter and return types
+     */
+    public void walk(Method method, Visitor visitor) {
+        walk(method, visitor, new HashSet<>());
+    }
+
+    /**
+     * @param method  The intercepted method
+     * @param visitor Receives the application types reached from its parameter and return types
+     * @param visited The types already walked, e.g. from other methods, which are not visited again
+     */
+    public void walk(Method method, Visitor visitor, Set<Class<?>> visited) {
+        for (int i = 0; i < method.getParameterCount(); i++)
+            walk(ResolvableType.forMethodParameter(new MethodParameter(method, i)), visitor, visited);
+        walk(ResolvableType.forMethodReturnType(method), visitor, visited);
+    }
+
+    /**
+     * @param type The type to check
+     * @return Whether the type is an application type, i.e. not a primitive nor a JDK or framework type
+     */
+    public boolean isApplicationType(Class<?> type) {
+        return type != null && !type.isPrimitive() && FRAMEWORK_PACKAGES.stream().noneMatch(type.getName()::startsWith);
+    }
+
+    private void walk(ResolvableType type, Visitor visitor, Set<Class<?>> visited) {
+        if (type == ResolvableType.NONE)
+            return;
+        if (type.isArray()) {
+            walk(type.getComponentType(), visitor, visited);
+            return;
+        }
+        for (ResolvableType generic : type.getGenerics())
+            walk(generic, visitor, visited);
+        Class<?> raw = type.resolve();
+        if (!isApplicationType(raw) || !visited.add(raw))
+            return;
+        visitor.type(raw);
+        for (Class<?> current = raw; isApplicationType(current); current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && visitor.field(raw, field))
+                    walk(ResolvableType.forField(field, type), visitor, visited);
+            }
+        }
+    }
+}
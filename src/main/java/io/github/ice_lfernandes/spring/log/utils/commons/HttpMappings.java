@@ -0,0 +1,55 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the HTTP mapping of a controller method, e.g. {@code GET /users/{id}}.
+ * <p>
+ * Spring Web is optional: without it on the classpath, every method is reported as not mapped.
+ * </p>
+ */
+@UtilityClass
+public class HttpMappings {
+
+    private final boolean WEB_PRESENT = ClassUtils.isPresent(
+            "org.springframework.web.bind.annotation.RequestMapping", HttpMappings.class.getClassLoader());
+
+    /**
+     * Describes the HTTP mapping of a method from its merged {@code @RequestMapping} (including {@code @GetMapping},
+     * {@code @PostMapping}, ...) and the one of its declaring class.
+     *
+     * @param method The method to describe
+     * @return The HTTP methods and path, or an empty string if the method is not mapped
+     */
+    public String describe(Method method) {
+        return WEB_PRESENT ? WebMappings.describe(method) : "";
+    }
+
+    /**
+     * Isolates the Spring Web types so they are only loaded when present.
+     */
+    private static final class WebMappings {
+
+        private static String describe(Method method) {
+            RequestMapping methodMapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+            if (methodMapping == null)
+                return "";
+            RequestMapping typeMapping = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), RequestMapping.class);
+            String verbs = Arrays.stream(methodMapping.method()).map(RequestMethod::name).collect(Collectors.joining(","));
+            String path = firstPath(typeMapping) + firstPath(methodMapping);
+            return (verbs + " " + (path.isEmpty() ? "/" : path)).trim();
+        }
+
+        private static String firstPath(RequestMapping mapping) {
+            return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import io.github.ice_lfernandes.spring.log.utils.features.conditions.LogConditions;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogFormat;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.features.exceptions.ExceptionReport;
+import io.github.ice_lfernandes.spring.log.utils.features.json.JsonRenderer;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.BoundedRenderer;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+
+import java.lang.reflect.Method;
+
+/**
+ * Interception metadata of a method, resolved once and cached by the aspects.
+ * <p>
+ * Holds the resolved annotation flags, rendering limits and log mode, the method and class names and the precomputed
+ * message templates, so an intercepted call doesn't re-read annotations or rebuild templates.
+ * </p>
+ *
+ * @param methodName         The intercepted method name
+ * @param className          The simple name of the class declaring the method
+ * @param httpMapping        The HTTP methods and path of the method, or an empty string if it is not a controller method
+ * @param logReturn          Whether to log the method's return value
+ * @param logParameters      Whether to log the method's input parameters
+ * @param initTemplate       The SLF4J template of the init line
+ * @param finishTemplate     The SLF4J template of the finish line
+ * @param errorTemplate      The SLF4J template of the error line
+ * @param limits             The budget applied when rendering parameters and return values
+ * @param compactTemplate    The SLF4J template of the compact finish line of {@link LogMode#TAIL_COMPACT}
+ * @param mode               The lines written for a call, never {@link LogMode#DEFAULT}
+ * @param slowThresholdNanos The duration from which a call is logged in full in the tail modes, {@code 0} for every
+ *                           call
+ * @param format             The format of the lines; with {@link LogFormat#JSON}, every template is {@code {}} and
+ *                           its single argument is the JSON record
+ * @param conditions         The expressions deciding which calls are logged
+ * @param methodId           The stable identity of the method, shared by all its descriptors
+ */
+public record InterceptionDescriptor(
+        String methodName,
+        String className,
+        String httpMapping,
+        boolean logReturn,
+        boolean logParameters,
+        String initTemplate,
+        String finishTemplate,
+        String errorTemplate,
+        RenderLimits limits,
+        String compactTemplate,
+        LogMode mode,
+        long slowThresholdNanos,
+        LogFormat format,
+        LogConditions conditions,
+        MethodId methodId
+) {
+
+    private static final String JSON_TEMPLATE = "{}";
+
+    /**
+     * Resolves the descriptor of a method, logged in {@link LogMode#FULL} mode.
+     *
+     * @param method        The intercepted method
+     * @param logReturn     Whether to log the method's return value
+     * @param logParameters Whether to log the method's input parameters
+     * @param limits        The budget applied when rendering parameters and return values
+     * @return The descriptor
+     */
+    public static InterceptionDescriptor of(Method method, boolean logReturn, boolean logParameters, RenderLimits limits) {
+        return of(MethodId.of(method.getDeclaringClass().getName(), method.getName(), HttpMappings.describe(method)),
+                method.getDeclaringClass().getSimpleName(), logReturn, logParameters, limits);
+    }
+
+    /**
+     * Resolves the descriptor of a method given its names, logged in {@link LogMode#FULL} mode.
+     *
+     * @param methodName    The intercepted method name
+     * @param className     The simple name of the class declaring the method
+     * @param httpMapping   The HTTP methods and path of the method, or an empty string
+     * @param logReturn     Whether to log the method's return value
+     * @param logParameters Whether to log the method's input parameters
+     * @param limits        The budget applied when rendering parameters and return values
+     * @return The descriptor
+     */
+    public static InterceptionDescriptor of(String methodName, String className, String httpMapping,
+                                            boolean logReturn, boolean logParameters, RenderLimits limits) {
+        return of(MethodId.of(className, methodName, httpMapping), className, logReturn, logParameters, limits);
+    }
+
+    private static InterceptionDescriptor of(MethodId methodId, String className, boolean logReturn,
+                                             boolean logParameters, RenderLimits limits) {
+        String initTemplate = "stage=init, method={}, class={}" + (logParameters ? ", parameters={}" : "");
+        String finishTemplate = "stage=finish, method={}, class={}, "
+                + (logParameters ? "parameters={}, " : "")
+                + (logReturn ? "result={}, " : "")
+                + "time-execution={}ms";
+        // the exception comes last, as it may span several lines
+        String errorTemplate = "stage=error, method={}, class={}, "
+                + (logParameters ? "parameters={}, " : "")
+                + "time-execution={}ms, exception={}";
+        String compactTemplate = "stage=finish, method={}, class={}, time-execution={}ms";
+        return new InterceptionDescriptor(methodId.methodName(), className, methodId.httpMapping(), logReturn,
+                logParameters, initTemplate, finishTemplate, errorTemplate, limits, compactTemplate, LogMode.FULL, 0,
+                LogFormat.TEXT, LogConditions.NONE, methodId);
+    }
+
+    /**
+     * Copies this descriptor with another log mode.
+     *
+     * @param mode               The lines written for a call, not {@link LogMode#DEFAULT}
+     * @param slowThresholdNanos The duration from which a call is logged in full in the tail modes, {@code 0} for
+     *                           every call
+     * @return The new descriptor
+     */
+    public InterceptionDescriptor withMode(LogMode mode, long slowThresholdNanos) {
+        if (mode == LogMode.DEFAULT)
+            throw new IllegalArgumentException("LogMode should be resolved before building the descriptor");
+        return new InterceptionDescriptor(methodName, className, httpMapping, logReturn, logParameters,
+                initTemplate, finishTemplate, errorTemplate, limits, compactTemplate, mode, slowThresholdNanos, format,
+                conditions, methodId);
+    }
+
+    /**
+     * Copies this descriptor with another line format.
+     *
+     * @param format The format of the lines
+     * @return The new descriptor
+     */
+    public InterceptionDescriptor withFormat(LogFormat format) {
+        if (format == this.format)
+            return this;
+        if (format == LogFormat.JSON)
+            return new InterceptionDescriptor(methodName, className, httpMapping, logReturn, logParameters,
+                    JSON_TEMPLATE, JSON_TEMPLATE, JSON_TEMPLATE, limits, JSON_TEMPLATE, mode, slowThresholdNanos, format,
+                    conditions, methodId);
+        return of(methodId, className, logReturn, logParameters, limits).withMode(mode, slowThresholdNanos)
+                .withConditions(conditions);
+    }
+
+    /**
+     * Copies this descriptor with other logging conditions.
+     *
+     * @param conditions The expressions deciding which calls are logged
+     * @return The new descriptor
+     */
+    public InterceptionDescriptor withConditions(LogConditions conditions) {
+        if (conditions == this.conditions)
+            return this;
+        return new InterceptionDescriptor(methodName, className, httpMapping, logReturn, logParameters,
+                initTemplate, finishTemplate, errorTemplate, limits, compactTemplate, mode, slowThresholdNanos, format,
+                conditions, methodId);
+    }
+
+    /**
+     * Builds the arguments of {@link #initTemplate()}.
+     *
+     * @param parameters The method arguments or their {@link #render(Object) rendering}, ignored when parameters are
+     *                   not logged
+     * @return The template arguments
+     */
+    public Object[] initArguments(Object parameters) {
+        if (format == LogFormat.JSON)
+            return json("init", parameters, null, false, null, -1);
+        return logParameters
+                ? new Object[]{methodName, className, render(parameters)}
+                : new Object[]{methodName, className};
+    }
+
+    /**
+     * Builds the arguments of {@link #finishTemplate()}.
+     *
+     * @param parameters  The method arguments or their {@link #render(Object) rendering}, ignored when parameters
+     *                    are not logged
+     * @param result      The method result, ignored when the return value is not logged
+     * @param timeElapsed The execution time in milliseconds
+     * @return The template arguments
+     */
+    public Object[] finishArguments(Object parameters, Object result, long timeElapsed) {
+        if (format == LogFormat.JSON)
+            return json("finish", parameters, result, logReturn, null, timeElapsed);
+        Object[] arguments = new Object[3 + (logParameters ? 1 : 0) + (logReturn ? 1 : 0)];
+        int i = 0;
+        arguments[i++] = methodName;
+        arguments[i++] = className;
+        if (logParameters)
+            arguments[i++] = render(parameters);
+        if (logReturn)
+            arguments[i++] = render(result);
+        arguments[i] = timeElapsed;
+        return arguments;
+    }
+
+    /**
+     * Builds the arguments of {@link #errorTemplate()}.
+     *
+     * @param parameters  The method arguments or their {@link #render(Object) rendering}, ignored when parameters
+     *                    are not logged
+     * @param exception   The report of the exception thrown by the method
+     * @param timeElapsed The execution time in milliseconds
+     * @return The template arguments
+     */
+    public Object[] errorArguments(Object parameters, ExceptionReport exception, long timeElapsed) {
+        if (format == LogFormat.JSON)
+            return json("error", parameters, null, false, exception, timeElapsed);
+        return logParameters
+                ? new Object[]{methodName, className, render(parameters), timeElapsed, exception}
+                : new Object[]{methodName, className, timeElapsed, exception};
+    }
+
+    /**
+     * Builds the arguments of {@link #compactTemplate()}.
+     *
+     * @param timeElapsed The execution time in milliseconds
+     * @return The template arguments
+     */
+    public Object[] compactArguments(long timeElapsed) {
+        if (format == LogFormat.JSON)
+            return new Object[]{new JsonLogRecord("finish", this, null, null, false, null, timeElapsed)};
+        return new Object[]{methodName, className, timeElapsed};
+    }
+
+    /**
+     * Wraps a parameter list or return value so that it is rendered within {@link #limits()}, in this descriptor's
+     * {@link #format()}, when formatted. The rendering is computed at most once, however many lines the wrapper is
+     * logged in.
+     *
+     * @param value The value to render, returned as is if it is already wrapped
+     * @return The lazily rendered value
+     */
+    public Object render(Object value) {
+        return format == LogFormat.JSON ? JsonRenderer.lazy(value, limits) : BoundedRenderer.lazy(value, limits);
+    }
+
+    private Object[] json(String stage, Object parameters, Object result, boolean writeResult,
+                          ExceptionReport exception, long timeElapsed) {
+        return new Object[]{new JsonLogRecord(stage, this, logParameters ? render(parameters) : null, result,
+                writeResult, exception, timeElapsed)};
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import io.github.ice_lfernandes.spring.log.utils.features.exceptions.ExceptionReport;
+import io.github.ice_lfernandes.spring.log.utils.features.json.JsonRenderer;
+
+/**
+ * One log line of an intercepted call in the {@code JSON} format, encoded only when its {@code toString()} is called,
+ * i.e. when the logging framework formats the message.
+ *
+ * @param stage       The stage of the line: {@code init}, {@code finish} or {@code error}
+ * @param descriptor  The interception metadata of the method
+ * @param parameters  The method arguments, or {@code null} when they are not written
+ * @param result      The method result, or {@code null} when it is not written
+ * @param writeResult Whether the {@code result} field is written
+ * @param exception   The report of the exception thrown by the method, or {@code null}
+ * @param timeElapsed The execution time in milliseconds, or {@code -1} when it is not written
+ */
+record JsonLogRecord(
+        String stage,
+        InterceptionDescriptor descriptor,
+        Object parameters,
+        Object result,
+        boolean writeResult,
+        ExceptionReport exception,
+        long timeElapsed
+) {
+
+    @Override
+    public String toString() {
+        JsonRenderer.prepare(parameters);
+        return JsonRenderer.encode(writer -> {
+            var generator = writer.generator();
+            generator.writeStartObject();
+            generator.writeStringField("stage", stage);
+            generator.writeStringField("method", descriptor.methodName());
+            generator.writeStringField("class", descriptor.className());
+            if (!descriptor.httpMapping().isEmpty())
+                generator.writeStringField("http", descriptor.httpMapping());
+            if (parameters != null)
+                writer.writeField("parameters", parameters, descriptor.limits());
+            if (writeResult)
+                writer.writeField("result", result, descriptor.limits());
+            if (exception != null) {
+                var throwable = exception.getThrowable();
+                generator.writeObjectFieldStart("exception");
+                generator.writeStringField("type", throwable.getClass().getName());
+                generator.writeStringField("message", throwable.getMessage());
+                generator.writeStringField("fingerprint", exception.getFingerprint());
+                generator.writeNumberField("occurrences", exception.getOccurrences());
+                if (exception.getStackDepth() > 0) {
+                    generator.writeArrayFieldStart("stackTrace");
+                    for (StackTraceElement frame : exception.getWrittenFrames())
+                        generator.writeString(frame.toString());
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+            }
+            if (timeElapsed >= 0)
+                generator.writeNumberField("timeExecutionMs", timeElapsed);
+            generator.writeEndObject();
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+/**
+ * Destination of the log lines produced by {@link LoggingCommonsMethods}.
+ * <p>
+ * The default sink writes synchronously to the given logger on the calling thread; alternative sinks (e.g. the
+ * asynchronous dispatcher) are installed through {@link LoggingCommonsMethods#setLogSink(LogSink)}.
+ * </p>
+ */
+@FunctionalInterface
+public interface LogSink {
+
+    /**
+     * Synchronous sink, writing on the calling thread.
+     */
+    LogSink SYNC = LogSink::write;
+
+    /**
+     * Emits a line at the given level.
+     *
+     * @param logger    The logger to write to
+     * @param level     The level of the line, e.g. {@link Level#ERROR} for the error lines of failed calls
+     * @param template  The SLF4J message template
+     * @param arguments The template arguments
+     */
+    void log(Logger logger, Level level, String template, Object... arguments);
+
+    /**
+     * Emits an INFO line.
+     *
+     * @param logger    The logger to write to
+     * @param template  The SLF4J message template
+     * @param arguments The template arguments
+     */
+    default void info(Logger logger, String template, Object... arguments) {
+        log(logger, Level.INFO, template, arguments);
+    }
+
+    /**
+     * Writes a line to a logger at the given level.
+     *
+     * @param logger    The logger to write to
+     * @param level     The level of the line
+     * @param template  The SLF4J message template
+     * @param arguments The template arguments
+     */
+    static void write(Logger logger, Level level, String template, Object... arguments) {
+        switch (level) {
+            case ERROR -> logger.error(template, arguments);
+            case WARN -> logger.warn(template, arguments);
+            case INFO -> logger.info(template, arguments);
+            case DEBUG -> logger.debug(template, arguments);
+            case TRACE -> logger.trace(template, arguments);
+        }
+    }
+}
@@ -1,10 +1,27 @@
 package io.github.ice_lfernandes.spring.log.utils.commons;
 
+import io.github.ice_lfernandes.spring.log.utils.features.conditions.LogConditions;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogFormat;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.features.exceptions.ExceptionDeduplicator;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Masker;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Maskers;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import io.github.ice_lfernandes.spring.log.utils.features.tree.CallTreeRecorder;
+import io.github.ice_lfernandes.spring.log.utils.properties.ExceptionProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.TreeProperties;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.event.Level;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.isNull;
@@ -21,9 +38,112 @@ import static java.util.Objects.isNull;
 @UtilityClass
 public class LoggingCommonsMethods {
 
+    private volatile LogSink logSink = LogSink.SYNC;
+
+    private volatile ExceptionDeduplicator exceptionDeduplicator =
+            new ExceptionDeduplicator(new ExceptionProperties(null, null, null, null));
+
+    private volatile CallTreeRecorder callTreeRecorder = new CallTreeRecorder(new TreeProperties(null, 0));
+
+    private volatile ExecutionListener[] executionListeners = new ExecutionListener[0];
+
+    private volatile boolean capturingArguments;
+
+    private volatile ExecutionListener summaryListener;
+
+    // the listeners notified of the calls in LogMode.SUMMARY: the execution listeners, then the summary listener
+    private volatile ExecutionListener[] summaryListeners = new ExecutionListener[0];
+
+    // the descriptors of the methods logged without an aspect, indexed by their logReturn and logParameters flags
+    private final Map<Method, InterceptionDescriptor[]> DESCRIPTORS = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the sink receiving the intercepted calls' log lines, e.g. with an asynchronous dispatcher.
+     *
+     * @param logSink The sink to use from now on
+     */
+    public void setLogSink(LogSink logSink) {
+        LoggingCommonsMethods.logSink = Objects.requireNonNull(logSink, "LogSink should not be null");
+    }
+
+    /**
+     * @return The sink currently receiving the intercepted calls' log lines
+     */
+    public LogSink getLogSink() {
+        return logSink;
+    }
+
+    /**
+     * Replaces the deduplicator of the exceptions written in error lines, e.g. with a configured one.
+     *
+     * @param exceptionDeduplicator The deduplicator to use from now on
+     */
+    public void setExceptionDeduplicator(ExceptionDeduplicator exceptionDeduplicator) {
+        LoggingCommonsMethods.exceptionDeduplicator =
+                Objects.requireNonNull(exceptionDeduplicator, "ExceptionDeduplicator should not be null");
+    }
+
+    /**
+     * Replaces the recorder of the call trees of {@link LogMode#TREE}, e.g. with a configured one.
+     *
+     * @param callTreeRecorder The recorder to use from now on
+     */
+    public void setCallTreeRecorder(CallTreeRecorder callTreeRecorder) {
+        LoggingCommonsMethods.callTreeRecorder =
+                Objects.requireNonNull(callTreeRecorder, "CallTreeRecorder should not be null");
+    }
+
+    /**
+     * Registers a listener notified of every intercepted execution, e.g. to record metrics.
+     *
+     * @param listener The listener to add
+     */
+    public synchronized void addExecutionListener(ExecutionListener listener) {
+        var listeners = Arrays.copyOf(executionListeners, executionListeners.length + 1);
+        listeners[listeners.length - 1] = Objects.requireNonNull(listener, "ExecutionListener should not be null");
+        executionListeners = listeners;
+        listenersChanged();
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addExecutionListener(ExecutionListener)}.
+     *
+     * @param listener The listener to remove
+     */
+    public synchronized void removeExecutionListener(ExecutionListener listener) {
+        executionListeners = Arrays.stream(executionListeners)
+                .filter(registered -> registered != listener)
+                .toArray(ExecutionListener[]::new);
+        listenersChanged();
+    }
+
+    /**
+     * Sets the listener aggregating the calls in {@link LogMode#SUMMARY} mode, which write no line of their own. Until
+     * it is set, those calls are only seen by the execution listeners.
+     *
+     * @param listener The listener to use from now on, or {@code null} to remove it
+     */
+    public synchronized void setSummaryListener(ExecutionListener listener) {
+        summaryListener = listener;
+        listenersChanged();
+    }
+
+    private void listenersChanged() {
+        var listeners = executionListeners;
+        capturingArguments = Arrays.stream(listeners).anyMatch(ExecutionListener::capturesArguments);
+        if (summaryListener == null) {
+            summaryListeners = listeners;
+        } else {
+            var withSummary = Arrays.copyOf(listeners, listeners.length + 1);
+            withSummary[listeners.length] = summaryListener;
+            summaryListeners = withSummary;
+        }
+    }
+
     /**
      * Intercepts a method execution and logs its start/finish stages, parameters, result, and execution time.
-     * Logging of parameters and return values can be configured via method arguments.
+     * Logging of parameters and return values can be configured via method arguments. The descriptor of the method is
+     * resolved once per method and flags, see {@link InterceptionDescriptor#of(Method, boolean, boolean, RenderLimits)}.
      *
      * @param joinPoint The intercepted method execution context
      * @param logReturn Whether to log the method's return value
@@ -41,46 +161,303 @@ public class LoggingCommonsMethods {
      */
     @SneakyThrows
     public Object logInterceptJoinPoint(ProceedingJoinPoint joinPoint, boolean logReturn, boolean logParameters) {
-        long start = System.nanoTime();
+        return logInterceptJoinPoint(joinPoint, describe(joinPoint, logReturn, logParameters));
+    }
+
+    private InterceptionDescriptor describe(ProceedingJoinPoint joinPoint, boolean logReturn, boolean logParameters) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var descriptors = DESCRIPTORS.get(method);
+        if (descriptors == null)
+            descriptors = DESCRIPTORS.computeIfAbsent(method, key -> new InterceptionDescriptor[4]);
+        int index = (logReturn ? 2 : 0) | (logParameters ? 1 : 0);
+        var descriptor = descriptors[index];
+        // racy: at worst, concurrent first calls build equal descriptors, sharing the interned MethodId
+        if (descriptor == null)
+            descriptors[index] = descriptor = InterceptionDescriptor.of(method, logReturn, logParameters,
+                    RenderLimits.DEFAULT);
+        return descriptor;
+    }
+
+    /**
+     * Intercepts a method execution using its cached {@link InterceptionDescriptor}.
+     * <p>
+     * When INFO is disabled for this class' logger, no line is formatted and the arguments are only collected for the
+     * {@link ExecutionListener}s that {@link ExecutionListener#capturesArguments() capture} them; without listeners, the
+     * method is simply executed.
+     * In the {@link LogMode#isTail() tail} modes, the lines are only written once the call is over and only if it was
+     * slow or failed, see {@link #logInterceptJoinPointIfNotable}. In the {@link LogMode#SINGLE} mode, a single line
+     * is written once the call is over. In the {@link LogMode#SUMMARY} mode, no line is written and the call is only
+     * passed to the {@link #setSummaryListener summary listener}. In the {@link LogMode#TREE} mode, no line is written
+     * for the call itself: it and the intercepted calls nested in it on the same thread are written as one tree once it
+     * returns, see {@link CallTreeRecorder}. The parameters are rendered at most once per call, whatever the mode,
+     * when the first line holding them is written: in the {@link LogMode#FULL} mode, the init line written before the
+     * call, so the finish or error line shows the parameters as they were passed even if the method mutates them; in
+     * the other modes, once the call is over.
+     * </p>
+     * <p>
+     * When the method returns a {@code CompletionStage}, a Reactor {@code Mono}/{@code Flux} or a {@code DeferredResult},
+     * the finish line is written and the execution time measured when that result completes, see {@link AsyncResults}.
+     * </p>
+     *
+     * @param joinPoint  The intercepted method execution context
+     * @param descriptor The interception metadata of the method
+     * @return The result of the intercepted method execution
+     * @see #logInterceptJoinPoint(ProceedingJoinPoint, boolean, boolean)
+     */
+    @SneakyThrows
+    public Object logInterceptJoinPoint(ProceedingJoinPoint joinPoint, InterceptionDescriptor descriptor) {
+        return logInterceptJoinPoint(joinPoint, descriptor, null);
+    }
+
+    /**
+     * Intercepts a method execution using its cached {@link InterceptionDescriptor}, see
+     * {@link #logInterceptJoinPoint(ProceedingJoinPoint, InterceptionDescriptor)}, running {@code onLogged} once a
+     * line of the call is written after it, i.e. a finish, error or compact line, or the tree of which the call is
+     * the root. The callback isn't run when the call writes nothing, e.g. when its condition doesn't match.
+     *
+     * @param joinPoint  The intercepted method execution context
+     * @param descriptor The interception metadata of the method
+     * @param onLogged   The callback run once a line of the call is written, may be {@code null}
+     * @return The result of the intercepted method execution
+     */
+    @SneakyThrows
+    public Object logInterceptJoinPoint(ProceedingJoinPoint joinPoint, InterceptionDescriptor descriptor,
+                                        Runnable onLogged) {
+        return intercept(joinPoint, descriptor, descriptor.mode(), descriptor.slowThresholdNanos(), true, onLogged);
+    }
+
+    /**
+     * Executes a method whose call was not selected for logging, logging it only if it is notable: the init and
+     * finish lines when it runs for at least {@code slowThresholdNanos}, and the init and error lines when it throws
+     * and {@code logErrors} is set. {@link ExecutionListener}s are still notified.
+     *
+     * @param joinPoint          The intercepted method execution context
+     * @param descriptor         The interception metadata of the method
+     * @param slowThresholdNanos The duration from which the call is logged, {@code 0} to log every call, or
+     *                           {@link Long#MAX_VALUE} to never log successful calls
+     * @param logErrors          Whether to log the call when it throws
+     * @return The result of the intercepted method execution
+     */
+    public Object logInterceptJoinPointIfNotable(ProceedingJoinPoint joinPoint, InterceptionDescriptor descriptor,
+                                                 long slowThresholdNanos, boolean logErrors) {
+        return logInterceptJoinPointIfNotable(joinPoint, descriptor, slowThresholdNanos, logErrors, null);
+    }
 
-        var sbInit = new StringBuilder("stage=init, method={}, class={}, ")
-                .append(logParameters ? "parameters={}" : "");
+    /**
+     * Executes a method whose call was not selected for logging, see
+     * {@link #logInterceptJoinPointIfNotable(ProceedingJoinPoint, InterceptionDescriptor, long, boolean)}, running
+     * {@code onLogged} once its lines are written, if it is notable.
+     *
+     * @param joinPoint          The intercepted method execution context
+     * @param descriptor         The interception metadata of the method
+     * @param slowThresholdNanos The duration from which the call is logged
+     * @param logErrors          Whether to log the call when it throws
+     * @param onLogged           The callback run once the lines of the call are written, may be {@code null}
+     * @return The result of the intercepted method execution
+     */
+    public Object logInterceptJoinPointIfNotable(ProceedingJoinPoint joinPoint, InterceptionDescriptor descriptor,
+                                                 long slowThresholdNanos, boolean logErrors, Runnable onLogged) {
+        return intercept(joinPoint, descriptor, LogMode.TAIL, slowThresholdNanos, logErrors, onLogged);
+    }
 
-        log.info(sbInit.toString(),
-                joinPoint.getSignature().getName(),
-                joinPoint.getSignature().getDeclaringType().getSimpleName(),
-                joinPoint.getArgs()
-        );
+    /**
+     * Executes the method, recorded as a span of the call tree of the current thread if there is one, or as the root
+     * of a new tree in {@link LogMode#TREE} mode. The tree is written once its root returns.
+     */
+    @SneakyThrows
+    private Object intercept(ProceedingJoinPoint joinPoint, InterceptionDescriptor descriptor, LogMode mode,
+                             long slowThresholdNanos, boolean logErrors, Runnable onLogged) {
+        var recorder = callTreeRecorder;
+        var tree = recorder.current();
+        if (tree == null && (mode != LogMode.TREE || !log.isInfoEnabled()))
+            return execute(joinPoint, descriptor, mode, slowThresholdNanos, logErrors, onLogged);
 
-        // Execute the intercepted method
-        Object result = joinPoint.proceed();
+        boolean root = tree == null;
+        if (root)
+            tree = recorder.open();
+        int span = tree.enter(descriptor);
+        boolean failed = true;
+        try {
+            Object result = execute(joinPoint, descriptor, mode, slowThresholdNanos, logErrors, onLogged);
+            failed = false;
+            return result;
+        } finally {
+            tree.exit(span, failed);
+            if (root) {
+                var snapshot = recorder.close(tree);
+                logSink.info(log, "{}", descriptor.format() == LogFormat.JSON ? snapshot.json() : snapshot);
+                if (onLogged != null)
+                    onLogged.run();
+            }
+        }
+    }
 
-        long timeElapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    /**
+     * Executes the method and completes its {@link Invocation} when the result is available: right after the call, or
+     * when an asynchronous result completes (see {@link AsyncResults}).
+     * <p>
+     * Only the {@link LogMode#FULL} mode writes a line before the call. In the other modes, the init record of the
+     * call, i.e. its start time and arguments, is captured before the call and written once the call is over.
+     * </p>
+     * <p>
+     * A call not matching the {@link LogConditions#matches condition} of the method isn't logged. When the method has
+     * an {@link LogConditions#excludes unless} expression, it is evaluated once the call is over and, in the
+     * {@link LogMode#FULL} mode, the init line is deferred until then.
+     * </p>
+     */
+    @SneakyThrows
+    private Object execute(ProceedingJoinPoint joinPoint, InterceptionDescriptor descriptor, LogMode mode,
+                           long slowThresholdNanos, boolean logErrors, Runnable onLogged) {
+        boolean summarized = descriptor.mode() == LogMode.SUMMARY;
+        var listeners = summarized ? summaryListeners : executionListeners;
+        boolean logging = !summarized && descriptor.mode() != LogMode.TREE && log.isInfoEnabled()
+                && (!mode.isTail() || logErrors || slowThresholdNanos != Long.MAX_VALUE || mode == LogMode.TAIL_COMPACT);
+        var conditions = descriptor.conditions();
+        // getArgs() copies the argument references only; they are rendered once, if a line is written
+        Object[] arguments = logging && conditions.hasCondition() ? joinPoint.getArgs() : null;
+        if (arguments != null)
+            logging = conditions.matches(arguments);
+        if (!logging && listeners.length == 0)
+            return joinPoint.proceed();
 
-        var sbFinish = new StringBuilder("stage=finish, method={}, class={}, ")
-                .append(logParameters ? "parameters={}, " : "")
-                .append(logReturn ? "result={}, " : "")
-                .append("time-execution={}ms");
+        long start = System.nanoTime();
+        boolean capturing = capturingArguments && listeners.length > 0;
+        boolean deciding = logging && conditions.hasUnless();
+        if (arguments == null && (capturing || logging && descriptor.logParameters() || deciding))
+            arguments = joinPoint.getArgs();
+        Object parameters = logging && descriptor.logParameters() ? descriptor.render(arguments) : null;
+        var invocation = new Invocation(listeners, descriptor, logging, parameters, arguments, capturing, start,
+                mode, slowThresholdNanos, logErrors, onLogged);
 
-        log.info(sbFinish.toString(),
-                joinPoint.getSignature().getName(),
-                joinPoint.getSignature().getDeclaringType().getSimpleName(),
-                joinPoint.getArgs(),
-                result,
-                timeElapsed
-        );
+        if (logging && mode == LogMode.FULL && !deciding)
+            logSink.info(log, descriptor.initTemplate(), descriptor.initArguments(parameters));
 
+        // Execute the intercepted method
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable throwable) {
+            invocation.complete(null, throwable);
+            throw throwable;
+        }
+
+        if (AsyncResults.isAsync(result)) {
+            Object decorated = AsyncResults.decorate(result, invocation);
+            if (decorated != null)
+                return decorated;
+        }
+        invocation.complete(result, null);
         return result;
     }
 
+    /**
+     * State of an intercepted call, completed once its result or failure is known.
+     */
+    private record Invocation(ExecutionListener[] listeners, InterceptionDescriptor descriptor, boolean logging,
+                              Object parameters, Object[] arguments, boolean capturing, long start, LogMode mode,
+                              long slowThresholdNanos, boolean logErrors, Runnable onLogged)
+            implements AsyncResults.Completion {
+
+        @Override
+        public void complete(Object result, Throwable throwable) {
+            long elapsed = System.nanoTime() - start;
+            notifyListeners(listeners, descriptor, elapsed, throwable, capturing ? arguments : null, result);
+            if (!logging)
+                return;
+
+            long timeElapsed = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            var conditions = descriptor.conditions();
+            if (conditions.hasUnless() && conditions.excludes(arguments, result, throwable, timeElapsed))
+                return;
+            switch (mode) {
+                case FULL, SINGLE -> {
+                    // the init line of FULL is deferred until the unless expression is evaluated
+                    if (mode == LogMode.FULL && conditions.hasUnless())
+                        init();
+                    if (throwable == null)
+                        finish(result, timeElapsed);
+                    else
+                        error(throwable, timeElapsed);
+                }
+                default -> {
+                    if (throwable != null) {
+                        if (logErrors) {
+                            init();
+                            error(throwable, timeElapsed);
+                        }
+                    } else if (elapsed >= slowThresholdNanos) {
+                        init();
+                        finish(result, timeElapsed);
+                    } else if (mode == LogMode.TAIL_COMPACT) {
+                        logSink.info(log, descriptor.compactTemplate(), descriptor.compactArguments(timeElapsed));
+                        logged();
+                    }
+                }
+            }
+        }
+
+        private void init() {
+            logSink.info(log, descriptor.initTemplate(), descriptor.initArguments(parameters));
+        }
+
+        private void finish(Object result, long timeElapsed) {
+            logSink.info(log, descriptor.finishTemplate(), descriptor.finishArguments(parameters, result, timeElapsed));
+            logged();
+        }
+
+        private void error(Throwable throwable, long timeElapsed) {
+            var exception = exceptionDeduplicator.report(throwable);
+            logSink.log(log, Level.ERROR, descriptor.errorTemplate(),
+                    descriptor.errorArguments(parameters, exception, timeElapsed));
+            logged();
+        }
+
+        private void logged() {
+            if (onLogged != null)
+                onLogged.run();
+        }
+    }
+
+    private void notifyListeners(ExecutionListener[] listeners, InterceptionDescriptor descriptor,
+                                 long elapsedNanos, Throwable throwable, Object[] arguments, Object result) {
+        for (ExecutionListener listener : listeners) {
+            try {
+                listener.onExecution(descriptor, elapsedNanos, throwable, arguments, result);
+            } catch (RuntimeException e) {
+                log.warn("ExecutionListener {} failed", listener, e);
+            }
+        }
+    }
+
     @SneakyThrows
     public Object logInterceptJoinPoint(ProceedingJoinPoint joinPoint) {
         return logInterceptJoinPoint(joinPoint, true, true);
     }
 
+    /**
+     * Masks every match of {@code regex} in {@code value} with {@code *}.
+     * <p>
+     * The regex is compiled once and cached by {@link Maskers}; regexes of the built-in
+     * {@link io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType}s are served by dedicated scanners.
+     *
+     * @param value The value to mask
+     * @param regex The regex whose matches are masked
+     * @return The masked value, or an empty string if {@code value} is null or blank
+     */
     public String mask(String value, String regex) {
+        return mask(value, Maskers.forRegex(regex));
+    }
+
+    /**
+     * Masks {@code value} with the given {@link Masker}.
+     *
+     * @param value  The value to mask
+     * @param masker The masker to apply
+     * @return The masked value, or an empty string if {@code value} is null or blank
+     */
+    public String mask(String value, Masker masker) {
         if (isNull(value) || value.isBlank())
             return "";
-        return value.replaceAll(regex, "*");
+        return Maskers.mask(value, masker);
     }
 }
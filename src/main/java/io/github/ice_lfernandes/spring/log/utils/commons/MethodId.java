@@ -0,0 +1,71 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stable identity of an intercepted method: its declaring class, name and HTTP mapping.
+ * <p>
+ * Unlike the {@link InterceptionDescriptor} of a method, which is rebuilt whenever the runtime overrides change, the
+ * identity of a method is interned: every descriptor of a method holds the same instance. Per-method state, e.g.
+ * timers or summaries, is therefore keyed by {@code MethodId}, whose {@code equals} and {@code hashCode} are those of
+ * {@link Object}.
+ * </p>
+ */
+public final class MethodId {
+
+    private static final Map<Key, MethodId> INTERNED = new ConcurrentHashMap<>();
+
+    private final String declaringClassName;
+    private final String methodName;
+    private final String httpMapping;
+
+    private MethodId(Key key) {
+        this.declaringClassName = key.declaringClassName();
+        this.methodName = key.methodName();
+        this.httpMapping = key.httpMapping();
+    }
+
+    /**
+     * Returns the identity of a method, the same instance for the same names.
+     *
+     * @param declaringClassName The fully qualified name of the class declaring the method
+     * @param methodName         The method name
+     * @param httpMapping        The HTTP methods and path of the method, or an empty string
+     * @return The interned identity
+     */
+    public static MethodId of(String declaringClassName, String methodName, String httpMapping) {
+        var key = new Key(declaringClassName, methodName, httpMapping);
+        var id = INTERNED.get(key);
+        return id != null ? id : INTERNED.computeIfAbsent(key, MethodId::new);
+    }
+
+    /**
+     * @return The fully qualified name of the class declaring the method
+     */
+    public String declaringClassName() {
+        return declaringClassName;
+    }
+
+    /**
+     * @return The method name
+     */
+    public String methodName() {
+        return methodName;
+    }
+
+    /**
+     * @return The HTTP methods and path of the method, or an empty string if it is not a controller method
+     */
+    public String httpMapping() {
+        return httpMapping;
+    }
+
+    @Override
+    public String toString() {
+        return declaringClassName + "." + methodName;
+    }
+
+    private record Key(String declaringClassName, String methodName, String httpMapping) {
+    }
+}
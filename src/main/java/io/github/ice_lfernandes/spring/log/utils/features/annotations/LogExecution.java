@@ -1,5 +1,7 @@
 package io.github.ice_lfernandes.spring.log.utils.features.annotations;
 
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -30,4 +32,50 @@ public @interface LogExecution {
      * @return {@code true} to log parameters (default), {@code false} to suppress
      */
     boolean logParameters() default true;
+
+    /**
+     * Maximum number of characters of the rendered parameters and of the rendered return value
+     * @return the limit, {@code 0} for unlimited, or {@code -1} (default) to use {@code spring.log-utils.rendering.max-chars}
+     */
+    int maxChars() default -1;
+
+    /**
+     * Maximum number of elements rendered per collection, map or array
+     * @return the limit, {@code 0} for unlimited, or {@code -1} (default) to use {@code spring.log-utils.rendering.max-elements}
+     */
+    int maxElements() default -1;
+
+    /**
+     * Maximum nesting of collections, maps and arrays that is rendered
+     * @return the limit, {@code 0} for unlimited, or {@code -1} (default) to use {@code spring.log-utils.rendering.max-depth}
+     */
+    int maxDepth() default -1;
+
+    /**
+     * Lines written for a call, e.g. {@link LogMode#TAIL} to only log slow or failed calls
+     * @return the mode, or {@link LogMode#DEFAULT} (default) to use {@code spring.log-utils.execution.mode}
+     */
+    LogMode mode() default LogMode.DEFAULT;
+
+    /**
+     * Duration in milliseconds from which a call is logged in full in the tail modes, {@code 0} logging every call
+     * @return the threshold, or {@code -1} (default) to use {@code spring.log-utils.execution.slow-threshold}
+     */
+    long slowThresholdMillis() default -1;
+
+    /**
+     * SpEL expression a call must match to be logged, evaluated before the call against the arguments
+     * ({@code #args}, {@code #p0}, or the parameter names), e.g. {@code "#tenant == 'acme'"}
+     * @return the expression, or an empty string (default) to log every call
+     * @see io.github.ice_lfernandes.spring.log.utils.features.conditions.LogConditions
+     */
+    String condition() default "";
+
+    /**
+     * SpEL expression excluding a call from the logs, evaluated once the call is over against the arguments,
+     * {@code #result}, {@code #exception} and {@code #elapsed} (milliseconds), e.g. {@code "#elapsed < 100"}
+     * @return the expression, or an empty string (default) to exclude no call
+     * @see io.github.ice_lfernandes.spring.log.utils.features.conditions.LogConditions
+     */
+    String unless() default "";
 }
@@ -0,0 +1,124 @@
+package io.github.ice_lfernandes.spring.log.utils.features.aot;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.HandlerTypes;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.HttpMethodLogExecution;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.LogExecution;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.ObjectMaskers;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resolves at build time the methods intercepted by the aspects and the types they mask, and registers exactly the
+ * runtime hints they need in a native image.
+ * <p>
+ * The methods of every bean annotated with {@link LogExecution}, {@link HttpMethodLogExecution} or, for
+ * {@code GlobalHttpMethodLogAspect}, a Spring MVC mapping annotation are registered for introspection, so their
+ * annotations and parameter names (used by {@code condition}/{@code unless} expressions) can be read. The types of
+ * their parameters and return values are then walked field by field by {@link HandlerTypes}, like the HTTP body
+ * masking does at runtime: every {@link LogMask} type and every type with {@link MaskSensitiveData} fields is
+ * registered with its declared fields, and its superclasses, for the reflection-based maskers, and its
+ * {@code LogMaskProcessor}-generated masker, when present, with its constructor so
+ * {@link ObjectMaskers} can load it instead of falling back to reflection.
+ * </p>
+ *
+ * <p>Nothing is resolved at runtime: on the JVM, the processor only runs during the AOT build.</p>
+ */
+public class LogUtilsAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    private static final Set<String> INTERCEPTING_ANNOTATIONS = Stream.concat(
+            Stream.of(LogExecution.class.getName(), HttpMethodLogExecution.class.getName()),
+            LogUtilsRuntimeHints.MAPPING_ANNOTATIONS.stream()).collect(Collectors.toUnmodifiableSet());
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        var metadata = new Metadata(beanFactory.getBeanClassLoader());
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType != null)
+                metadata.addBean(ClassUtils.getUserClass(beanType));
+        }
+        if (metadata.methods().isEmpty() && metadata.maskedTypes().isEmpty())
+            return null;
+        return (generationContext, code) -> metadata.registerHints(generationContext.getRuntimeHints().reflection());
+    }
+
+    /**
+     * The intercepted methods and masked types found in the beans.
+     */
+    static final class Metadata implements HandlerTypes.Visitor {
+
+        private final ClassLoader classLoader;
+        private final Set<Method> methods = new LinkedHashSet<>();
+        private final Set<Class<?>> maskedTypes = new LinkedHashSet<>();
+        private final Set<Class<?>> visited = new LinkedHashSet<>();
+
+        Metadata(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        Set<Method> methods() {
+            return methods;
+        }
+
+        Set<Class<?>> maskedTypes() {
+            return maskedTypes;
+        }
+
+        void addBean(Class<?> beanType) {
+            ReflectionUtils.doWithMethods(beanType, method -> {
+                if (isIntercepted(method) && methods.add(method))
+                    HandlerTypes.walk(method, this, visited);
+            }, ReflectionUtils.USER_DECLARED_METHODS);
+        }
+
+        void registerHints(ReflectionHints hints) {
+            for (Method method : methods)
+                hints.registerMethod(method, ExecutableMode.INTROSPECT);
+            for (Class<?> type : maskedTypes) {
+                for (Class<?> current = type; HandlerTypes.isApplicationType(current);
+                     current = current.getSuperclass())
+                    hints.registerType(current, MemberCategory.DECLARED_FIELDS);
+                String generated = ObjectMaskers.generatedMaskerName(type);
+                if (ClassUtils.isPresent(generated, classLoader))
+                    hints.registerType(TypeReference.of(generated), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+        }
+
+        private static boolean isIntercepted(Method method) {
+            for (Annotation annotation : method.getDeclaredAnnotations())
+                if (INTERCEPTING_ANNOTATIONS.contains(annotation.annotationType().getName()))
+                    return true;
+            return false;
+        }
+
+        @Override
+        public void type(Class<?> type) {
+            if (LogMask.class.isAssignableFrom(type))
+                maskedTypes.add(type);
+        }
+
+        @Override
+        public boolean field(Class<?> type, Field field) {
+            if (field.isAnnotationPresent(MaskSensitiveData.class))
+                maskedTypes.add(type);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.ice_lfernandes.spring.log.utils.features.aot;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.HttpMethodLogExecution;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.LogExecution;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Runtime hints of the library itself, independent of the application: the annotations named by the pointcuts of the
+ * aspects, loaded by name when the pointcuts are parsed, and read along with their attributes when a method is first
+ * intercepted.
+ *
+ * @see LogUtilsAotProcessor
+ */
+public class LogUtilsRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * Spring MVC annotations matched by {@code GlobalHttpMethodLogAspect}, registered when spring-web is present.
+     */
+    static final List<String> MAPPING_ANNOTATIONS = List.of(
+            "org.springframework.web.bind.annotation.PostMapping",
+            "org.springframework.web.bind.annotation.PutMapping",
+            "org.springframework.web.bind.annotation.PatchMapping",
+            "org.springframework.web.bind.annotation.DeleteMapping",
+            "org.springframework.web.bind.annotation.GetMapping"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> annotation : List.of(LogExecution.class, HttpMethodLogExecution.class, MaskSensitiveData.class))
+            hints.reflection().registerType(annotation, MemberCategory.INVOKE_PUBLIC_METHODS);
+        for (String annotation : MAPPING_ANNOTATIONS)
+            hints.reflection().registerTypeIfPresent(classLoader, annotation, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
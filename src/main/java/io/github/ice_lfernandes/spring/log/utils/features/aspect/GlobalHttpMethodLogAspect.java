@@ -1,16 +1,27 @@
 package io.github.ice_lfernandes.spring.log.utils.features.aspect;
 
-import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.control.ControlSnapshot;
+import io.github.ice_lfernandes.spring.log.utils.features.control.ControlledEndpoint;
+import io.github.ice_lfernandes.spring.log.utils.features.control.LoggingControl;
+import io.github.ice_lfernandes.spring.log.utils.features.http.HttpExchangeCapture;
+import io.github.ice_lfernandes.spring.log.utils.features.sampling.EndpointSampler;
+import io.github.ice_lfernandes.spring.log.utils.properties.ExecutionProperties;
 import io.github.ice_lfernandes.spring.log.utils.properties.GlobalProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.RenderingProperties;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static java.util.Objects.isNull;
 
 /**
@@ -20,10 +31,19 @@ import static java.util.Objects.isNull;
  *
  * <p>The aspect is conditionally enabled based on the property {@code spring.loggable-utils.global.httpMethod.enabled}.
  * If the property is not set, it is enabled by default.</p>
+ *
+ * <p>The volume of logged calls can be reduced per endpoint with {@code spring.log-utils.global.httpMethod.sampling.*}:
+ * a probabilistic sampling rate and a rate limit decide which calls are logged, while failed or slow calls can still
+ * be logged when they are not sampled. See {@link EndpointSampler}.</p>
+ *
+ * <p>Sampled calls are logged according to {@code spring.log-utils.execution.mode}.</p>
+ *
+ * <p>Logging, sampling and thresholds can be changed per package, class or method at runtime through
+ * {@link LoggingControl}.</p>
  */
 @Aspect
 @Component
-@EnableConfigurationProperties(GlobalProperties.class)
+@EnableConfigurationProperties({GlobalProperties.class, RenderingProperties.class, ExecutionProperties.class})
 @ConditionalOnProperty(
         prefix = "spring.log-utils.global.httpMethod",
         name = "enabled",
@@ -35,9 +55,18 @@ public class GlobalHttpMethodLogAspect {
 
     private final GlobalProperties globalProperties;
 
+    private final RenderingProperties renderingProperties;
+
+    private final ExecutionProperties executionProperties;
+
+    private final LoggingControl loggingControl;
+
+    private final Map<Method, ControlledEndpoint> endpoints = new ConcurrentHashMap<>();
+
     /**
      * Around advice that intercepts HTTP method executions annotated with Spring's mapping annotations.
-     * Logs method execution details if logging is enabled via configuration.
+     * Logs method execution details if logging is enabled via configuration, correlated with the captured HTTP
+     * exchange if any once a line of the call is written, see {@link HttpExchangeCapture}.
      *
      * @param joinPoint The proceeding join point representing the intercepted method
      * @return The result of the intercepted method execution
@@ -47,14 +76,25 @@ public class GlobalHttpMethodLogAspect {
             "@annotation(org.springframework.web.bind.annotation.PatchMapping) || " +
             "@annotation(org.springframework.web.bind.annotation.DeleteMapping) || " +
             "@annotation(org.springframework.web.bind.annotation.GetMapping)")
-    @SneakyThrows
     public Object logExecutionHttpMethod(ProceedingJoinPoint joinPoint) {
-        if (isLoggingEnabled())
-            return LoggingCommonsMethods.logInterceptJoinPoint(joinPoint);
-        return joinPoint.proceed();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var endpoint = loggingControl.resolve(endpoints, method, this::describe);
+        var onLogged = HttpExchangeCapture.correlate(method, endpoint.enabled() ? endpoint.descriptor() : null,
+                endpoint.sampler() != null);
+        return endpoint.proceed(joinPoint, onLogged);
     }
 
-    private boolean isLoggingEnabled() {
-        return isNull(globalProperties.httpMethod()) || Boolean.TRUE.equals(globalProperties.httpMethod().enabled());
+    private ControlledEndpoint describe(Method method, ControlSnapshot snapshot) {
+        var override = snapshot.resolve(method);
+        var httpMethod = globalProperties.httpMethod();
+        var sampling = override.applyTo(isNull(httpMethod) ? null : httpMethod.sampling());
+        var sampler = isNull(sampling) || sampling.isLogEverything() ? null : new EndpointSampler(sampling);
+        boolean enabled = override.resolveEnabled(isNull(httpMethod) || !Boolean.FALSE.equals(httpMethod.enabled()));
+        var descriptor = InterceptionDescriptor.of(method, override.resolveLogReturn(true),
+                        override.resolveLogParameters(true), renderingProperties.toLimits())
+                .withMode(override.resolveMode(executionProperties.mode()),
+                        override.resolveSlowThresholdNanos(executionProperties.slowThreshold().toNanos()))
+                .withFormat(executionProperties.format());
+        return new ControlledEndpoint(snapshot, enabled, descriptor, sampler);
     }
-}
\ No newline at end of file
+}
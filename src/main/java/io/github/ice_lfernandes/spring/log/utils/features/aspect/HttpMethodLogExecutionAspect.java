@@ -1,15 +1,29 @@
 package io.github.ice_lfernandes.spring.log.utils.features.aspect;
 
-import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.conditions.LogConditions;
+import io.github.ice_lfernandes.spring.log.utils.features.control.ControlSnapshot;
+import io.github.ice_lfernandes.spring.log.utils.features.control.ControlledEndpoint;
+import io.github.ice_lfernandes.spring.log.utils.features.control.LoggingControl;
+import io.github.ice_lfernandes.spring.log.utils.features.http.HttpExchangeCapture;
+import io.github.ice_lfernandes.spring.log.utils.features.sampling.EndpointSampler;
 import io.github.ice_lfernandes.spring.log.utils.features.annotations.HttpMethodLogExecution;
-import lombok.SneakyThrows;
+import io.github.ice_lfernandes.spring.log.utils.properties.ExecutionProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.RenderingProperties;
+import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.isNull;
 
 /**
  * Aspect for intercepting and logging executions of methods annotated with {@link HttpMethodLogExecution}.
@@ -23,11 +37,24 @@ import java.util.Objects;
  */
 @Aspect
 @Component
+@EnableConfigurationProperties({RenderingProperties.class, ExecutionProperties.class})
+@RequiredArgsConstructor
 public class HttpMethodLogExecutionAspect {
 
+    private final RenderingProperties renderingProperties;
+
+    private final ExecutionProperties executionProperties;
+
+    private final LoggingControl loggingControl;
+
+    private final Map<Method, ControlledEndpoint> endpoints = new ConcurrentHashMap<>();
+
     /**
      * Around advice that intercepts method executions annotated with {@link HttpMethodLogExecution}.
-     * Logs method execution details according to the annotation's configuration parameters.
+     * Logs method execution details according to the annotation's configuration parameters,
+     * resolved once per method into a cached {@link InterceptionDescriptor}, rebuilt when the runtime overrides of
+     * {@link LoggingControl} change. When the HTTP exchange is captured, the call is correlated with it once a
+     * line of the call is written, see {@link HttpExchangeCapture}.
      *
      * @param joinPoint The proceeding join point representing the intercepted method
      * @return The result of the intercepted method execution
@@ -35,11 +62,29 @@ public class HttpMethodLogExecutionAspect {
      * @see HttpMethodLogExecution#logParameters()
      */
     @Around("@annotation(io.github.ice_lfernandes.spring.log.utils.features.annotations.HttpMethodLogExecution)")
-    @SneakyThrows
     public Object logExecutionHttpMethod(ProceedingJoinPoint joinPoint) {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var endpoint = loggingControl.resolve(endpoints, method, this::describe);
+        var onLogged = HttpExchangeCapture.correlate(method, endpoint.enabled() ? endpoint.descriptor() : null,
+                endpoint.sampler() != null);
+        return endpoint.proceed(joinPoint, onLogged);
+    }
+
+    private ControlledEndpoint describe(Method method, ControlSnapshot snapshot) {
         var httpMethodLogExecution = Objects.requireNonNull(
-                methodSignature.getMethod().getAnnotation(HttpMethodLogExecution.class), "HttpMethodLogExecution should not be null");
-        return LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, httpMethodLogExecution.logReturn(), httpMethodLogExecution.logParameters());
+                method.getAnnotation(HttpMethodLogExecution.class), "HttpMethodLogExecution should not be null");
+        var limits = renderingProperties.toLimits()
+                .override(httpMethodLogExecution.maxChars(), httpMethodLogExecution.maxElements(), httpMethodLogExecution.maxDepth());
+        var override = snapshot.resolve(method);
+        var sampling = override.applyTo(null);
+        var sampler = isNull(sampling) || sampling.isLogEverything() ? null : new EndpointSampler(sampling);
+        var descriptor = InterceptionDescriptor.of(method, override.resolveLogReturn(httpMethodLogExecution.logReturn()),
+                        override.resolveLogParameters(httpMethodLogExecution.logParameters()), limits)
+                .withMode(override.resolveMode(executionProperties.resolveMode(httpMethodLogExecution.mode())),
+                        override.resolveSlowThresholdNanos(
+                                executionProperties.resolveSlowThresholdNanos(httpMethodLogExecution.slowThresholdMillis())))
+                .withFormat(executionProperties.format())
+                .withConditions(LogConditions.of(method, httpMethodLogExecution.condition(), httpMethodLogExecution.unless()));
+        return new ControlledEndpoint(snapshot, override.resolveEnabled(true), descriptor, sampler);
     }
 }
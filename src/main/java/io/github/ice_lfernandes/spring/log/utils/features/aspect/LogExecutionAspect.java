@@ -1,15 +1,29 @@
 package io.github.ice_lfernandes.spring.log.utils.features.aspect;
 
 import io.github.ice_lfernandes.spring.log.utils.features.annotations.LogExecution;
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.conditions.LogConditions;
 import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
-import lombok.SneakyThrows;
+import io.github.ice_lfernandes.spring.log.utils.features.control.ControlSnapshot;
+import io.github.ice_lfernandes.spring.log.utils.features.control.ControlledEndpoint;
+import io.github.ice_lfernandes.spring.log.utils.features.control.LoggingControl;
+import io.github.ice_lfernandes.spring.log.utils.features.sampling.EndpointSampler;
+import io.github.ice_lfernandes.spring.log.utils.properties.ExecutionProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.RenderingProperties;
+import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.isNull;
 
 /**
  * AspectJ component for intercepting and logging method executions annotated with {@link LogExecution}.
@@ -26,23 +40,50 @@ import java.util.Objects;
  */
 @Aspect
 @Component
+@EnableConfigurationProperties({RenderingProperties.class, ExecutionProperties.class})
+@RequiredArgsConstructor
 public class LogExecutionAspect {
 
+    private final RenderingProperties renderingProperties;
+
+    private final ExecutionProperties executionProperties;
+
+    private final LoggingControl loggingControl;
+
+    private final Map<Method, ControlledEndpoint> endpoints = new ConcurrentHashMap<>();
+
     /**
      * Around advice for methods annotated with {@link LogExecution}.
      * <p>
      * Intercepts method execution and delegates logging to {@link LoggingCommonsMethods}.
+     * The annotation of each method is resolved once into a cached {@link InterceptionDescriptor}, rebuilt when the
+     * runtime overrides of {@link LoggingControl} change.
      *
      * @param joinPoint The proceeding join point for method interception
      * @return The result of the intercepted method execution
      * @see LoggingCommonsMethods#logInterceptJoinPoint
      */
     @Around("@annotation(io.github.ice_lfernandes.spring.log.utils.features.annotations.LogExecution)")
-    @SneakyThrows
     public Object logExecution(ProceedingJoinPoint joinPoint) {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        var logExecution = Objects.requireNonNull(methodSignature.getMethod().getAnnotation(LogExecution.class),
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return loggingControl.resolve(endpoints, method, this::describe).proceed(joinPoint);
+    }
+
+    private ControlledEndpoint describe(Method method, ControlSnapshot snapshot) {
+        var logExecution = Objects.requireNonNull(method.getAnnotation(LogExecution.class),
                 "LogExecution should not be null");
-        return LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, logExecution.logReturn(), logExecution.logParameters());
+        var limits = renderingProperties.toLimits()
+                .override(logExecution.maxChars(), logExecution.maxElements(), logExecution.maxDepth());
+        var override = snapshot.resolve(method);
+        var sampling = override.applyTo(null);
+        var sampler = isNull(sampling) || sampling.isLogEverything() ? null : new EndpointSampler(sampling);
+        var descriptor = InterceptionDescriptor.of(method, override.resolveLogReturn(logExecution.logReturn()),
+                        override.resolveLogParameters(logExecution.logParameters()), limits)
+                .withMode(override.resolveMode(executionProperties.resolveMode(logExecution.mode())),
+                        override.resolveSlowThresholdNanos(
+                                executionProperties.resolveSlowThresholdNanos(logExecution.slowThresholdMillis())))
+                .withFormat(executionProperties.format())
+                .withConditions(LogConditions.of(method, logExecution.condition(), logExecution.unless()));
+        return new ControlledEndpoint(snapshot, override.resolveEnabled(true), descriptor, sampler);
     }
 }
@@ -0,0 +1,311 @@
+package io.github.ice_lfernandes.spring.log.utils.features.async;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.LogSink;
+import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.OverflowPolicy;
+import io.github.ice_lfernandes.spring.log.utils.properties.AsyncProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous {@link LogSink} moving the rendering, masking and output of the log lines off the request thread.
+ * <p>
+ * The calling thread places the call record into a bounded, lock-free ring buffer: the level, the template, the MDC
+ * and the template arguments built by the
+ * {@link io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor}, which hold references to the
+ * method's arguments, result and exception, wrapped in renderers that only run when the line is formatted. Background
+ * workers then format the record, which renders the values within their budget and runs
+ * {@link io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask} masking, and pass it to the logger,
+ * i.e. to the appenders and their I/O. When the buffer is full, the configured {@link OverflowPolicy} applies.
+ * </p>
+ *
+ * <p>As the values are rendered by a worker, a line shows the state of the arguments and result when it is formatted,
+ * not when it was produced, and a value whose {@code toString()} fails while the application modifies it is written as
+ * {@code [FAILED toString()]}. With {@code spring.log-utils.async.snapshot-arguments=true}, the calling thread renders
+ * the mutable values before buffering the record instead, so it holds no reference to the application's objects.</p>
+ *
+ * <p>Idle workers spin briefly, then park until a record is offered; with {@link OverflowPolicy#BLOCK}, a calling
+ * thread facing a full buffer parks until a worker frees a slot. Neither polls on a timer.</p>
+ *
+ * <p>The pipeline is enabled with {@code spring.log-utils.async.enabled=true}. The dispatcher is installed as the sink
+ * of the intercepted calls once the bean is initialized and the previous sink is restored when it is destroyed, after
+ * the buffered records are emitted.</p>
+ *
+ * <p>Dropped records and the enqueue-to-emit lag are exposed through {@link #getDroppedCount()},
+ * {@link #getPendingCount()}, {@link #getLastLagNanos()} and {@link #getMaxLagNanos()}.</p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(AsyncProperties.class)
+@ConditionalOnProperty(
+        prefix = "spring.log-utils.async",
+        name = "enabled",
+        havingValue = "true"
+)
+public class AsyncLogDispatcher implements LogSink, InitializingBean, DisposableBean {
+
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    private final BoundedRingBuffer<Entry> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final int workerCount;
+    private final boolean snapshotArguments;
+    private final List<Worker> workers = new ArrayList<>();
+    private final AtomicInteger parkedWorkers = new AtomicInteger();
+    private final Queue<Thread> blockedCallers = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong sampled = new AtomicLong();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+    private volatile long lastLagNanos;
+    private volatile boolean running;
+    private LogSink previousSink;
+
+    public AsyncLogDispatcher(AsyncProperties asyncProperties) {
+        this.buffer = new BoundedRingBuffer<>(asyncProperties.bufferSize());
+        this.overflowPolicy = asyncProperties.overflowPolicy();
+        this.sampleRate = asyncProperties.sampleRate();
+        this.workerCount = asyncProperties.workers();
+        this.snapshotArguments = asyncProperties.snapshotArguments();
+    }
+
+    /**
+     * Starts the workers and installs this dispatcher as the sink of the intercepted calls.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        for (int i = 0; i < workerCount; i++)
+            workers.add(new Worker(i));
+        workers.forEach(worker -> worker.thread.start());
+        previousSink = LoggingCommonsMethods.getLogSink();
+        LoggingCommonsMethods.setLogSink(this);
+    }
+
+    @Override
+    public void log(Logger logger, Level level, String template, Object... arguments) {
+        if (!logger.isEnabledForLevel(level))
+            return;
+        if (!running) {
+            LogSink.write(logger, level, template, arguments);
+            return;
+        }
+        enqueue(new Entry(logger, level, template, snapshotArguments ? snapshot(arguments) : arguments,
+                MDC.getCopyOfContextMap(), System.nanoTime()));
+    }
+
+    private void enqueue(Entry entry) {
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                while (!buffer.offer(entry)) {
+                    if (!running) {
+                        emit(entry);
+                        return;
+                    }
+                    // registered before offering again: a worker freeing a slot afterwards unparks this thread
+                    blockedCallers.add(Thread.currentThread());
+                    if (buffer.offer(entry)) {
+                        blockedCallers.remove(Thread.currentThread());
+                        break;
+                    }
+                    LockSupport.park(this);
+                    blockedCallers.remove(Thread.currentThread());
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!buffer.offer(entry)) {
+                    if (buffer.poll() != null)
+                        dropped.increment();
+                }
+            }
+            case DROP_NEWEST -> {
+                if (!buffer.offer(entry))
+                    dropped.increment();
+            }
+            case CALLER_RUNS -> {
+                if (!buffer.offer(entry)) {
+                    emit(entry);
+                    return;
+                }
+            }
+            case SAMPLE -> {
+                boolean accepted = buffer.size() < buffer.capacity() / 2
+                        || sampled.getAndIncrement() % sampleRate == 0;
+                if (!accepted || !buffer.offer(entry))
+                    dropped.increment();
+            }
+        }
+        signalWorker();
+    }
+
+    /**
+     * Unparks one parked worker, if any. A worker parks only after registering itself and checking the buffer again,
+     * so a record offered before this call is never left behind by parked workers.
+     */
+    private void signalWorker() {
+        if (parkedWorkers.get() == 0)
+            return;
+        for (Worker worker : workers) {
+            if (worker.parked.compareAndSet(true, false)) {
+                parkedWorkers.decrementAndGet();
+                LockSupport.unpark(worker.thread);
+                return;
+            }
+        }
+    }
+
+    private void work(Worker worker) {
+        int idle = 0;
+        while (running || buffer.size() > 0) {
+            Entry entry = buffer.poll();
+            if (entry != null) {
+                idle = 0;
+                Thread blocked = blockedCallers.poll();
+                if (blocked != null)
+                    LockSupport.unpark(blocked);
+                emit(entry);
+            } else if (idle < SPINS_BEFORE_PARK) {
+                idle++;
+                Thread.onSpinWait();
+            } else {
+                worker.parked.set(true);
+                parkedWorkers.incrementAndGet();
+                if (running && buffer.size() == 0)
+                    LockSupport.park(this);
+                if (worker.parked.compareAndSet(true, false))
+                    parkedWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Renders the arguments that may change after the call on the calling thread, keeping immutable values and
+     * exceptions as they are.
+     */
+    private static Object[] snapshot(Object[] arguments) {
+        if (arguments == null)
+            return null;
+        Object[] snapshot = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = arguments[i];
+            // rendered as SLF4J would, arrays included, "[FAILED toString()]" if toString() throws
+            snapshot[i] = isImmutable(argument) || argument instanceof Throwable
+                    ? argument : MessageFormatter.format("{}", argument).getMessage();
+        }
+        return snapshot;
+    }
+
+    private static boolean isImmutable(Object argument) {
+        return argument == null || argument instanceof String || argument instanceof Boolean
+                || argument instanceof Character || argument instanceof Integer || argument instanceof Long
+                || argument instanceof Double || argument instanceof Float || argument instanceof Short
+                || argument instanceof Byte || argument instanceof Enum<?>;
+    }
+
+    private void emit(Entry entry) {
+        long lag = System.nanoTime() - entry.enqueuedNanos();
+        lastLagNanos = lag;
+        if (lag > maxLagNanos.get())
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+        try {
+            if (entry.mdc() != null)
+                MDC.setContextMap(entry.mdc());
+            LogSink.write(entry.logger(), entry.level(), entry.template(), entry.arguments());
+        } catch (RuntimeException e) {
+            log.warn("Failed to emit asynchronous log record", e);
+        } finally {
+            if (entry.mdc() != null)
+                MDC.clear();
+        }
+    }
+
+    /**
+     * Restores the sink installed before this dispatcher, then lets the workers drain the buffer before stopping them.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (LoggingCommonsMethods.getLogSink() == this)
+            LoggingCommonsMethods.setLogSink(previousSink == null ? LogSink.SYNC : previousSink);
+        running = false;
+        blockedCallers.forEach(LockSupport::unpark);
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+            worker.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        Entry entry;
+        while ((entry = buffer.poll()) != null)
+            emit(entry);
+    }
+
+    /**
+     * @return The number of records discarded by the overflow policy since startup
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return The approximate number of records waiting to be emitted
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * @return The time the last emitted record spent in the buffer, in nanoseconds
+     */
+    public long getLastLagNanos() {
+        return lastLagNanos;
+    }
+
+    /**
+     * @return The longest time a record spent in the buffer since startup, in nanoseconds
+     */
+    public long getMaxLagNanos() {
+        return maxLagNanos.get();
+    }
+
+    private record Entry(Logger logger, Level level, String template, Object[] arguments, Map<String, String> mdc,
+                         long enqueuedNanos) {
+    }
+
+    /**
+     * A worker thread and whether it is parked, waiting for a record.
+     */
+    private final class Worker implements Runnable {
+
+        private final AtomicBoolean parked = new AtomicBoolean();
+        private final Thread thread;
+
+        private Worker(int index) {
+            this.thread = new Thread(this, "log-utils-async-" + index);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            work(this);
+        }
+    }
+}
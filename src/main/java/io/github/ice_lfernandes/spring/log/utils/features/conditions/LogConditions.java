@@ -0,0 +1,325 @@
+package io.github.ice_lfernandes.spring.log.utils.features.conditions;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.HttpMethodLogExecution;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.LogExecution;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.IndexAccessor;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.isNull;
+
+/**
+ * The {@code condition} and {@code unless} expressions of a {@link LogExecution} or {@link HttpMethodLogExecution}
+ * method, deciding which of its calls are logged.
+ * <p>
+ * Expressions are parsed once per method and cached, with SpEL's compiler enabled: after a few interpreted
+ * evaluations, an expression is compiled to bytecode and later calls run the compiled form, falling back to the
+ * interpreter if the compiled form no longer applies, e.g. when an argument's type changes. They are evaluated in a
+ * read-only data-binding context, where properties and public methods of the arguments can be used but types, beans
+ * and assignments can't. The available variables are:
+ * <ul>
+ *   <li>{@code #args}, {@code #p0}, {@code #a0}, ... and the parameter names, e.g. {@code #order}: the arguments</li>
+ *   <li>{@code #result}: the returned value, or the value of an asynchronous result ({@code unless} only)</li>
+ *   <li>{@code #exception}: the exception thrown, {@code null} on success ({@code unless} only)</li>
+ *   <li>{@code #elapsed}: the execution time in milliseconds ({@code unless} only)</li>
+ * </ul>
+ * An expression that fails to evaluate is reported as a warning, once per expression, and the call is logged. The
+ * expressions of the beans are parsed at startup by {@link LogConditionsValidator}, which fails the startup if one of
+ * them isn't valid; an invalid expression found later, e.g. on a method that isn't a bean's, is reported as an error
+ * once and ignored.
+ * </p>
+ *
+ * <p>The evaluation context is built once per method: a call only adds a view of its arguments and outcome as the
+ * variables, so evaluating an expression allocates no context, map or variable table.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * {@code @LogExecution(condition = "#order.amount > 10000", unless = "#exception == null && #elapsed < 100")}
+ * public Receipt pay(Order order) { ... }
+ * </pre>
+ */
+@Slf4j
+public final class LogConditions {
+
+    /**
+     * No expressions: every call is logged.
+     */
+    public static final LogConditions NONE = new LogConditions(null, null, null, new String[0], 0);
+
+    private static final List<String> CALL_VARIABLES = List.of("args", "result", "exception", "elapsed");
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, LogConditions.class.getClassLoader()));
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private static final Map<Key, LogConditions> CACHE = new ConcurrentHashMap<>();
+
+    private final String methodName;
+    private final Expression condition;
+    private final Expression unless;
+    private final Map<String, Integer> argumentIndexes = new HashMap<>();
+    private final EvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding()
+            .withInstanceMethods()
+            .build();
+    private final AtomicBoolean conditionReported = new AtomicBoolean();
+    private final AtomicBoolean unlessReported = new AtomicBoolean();
+
+    private LogConditions(String methodName, Expression condition, Expression unless, String[] parameterNames,
+                          int parameterCount) {
+        this.methodName = methodName;
+        this.condition = condition;
+        this.unless = unless;
+        for (int i = 0; i < parameterCount; i++) {
+            argumentIndexes.put("p" + i, i);
+            argumentIndexes.put("a" + i, i);
+        }
+        // as variables, the parameter names shadow the indexed names but not the call variables
+        for (int i = 0; i < parameterNames.length && i < parameterCount; i++) {
+            if (!CALL_VARIABLES.contains(parameterNames[i]))
+                argumentIndexes.put(parameterNames[i], i);
+        }
+    }
+
+    /**
+     * Returns the parsed expressions of a method, parsing them on the first call only. If an expression isn't valid,
+     * the error is logged once and the method's calls are logged unconditionally.
+     *
+     * @param method    The intercepted method
+     * @param condition The expression a call must match, evaluated before the call; blank for none
+     * @param unless    The expression excluding a call, evaluated once the call is over; blank for none
+     * @return The expressions, or {@link #NONE} if both are blank or one of them is invalid
+     */
+    public static LogConditions of(Method method, String condition, String unless) {
+        if (isBlank(condition) && isBlank(unless))
+            return NONE;
+        return CACHE.computeIfAbsent(new Key(method, condition, unless), key -> {
+            try {
+                return parse(key);
+            } catch (IllegalArgumentException e) {
+                log.error("Ignoring the logging conditions of {}", method, e);
+                return NONE;
+            }
+        });
+    }
+
+    /**
+     * Parses the expressions of a method, e.g. at startup, so that invalid expressions are reported before the
+     * method is called. Valid expressions are cached for {@link #of}.
+     *
+     * @param method    The intercepted method
+     * @param condition The {@code condition} expression, blank for none
+     * @param unless    The {@code unless} expression, blank for none
+     * @throws IllegalArgumentException If an expression is not valid SpEL
+     */
+    public static void validate(Method method, String condition, String unless) {
+        if (isBlank(condition) && isBlank(unless))
+            return;
+        var key = new Key(method, condition, unless);
+        if (!CACHE.containsKey(key))
+            CACHE.putIfAbsent(key, parse(key));
+    }
+
+    private static LogConditions parse(Key key) {
+        String[] names = PARAMETER_NAMES.getParameterNames(key.method());
+        return new LogConditions(key.method().getDeclaringClass().getSimpleName() + "." + key.method().getName(),
+                parse(key, key.condition()), parse(key, key.unless()), isNull(names) ? new String[0] : names,
+                key.method().getParameterCount());
+    }
+
+    private static Expression parse(Key key, String expression) {
+        if (isBlank(expression))
+            return null;
+        try {
+            return PARSER.parseExpression(expression);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid logging expression '" + expression + "' on " + key.method(), e);
+        }
+    }
+
+    /**
+     * @return {@code true} if calls are filtered before they start
+     */
+    public boolean hasCondition() {
+        return condition != null;
+    }
+
+    /**
+     * @return {@code true} if calls are filtered once they are over
+     */
+    public boolean hasUnless() {
+        return unless != null;
+    }
+
+    /**
+     * Evaluates the {@code condition} expression before a call.
+     *
+     * @param arguments The arguments of the call
+     * @return {@code true} if the call is logged
+     */
+    public boolean matches(Object[] arguments) {
+        if (condition == null)
+            return true;
+        return evaluate(condition, new CallContext(arguments, null, null, null), true, conditionReported);
+    }
+
+    /**
+     * Evaluates the {@code unless} expression once a call is over.
+     *
+     * @param arguments   The arguments of the call
+     * @param result      The value returned by the method, {@code null} if it threw
+     * @param throwable   The exception thrown by the method, {@code null} if it returned
+     * @param timeElapsed The execution time in milliseconds
+     * @return {@code true} if the call is not logged
+     */
+    public boolean excludes(Object[] arguments, Object result, Throwable throwable, long timeElapsed) {
+        if (unless == null)
+            return false;
+        return evaluate(unless, new CallContext(arguments, result, throwable, timeElapsed), false, unlessReported);
+    }
+
+    private boolean evaluate(Expression expression, EvaluationContext context, boolean fallback,
+                             AtomicBoolean reported) {
+        try {
+            return Boolean.TRUE.equals(expression.getValue(context, Boolean.class));
+        } catch (EvaluationException e) {
+            if (reported.compareAndSet(false, true)) {
+                log.warn("Failed to evaluate logging expression '{}' of {}, further failures are logged at debug "
+                        + "level", expression.getExpressionString(), methodName, e);
+            } else {
+                log.debug("Failed to evaluate logging expression '{}' of {}: {}", expression.getExpressionString(),
+                        methodName, e.getMessage());
+            }
+            return fallback;
+        }
+    }
+
+    private static boolean isBlank(String expression) {
+        return isNull(expression) || expression.isBlank();
+    }
+
+    private record Key(Method method, String condition, String unless) {
+    }
+
+    /**
+     * The evaluation context of one call: the shared read-only context of the method, whose variables are the
+     * arguments and outcome of the call.
+     */
+    private final class CallContext implements EvaluationContext {
+
+        private final Object[] arguments;
+        private final Object result;
+        private final Throwable exception;
+        private final Long elapsed;
+
+        private CallContext(Object[] arguments, Object result, Throwable exception, Long elapsed) {
+            this.arguments = isNull(arguments) ? new Object[0] : arguments;
+            this.result = result;
+            this.exception = exception;
+            this.elapsed = elapsed;
+        }
+
+        @Override
+        public Object lookupVariable(String name) {
+            switch (name) {
+                case "result":
+                    return result;
+                case "exception":
+                    return exception;
+                case "elapsed":
+                    return elapsed;
+                case "args":
+                    return arguments;
+                default:
+                    Integer index = argumentIndexes.get(name);
+                    return index != null && index < arguments.length ? arguments[index] : null;
+            }
+        }
+
+        @Override
+        public void setVariable(String name, Object value) {
+            // assignments are disabled in the read-only context
+            throw new UnsupportedOperationException("Logging expressions can't assign variables");
+        }
+
+        @Override
+        public TypedValue getRootObject() {
+            return context.getRootObject();
+        }
+
+        @Override
+        public List<PropertyAccessor> getPropertyAccessors() {
+            return context.getPropertyAccessors();
+        }
+
+        @Override
+        public List<IndexAccessor> getIndexAccessors() {
+            return context.getIndexAccessors();
+        }
+
+        @Override
+        public List<ConstructorResolver> getConstructorResolvers() {
+            return context.getConstructorResolvers();
+        }
+
+        @Override
+        public List<MethodResolver> getMethodResolvers() {
+            return context.getMethodResolvers();
+        }
+
+        @Override
+        public BeanResolver getBeanResolver() {
+            return context.getBeanResolver();
+        }
+
+        @Override
+        public TypeLocator getTypeLocator() {
+            return context.getTypeLocator();
+        }
+
+        @Override
+        public TypeConverter getTypeConverter() {
+            return context.getTypeConverter();
+        }
+
+        @Override
+        public TypeComparator getTypeComparator() {
+            return context.getTypeComparator();
+        }
+
+        @Override
+        public OperatorOverloader getOperatorOverloader() {
+            return context.getOperatorOverloader();
+        }
+
+        @Override
+        public boolean isAssignmentEnabled() {
+            return context.isAssignmentEnabled();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.ice_lfernandes.spring.log.utils.features.conditions;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.HttpMethodLogExecution;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.LogExecution;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Parses the {@code condition} and {@code unless} expressions of the {@link LogExecution} and
+ * {@link HttpMethodLogExecution} methods of every bean once the singletons are created, so that an invalid expression
+ * fails the startup, listing every invalid expression, instead of being found on the first call of its method.
+ *
+ * @see LogConditions
+ */
+@Component
+@RequiredArgsConstructor
+public class LogConditionsValidator implements SmartInitializingSingleton {
+
+    private final ListableBeanFactory beanFactory;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        var errors = new ArrayList<String>();
+        var visited = new HashSet<Class<?>>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType != null && visited.add(ClassUtils.getUserClass(beanType)))
+                validate(ClassUtils.getUserClass(beanType), errors);
+        }
+        if (!errors.isEmpty())
+            throw new IllegalStateException("Invalid logging expressions:\n" + String.join("\n", errors));
+    }
+
+    private static void validate(Class<?> beanType, List<String> errors) {
+        ReflectionUtils.doWithMethods(beanType, method -> {
+            try {
+                var logExecution = method.getAnnotation(LogExecution.class);
+                if (logExecution != null)
+                    LogConditions.validate(method, logExecution.condition(), logExecution.unless());
+                var httpMethodLogExecution = method.getAnnotation(HttpMethodLogExecution.class);
+                if (httpMethodLogExecution != null)
+                    LogConditions.validate(method, httpMethodLogExecution.condition(), httpMethodLogExecution.unless());
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+            }
+        }, ReflectionUtils.USER_DECLARED_METHODS);
+    }
+}
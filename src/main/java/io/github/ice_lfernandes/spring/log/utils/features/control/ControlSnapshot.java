@@ -0,0 +1,65 @@
+package io.github.ice_lfernandes.spring.log.utils.features.control;
+
+import io.github.ice_lfernandes.spring.log.utils.properties.EndpointOverride;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of runtime overrides, keyed by target: a package, a class or a method, written as a dotted prefix of
+ * {@code <fully qualified class name>.<method name>}.
+ * <p>
+ * A snapshot is never modified: {@link LoggingControl} publishes a new one on every change, so the interception state
+ * of a method built from a snapshot stays valid as long as that snapshot is the current one.
+ * </p>
+ */
+public final class ControlSnapshot {
+
+    /**
+     * Snapshot without any override.
+     */
+    public static final ControlSnapshot EMPTY = new ControlSnapshot(Map.of());
+
+    private final Map<String, EndpointOverride> overrides;
+
+    /**
+     * @param overrides The overrides by target
+     */
+    public ControlSnapshot(Map<String, EndpointOverride> overrides) {
+        // least specific first, so that more specific targets are merged last
+        var sorted = new LinkedHashMap<String, EndpointOverride>();
+        overrides.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparingInt(String::length)))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        this.overrides = Collections.unmodifiableMap(sorted);
+    }
+
+    /**
+     * @return The overrides by target, least specific first
+     */
+    public Map<String, EndpointOverride> getOverrides() {
+        return overrides;
+    }
+
+    /**
+     * Merges the overrides of every target matching {@code method}, the most specific one winning.
+     *
+     * @param method The intercepted method
+     * @return The resulting override, {@link EndpointOverride#NONE} if no target matches
+     */
+    public EndpointOverride resolve(Method method) {
+        if (overrides.isEmpty())
+            return EndpointOverride.NONE;
+        String name = method.getDeclaringClass().getName() + "." + method.getName();
+        var resolved = EndpointOverride.NONE;
+        for (var entry : overrides.entrySet()) {
+            String target = entry.getKey();
+            if (name.equals(target) || name.startsWith(target) && name.charAt(target.length()) == '.')
+                resolved = resolved.merge(entry.getValue());
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.ice_lfernandes.spring.log.utils.features.control;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.features.sampling.EndpointSampler;
+import lombok.SneakyThrows;
+import org.aspectj.lang.ProceedingJoinPoint;
+
+/**
+ * Interception state of one method, built from the {@link ControlSnapshot} that was current at that time.
+ *
+ * @param snapshot   The snapshot this state was built from
+ * @param enabled    Whether the calls are logged at all
+ * @param descriptor The interception metadata of the method
+ * @param sampler    The sampler of the calls, {@code null} when every call is logged
+ */
+public record ControlledEndpoint(
+        ControlSnapshot snapshot,
+        boolean enabled,
+        InterceptionDescriptor descriptor,
+        EndpointSampler sampler
+) {
+
+    /**
+     * Executes the method, logged according to this state.
+     *
+     * @param joinPoint The intercepted method execution context
+     * @return The result of the intercepted method execution
+     */
+    public Object proceed(ProceedingJoinPoint joinPoint) {
+        return proceed(joinPoint, null);
+    }
+
+    /**
+     * Executes the method, logged according to this state, running {@code onLogged} once a line of the call is
+     * written after it, see {@link LoggingCommonsMethods#logInterceptJoinPoint(ProceedingJoinPoint,
+     * InterceptionDescriptor, Runnable)}.
+     *
+     * @param joinPoint The intercepted method execution context
+     * @param onLogged  The callback run once a line of the call is written, may be {@code null}
+     * @return The result of the intercepted method execution
+     */
+    @SneakyThrows
+    public Object proceed(ProceedingJoinPoint joinPoint, Runnable onLogged) {
+        if (!enabled)
+            return joinPoint.proceed();
+        if (sampler == null || sampler.sample())
+            return LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, descriptor, onLogged);
+        return LoggingCommonsMethods.logInterceptJoinPointIfNotable(joinPoint, descriptor,
+                sampler.getSlowThresholdNanos(), sampler.isAlwaysLogErrors(), onLogged);
+    }
+}
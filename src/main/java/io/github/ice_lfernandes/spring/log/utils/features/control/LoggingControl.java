@@ -0,0 +1,101 @@
+package io.github.ice_lfernandes.spring.log.utils.features.control;
+
+import io.github.ice_lfernandes.spring.log.utils.properties.ControlProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.EndpointOverride;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Runtime control surface of the logging aspects: toggles logging, parameters and result capture, the logging mode,
+ * sampling and slow thresholds per package, class or method, without restarting the application.
+ * <p>
+ * The overrides are held in an immutable {@link ControlSnapshot} replaced atomically on every change. The aspects
+ * cache the interception state of each method along with the snapshot it was built from, so on the hot path, reading
+ * the configuration costs one volatile read plus the lookup of the method's cached state; the state of a method is
+ * rebuilt on its first call after a change.
+ * </p>
+ *
+ * <p>The initial overrides are read from {@code spring.log-utils.control.overrides}; with Spring Boot Actuator, they can
+ * be changed through the {@code logutils} endpoint, see {@link LoggingControlEndpoint}.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * loggingControl.setOverride("com.acme.UserController", new EndpointOverride(false, null, null, null, null, null, null));
+ * </pre>
+ */
+@Component
+@EnableConfigurationProperties(ControlProperties.class)
+public class LoggingControl {
+
+    private final ControlProperties controlProperties;
+
+    private volatile ControlSnapshot snapshot;
+
+    public LoggingControl(ControlProperties controlProperties) {
+        this.controlProperties = controlProperties;
+        this.snapshot = new ControlSnapshot(controlProperties.overrides());
+    }
+
+    /**
+     * @return The current snapshot
+     */
+    public ControlSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Sets the override of a target, replacing its previous one.
+     *
+     * @param target   A package, class or method, e.g. {@code com.acme.UserController.getUser}
+     * @param override The settings of the target
+     */
+    public synchronized void setOverride(String target, EndpointOverride override) {
+        var overrides = new HashMap<>(snapshot.getOverrides());
+        overrides.put(Objects.requireNonNull(target, "target should not be null"),
+                Objects.requireNonNull(override, "override should not be null"));
+        snapshot = new ControlSnapshot(overrides);
+    }
+
+    /**
+     * Removes the override of a target.
+     *
+     * @param target The target passed to {@link #setOverride(String, EndpointOverride)}
+     */
+    public synchronized void removeOverride(String target) {
+        var overrides = new HashMap<>(snapshot.getOverrides());
+        if (overrides.remove(target) != null)
+            snapshot = new ControlSnapshot(overrides);
+    }
+
+    /**
+     * Restores the overrides configured in {@code spring.log-utils.control.overrides}.
+     */
+    public synchronized void reset() {
+        snapshot = new ControlSnapshot(controlProperties.overrides());
+    }
+
+    /**
+     * Returns the interception state of {@code method} cached in {@code endpoints}, rebuilding it with
+     * {@code factory} when the snapshot it was built from is no longer the current one.
+     *
+     * @param endpoints The cache of an aspect
+     * @param method    The intercepted method
+     * @param factory   Builds the state of a method from a snapshot
+     * @return The state of the method for the current snapshot
+     */
+    public ControlledEndpoint resolve(Map<Method, ControlledEndpoint> endpoints, Method method,
+                                      BiFunction<Method, ControlSnapshot, ControlledEndpoint> factory) {
+        var current = snapshot;
+        var endpoint = endpoints.get(method);
+        if (endpoint != null && endpoint.snapshot() == current)
+            return endpoint;
+        return endpoints.compute(method, (key, cached) ->
+                cached != null && cached.snapshot() == current ? cached : factory.apply(key, current));
+    }
+}
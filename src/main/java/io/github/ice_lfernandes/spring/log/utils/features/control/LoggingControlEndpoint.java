@@ -0,0 +1,65 @@
+package io.github.ice_lfernandes.spring.log.utils.features.control;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.properties.EndpointOverride;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing {@link LoggingControl}, available when Spring Boot Actuator is on the classpath and the
+ * endpoint is exposed, e.g. with {@code management.endpoints.web.exposure.include=logutils}.
+ *
+ * <p>Example usage:
+ * <pre>
+ * GET    /actuator/logutils                           # every override
+ * POST   /actuator/logutils/com.acme.UserController   # {"enabled": false} or {"samplingRate": 0.1, "slowThreshold": "200ms"}
+ * DELETE /actuator/logutils/com.acme.UserController   # remove the override
+ * DELETE /actuator/logutils                           # restore the configured overrides
+ * </pre>
+ */
+@Component
+@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+@Endpoint(id = "logutils")
+@RequiredArgsConstructor
+public class LoggingControlEndpoint {
+
+    private final LoggingControl loggingControl;
+
+    @ReadOperation
+    public Map<String, EndpointOverride> overrides() {
+        return loggingControl.getSnapshot().getOverrides();
+    }
+
+    @ReadOperation
+    public EndpointOverride override(@Selector String target) {
+        return loggingControl.getSnapshot().getOverrides().get(target);
+    }
+
+    @WriteOperation
+    public void setOverride(@Selector String target, @Nullable Boolean enabled, @Nullable Boolean logParameters,
+                            @Nullable Boolean logReturn, @Nullable LogMode mode, @Nullable Duration slowThreshold,
+                            @Nullable Double samplingRate, @Nullable Integer maxPerSecond) {
+        loggingControl.setOverride(target, new EndpointOverride(enabled, logParameters, logReturn, mode, slowThreshold,
+                samplingRate, maxPerSecond));
+    }
+
+    @DeleteOperation
+    public void removeOverride(@Selector String target) {
+        loggingControl.removeOverride(target);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        loggingControl.reset();
+    }
+}
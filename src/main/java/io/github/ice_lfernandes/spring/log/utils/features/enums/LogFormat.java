@@ -0,0 +1,21 @@
+package io.github.ice_lfernandes.spring.log.utils.features.enums;
+
+/**
+ * Enum representing the format of the lines written for an intercepted call.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * spring.log-utils.execution.format=JSON
+ * </pre>
+ */
+public enum LogFormat {
+    /**
+     * {@code key=value} text, e.g. {@code stage=finish, method=getUser, class=UserService, time-execution=5ms}.
+     */
+    TEXT,
+    /**
+     * One JSON object per line, e.g. {@code {"stage":"finish","method":"getUser","class":"UserService","timeExecutionMs":5}},
+     * passed to the logger as a single pre-encoded argument.
+     */
+    JSON
+}
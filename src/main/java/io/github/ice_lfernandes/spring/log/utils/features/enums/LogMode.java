@@ -0,0 +1,55 @@
+package io.github.ice_lfernandes.spring.log.utils.features.enums;
+
+/**
+ * Enum representing which lines are written for an intercepted call.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * spring.log-utils.execution.mode=TAIL
+ * spring.log-utils.execution.slow-threshold=500ms
+ * </pre>
+ */
+public enum LogMode {
+    /**
+     * Uses {@code spring.log-utils.execution.mode}. Only meaningful on annotations.
+     */
+    DEFAULT,
+    /**
+     * Writes an init line before the call and a finish line after it.
+     */
+    FULL,
+    /**
+     * Writes a single line per call once it is over: the finish line, or the error line when the call throws.
+     */
+    SINGLE,
+    /**
+     * Writes the init and finish lines only when the call lasts at least the slow threshold, and the init and error
+     * lines when it throws. The init record is captured before the call but written once the call is over.
+     * Fast successful calls write nothing.
+     */
+    TAIL,
+    /**
+     * Like {@link #TAIL}, but fast successful calls write a compact finish line with the method, class and execution
+     * time only.
+     */
+    TAIL_COMPACT,
+    /**
+     * Writes no line per call. Calls are aggregated per method and a summary line with the number of calls and errors
+     * and the duration statistics is written per method every {@code spring.log-utils.summary.interval}, provided
+     * {@code spring.log-utils.summary.enabled} is set.
+     */
+    SUMMARY,
+    /**
+     * Writes no line per call. The intercepted calls nested in the call on the same thread are recorded as a tree of
+     * spans, written as a single entry with the total and self time of every call once the call returns. Nested calls
+     * in this mode write nothing else; nested calls in other modes still write their own lines.
+     */
+    TREE;
+
+    /**
+     * @return {@code true} if the lines of a call are only written once the call is over
+     */
+    public boolean isTail() {
+        return this == TAIL || this == TAIL_COMPACT;
+    }
+}
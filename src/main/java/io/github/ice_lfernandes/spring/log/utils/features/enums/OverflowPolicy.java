@@ -0,0 +1,34 @@
+package io.github.ice_lfernandes.spring.log.utils.features.enums;
+
+/**
+ * Enum representing what the asynchronous log pipeline does with a new record when its buffer is full.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * spring.log-utils.async.overflow-policy=DROP_OLDEST
+ * </pre>
+ */
+public enum OverflowPolicy {
+    /**
+     * Waits for a free slot, never losing a record. The calling thread is slowed down to the workers' pace.
+     */
+    BLOCK,
+    /**
+     * Discards the oldest buffered record to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Discards the new record.
+     */
+    DROP_NEWEST,
+    /**
+     * Emits the new record on the calling thread, never losing a record nor waiting for the workers, at the cost of
+     * synchronous logging while the buffer is full. Records emitted this way may precede older buffered records.
+     */
+    CALLER_RUNS,
+    /**
+     * Once the buffer is half full, only one record out of {@code sample-rate} is accepted; the others are discarded.
+     * Records are discarded as with {@link #DROP_NEWEST} when the buffer is full.
+     */
+    SAMPLE
+}
@@ -0,0 +1,40 @@
+package io.github.ice_lfernandes.spring.log.utils.features.enums;
+
+import lombok.Getter;
+
+/**
+ * Enum representing the kinds of personal data detected in free-text log messages.
+ * <p>
+ * Each detected value is masked with the masker of the matching {@link MaskedType}, so it reads the same as an
+ * annotated field.
+ * </p>
+ *
+ * <p>Example configuration (Logback):
+ * <pre>
+ * %maskedMsg{EMAIL,DOCUMENT}
+ * </pre>
+ */
+@Getter
+public enum PiiType {
+    /**
+     * Email addresses, e.g. {@code lucas.fernandes@gmail.com}.
+     */
+    EMAIL(MaskedType.EMAIL),
+    /**
+     * CPF and CNPJ numbers, plain or punctuated, e.g. {@code 123.456.789-09} or {@code 12345678000195}.
+     */
+    DOCUMENT(MaskedType.DOCUMENT),
+    /**
+     * Formatted telephone numbers of 10 to 13 digits, e.g. {@code +55 (11) 91234-5678}.
+     */
+    TELEPHONE(MaskedType.TELEPHONE);
+
+    /**
+     * The masking type applied to the detected values.
+     */
+    private final MaskedType maskedType;
+
+    PiiType(MaskedType maskedType) {
+        this.maskedType = maskedType;
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.ice_lfernandes.spring.log.utils.features.exceptions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.properties.ExceptionProperties;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fingerprints the exceptions thrown by intercepted methods so that a burst of identical failures writes one stack
+ * trace instead of thousands.
+ * <p>
+ * The fingerprint of an exception is a 64-bit hash of its type and of the class, method and line of its top
+ * {@code fingerprint-frames} frames, so the same failure thrown from the same place gets the same fingerprint whatever
+ * its message. Fingerprints are counted in a bounded cache whose entries expire {@code window} after their first
+ * occurrence: the first occurrence in a window is reported with a stack trace trimmed to {@code stack-depth} frames,
+ * and the following ones only with their number of occurrences. Computing a fingerprint reads the stack trace but
+ * formats nothing, so repeated failures cost a hash and a cache lookup.
+ * </p>
+ *
+ * <p>Example configuration:
+ * <pre>
+ * spring.log-utils.exceptions.window=5m
+ * spring.log-utils.exceptions.max-fingerprints=1000
+ * spring.log-utils.exceptions.fingerprint-frames=5
+ * spring.log-utils.exceptions.stack-depth=10
+ * </pre>
+ *
+ * @see ExceptionReport
+ */
+@Component
+@EnableConfigurationProperties(ExceptionProperties.class)
+public class ExceptionDeduplicator implements InitializingBean {
+
+    private final int fingerprintFrames;
+    private final int stackDepth;
+    private final Cache<Long, Occurrences> occurrences;
+
+    public ExceptionDeduplicator(ExceptionProperties exceptionProperties) {
+        this.fingerprintFrames = exceptionProperties.fingerprintFrames();
+        this.stackDepth = exceptionProperties.stackDepth();
+        this.occurrences = CacheBuilder.newBuilder()
+                .maximumSize(exceptionProperties.maxFingerprints())
+                .expireAfterWrite(exceptionProperties.window())
+                .build();
+    }
+
+    /**
+     * Makes this instance the one used by {@link LoggingCommonsMethods}.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        LoggingCommonsMethods.setExceptionDeduplicator(this);
+    }
+
+    /**
+     * Counts an occurrence of {@code throwable}.
+     *
+     * @param throwable The exception thrown by an intercepted method
+     * @return The report to write in the error line
+     */
+    public ExceptionReport report(Throwable throwable) {
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        long fingerprint = fingerprint(throwable, stackTrace);
+        // the cache's computeIfAbsent locks a segment even when the fingerprint is present
+        var occurrence = occurrences.getIfPresent(fingerprint);
+        if (occurrence == null)
+            occurrence = occurrences.asMap().computeIfAbsent(fingerprint, Occurrences::new);
+        long count = occurrence.count.incrementAndGet();
+        return new ExceptionReport(throwable, stackTrace, occurrence.fingerprint, count, count == 1 ? stackDepth : 0);
+    }
+
+    /**
+     * @return The number of fingerprints currently counted
+     */
+    public long getFingerprintCount() {
+        return occurrences.size();
+    }
+
+    private long fingerprint(Throwable throwable, StackTraceElement[] stackTrace) {
+        // FNV-1a over the hashes of the type and frames
+        long hash = mix(0xCBF29CE484222325L, throwable.getClass().getName().hashCode());
+        for (int i = 0, frames = Math.min(fingerprintFrames, stackTrace.length); i < frames; i++) {
+            StackTraceElement frame = stackTrace[i];
+            hash = mix(hash, frame.getClassName().hashCode());
+            hash = mix(hash, frame.getMethodName().hashCode());
+            hash = mix(hash, frame.getLineNumber());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * 0x100000001B3L;
+    }
+
+    private static final class Occurrences {
+
+        private final String fingerprint;
+        private final AtomicLong count = new AtomicLong();
+
+        private Occurrences(Long fingerprint) {
+            this.fingerprint = String.format("%016x", fingerprint);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.ice_lfernandes.spring.log.utils.features.exceptions;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * An exception thrown by an intercepted method, as written in its error line by {@link ExceptionDeduplicator}.
+ * <p>
+ * The first occurrence of a fingerprint in the deduplication window is written with its stack trace, trimmed to
+ * {@link #getStackDepth()} frames, followed by the type and message of its causes. Later occurrences are written on a
+ * single line with their number of occurrences, without any stack trace. The text is only built when the report is
+ * formatted, i.e. when the error line is actually written.
+ * </p>
+ */
+public final class ExceptionReport {
+
+    /**
+     * The exception.
+     */
+    @Getter
+    private final Throwable throwable;
+
+    /**
+     * The fingerprint of the exception's type and top frames, as a hexadecimal string.
+     */
+    @Getter
+    private final String fingerprint;
+
+    /**
+     * The number of occurrences of the fingerprint in the current window, including this one.
+     */
+    @Getter
+    private final long occurrences;
+
+    /**
+     * The number of frames written, {@code 0} when the stack trace is omitted.
+     */
+    @Getter
+    private final int stackDepth;
+
+    private final StackTraceElement[] stackTrace;
+
+    ExceptionReport(Throwable throwable, StackTraceElement[] stackTrace, String fingerprint, long occurrences,
+                    int stackDepth) {
+        this.throwable = throwable;
+        this.stackTrace = stackTrace;
+        this.fingerprint = fingerprint;
+        this.occurrences = occurrences;
+        this.stackDepth = stackDepth;
+    }
+
+    /**
+     * @return {@code true} if this is the first occurrence of the fingerprint in the current window
+     */
+    public boolean isFirst() {
+        return occurrences == 1;
+    }
+
+    /**
+     * @return The frames written with the exception, at most {@link #getStackDepth()}
+     */
+    public StackTraceElement[] getWrittenFrames() {
+        int depth = Math.min(stackDepth, stackTrace.length);
+        var frames = new StackTraceElement[depth];
+        System.arraycopy(stackTrace, 0, frames, 0, depth);
+        return frames;
+    }
+
+    @Override
+    public String toString() {
+        var text = new StringBuilder(isFirst() ? 512 : 128).append(throwable);
+        text.append(" [fingerprint=").append(fingerprint);
+        if (!isFirst())
+            return text.append(", occurrences=").append(occurrences).append(", stack trace omitted]").toString();
+        text.append(']');
+        int depth = Math.min(stackDepth, stackTrace.length);
+        for (int i = 0; i < depth; i++)
+            text.append("\n\tat ").append(stackTrace[i]);
+        if (depth < stackTrace.length)
+            text.append("\n\t... ").append(stackTrace.length - depth).append(" more");
+        if (stackDepth > 0) {
+            Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            seen.add(throwable);
+            for (Throwable cause = throwable.getCause(); cause != null && seen.add(cause); cause = cause.getCause())
+                text.append("\nCaused by: ").append(cause);
+        }
+        return text.toString();
+    }
+}
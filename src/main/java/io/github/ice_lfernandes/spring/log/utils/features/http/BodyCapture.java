@@ -0,0 +1,165 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Masker;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * The first bytes of a request or response body, copied while the application reads or writes it.
+ * <p>
+ * The body itself is never buffered: the bytes are passed through untouched and at most the capacity of one pooled
+ * array is copied aside, so uploads and streamed responses of any size cost the same. The array is only taken from the
+ * pool when the first byte flows and is returned when the capture is {@link #render rendered} or {@link #release
+ * released}; bytes flowing afterwards, e.g. written after an asynchronous timeout, are counted but not copied. The
+ * capture of a body is confined to the thread reading or writing it, or to successive Reactive Streams signals.
+ * </p>
+ */
+final class BodyCapture {
+
+    private final CaptureBufferPool pool;
+    private byte[] buffer;
+    private boolean unavailable;
+    private boolean closed;
+    private int captured;
+    private long size;
+
+    BodyCapture(CaptureBufferPool pool) {
+        this.pool = pool;
+    }
+
+    void append(int b) {
+        size++;
+        if (room() > 0)
+            buffer[captured++] = (byte) b;
+    }
+
+    void append(byte[] bytes, int offset, int length) {
+        if (length <= 0)
+            return;
+        size += length;
+        int copied = Math.min(room(), length);
+        if (copied > 0) {
+            System.arraycopy(bytes, offset, buffer, captured, copied);
+            captured += copied;
+        }
+    }
+
+    /**
+     * Copies the first remaining bytes of {@code bytes} without moving its position.
+     */
+    void append(ByteBuffer bytes) {
+        int length = bytes.remaining();
+        if (length <= 0)
+            return;
+        size += length;
+        int copied = Math.min(room(), length);
+        if (copied > 0) {
+            bytes.get(bytes.position(), buffer, captured, copied);
+            captured += copied;
+        }
+    }
+
+    private int room() {
+        if (closed)
+            return 0;
+        if (buffer == null && !unavailable) {
+            buffer = pool.acquire();
+            unavailable = buffer == null;
+        }
+        return buffer == null ? 0 : buffer.length - captured;
+    }
+
+    /**
+     * @return The number of bytes of the body, captured or not
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * Decodes the captured bytes and returns the array to the pool. The decoded text is only masked when the returned
+     * body is formatted.
+     *
+     * @param contentType The {@code Content-Type} of the body, may be {@code null}
+     * @param masker      The masker of the body
+     * @param fields      The maskers of the annotated fields of the handler method's types, by property name
+     * @return The body as written in the log line
+     */
+    CapturedBody render(String contentType, BodyMasker masker, Map<String, Masker> fields) {
+        String text = null;
+        var mimeType = parse(contentType);
+        if (buffer != null && isTextual(mimeType)) {
+            Charset charset = mimeType == null || mimeType.getCharset() == null
+                    ? StandardCharsets.UTF_8 : mimeType.getCharset();
+            text = new String(buffer, 0, captured, charset);
+        }
+        release();
+        return new CapturedBody(text, mimeType, size, captured < size, unavailable, masker, fields);
+    }
+
+    /**
+     * Returns the array to the pool without rendering the capture, which then stops copying bytes.
+     */
+    void release() {
+        closed = true;
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private static MimeType parse(String contentType) {
+        if (contentType == null || contentType.isBlank())
+            return null;
+        try {
+            return MimeTypeUtils.parseMimeType(contentType);
+        } catch (InvalidMimeTypeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isTextual(MimeType mimeType) {
+        if (mimeType == null)
+            return true;
+        String subtype = mimeType.getSubtype();
+        return "text".equals(mimeType.getType()) || subtype.contains("json") || subtype.contains("xml")
+                || subtype.equals("x-www-form-urlencoded") || subtype.equals("javascript")
+                || subtype.equals("graphql") || subtype.equals("yaml");
+    }
+
+    /**
+     * A rendered body: its masked text, or a placeholder when it is empty, binary, not logged or could not be
+     * captured.
+     *
+     * @param text        The decoded captured bytes, {@code null} if the body is binary or was not captured
+     * @param mimeType    The media type of the body, {@code null} if unknown
+     * @param size        The number of bytes of the body
+     * @param truncated   Whether the body is longer than the captured bytes
+     * @param unavailable Whether the pool had no array left for the body
+     * @param masker      The masker of {@code text}
+     * @param fields      The maskers of the annotated fields of the handler method's types, by property name
+     */
+    record CapturedBody(String text, MimeType mimeType, long size, boolean truncated, boolean unavailable,
+                        BodyMasker masker, Map<String, Masker> fields) {
+
+        @Override
+        public String toString() {
+            if (size == 0)
+                return "";
+            if (unavailable)
+                return "[not captured, " + size + " bytes]";
+            if (text == null)
+                return "[binary, " + size + " bytes]";
+            String masked = masker.mask(text, mimeType, truncated, fields);
+            if (masked == null)
+                return "[not logged, " + size + " bytes]";
+            return truncated ? masked + "...[" + size + " bytes]" : masked;
+        }
+    }
+}
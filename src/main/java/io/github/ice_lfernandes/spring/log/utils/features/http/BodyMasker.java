@@ -0,0 +1,167 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Masker;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Maskers;
+import io.github.ice_lfernandes.spring.log.utils.features.pii.PiiScanner;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Masks a captured body field by field before it is logged.
+ * <p>
+ * JSON and form bodies are rewritten one value at a time: the values of the fields named in the deny-list, e.g.
+ * {@code password} or {@code cardNumber}, are fully masked, along with every value nested in them; the values of the
+ * fields annotated with {@code MaskSensitiveData} in the types of the handler method are masked with the masker of
+ * their annotation; the other strings are scanned for personal data by a {@link PiiScanner}. A name is denied when,
+ * ignoring case, {@code _} and {@code -}, it ends with an entry of the deny-list, so {@code newPassword} and
+ * {@code refresh_token} are denied by {@code password} and {@code token}.
+ * </p>
+ *
+ * <p>Other textual bodies, e.g. plain text or XML, have no fields to mask and are only logged, scanned for personal
+ * data, when {@code spring.log-utils.http-capture.unstructured-bodies=true}.</p>
+ */
+final class BodyMasker {
+
+    private static final JsonFactory FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+    private static final Masker DENIED = Maskers.forType(MaskedType.ALL);
+
+    private final PiiScanner scanner;
+    private final List<String> deniedNames;
+    private final boolean unstructuredBodies;
+
+    /**
+     * @param scanner            The scanner masking the personal data of the other values
+     * @param deniedNames        The names of the fields whose values are fully masked
+     * @param unstructuredBodies Whether bodies that are neither JSON nor form data are logged
+     */
+    BodyMasker(PiiScanner scanner, Collection<String> deniedNames, boolean unstructuredBodies) {
+        this.scanner = scanner;
+        this.deniedNames = deniedNames.stream().map(BodyMasker::normalize).filter(name -> !name.isEmpty()).toList();
+        this.unstructuredBodies = unstructuredBodies;
+    }
+
+    /**
+     * @param text       The decoded body, possibly truncated
+     * @param mimeType   The media type of the body, {@code null} if unknown
+     * @param truncated  Whether {@code text} is the beginning of the body only
+     * @param fields     The maskers of the annotated fields of the handler method's types, by property name
+     * @return The masked body, or {@code null} if the body isn't logged
+     */
+    String mask(String text, MimeType mimeType, boolean truncated, Map<String, Masker> fields) {
+        if (mimeType == null)
+            return unstructuredBodies ? scanner.mask(text) : null;
+        String subtype = mimeType.getSubtype();
+        if (subtype.equals("json") || subtype.endsWith("+json"))
+            return maskJson(text, truncated, fields);
+        if (subtype.equals("x-www-form-urlencoded"))
+            return maskForm(text, fields);
+        return unstructuredBodies ? scanner.mask(text) : null;
+    }
+
+    private String maskJson(String text, boolean truncated, Map<String, Masker> fields) {
+        var out = new StringWriter(text.length());
+        // the masker of every open object or array, null when its values are not masked as a whole
+        var scopes = new ArrayList<Masker>();
+        try (var parser = FACTORY.createParser(text); var generator = FACTORY.createGenerator(out)) {
+            try {
+                for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                    Masker masker = token == JsonToken.FIELD_NAME || token.isStructEnd() ? null
+                            : maskerOf(scopes, parser.currentName(), fields);
+                    switch (token) {
+                        case START_OBJECT, START_ARRAY -> {
+                            scopes.add(masker);
+                            generator.copyCurrentEvent(parser);
+                        }
+                        case END_OBJECT, END_ARRAY -> {
+                            scopes.remove(scopes.size() - 1);
+                            generator.copyCurrentEvent(parser);
+                        }
+                        case VALUE_STRING -> generator.writeString(masker == null
+                                ? scanner.mask(parser.getText()) : Maskers.mask(parser.getText(), masker));
+                        case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT, VALUE_TRUE, VALUE_FALSE -> {
+                            if (masker == null)
+                                generator.copyCurrentEvent(parser);
+                            else
+                                generator.writeString(Maskers.mask(parser.getText(), masker));
+                        }
+                        default -> generator.copyCurrentEvent(parser);
+                    }
+                }
+            } catch (IOException e) {
+                // a truncated body ends in the middle of a value: the values read so far are kept
+                generator.flush();
+                return truncated ? out.toString() : out + "...[invalid JSON]";
+            }
+        } catch (IOException e) {
+            return "[invalid JSON]";
+        }
+        return out.toString();
+    }
+
+    private String maskForm(String text, Map<String, Masker> fields) {
+        var out = new StringBuilder(text.length());
+        for (String pair : text.split("&")) {
+            if (!out.isEmpty())
+                out.append('&');
+            int separator = pair.indexOf('=');
+            String name = decode(separator < 0 ? pair : pair.substring(0, separator));
+            out.append(name);
+            if (separator < 0)
+                continue;
+            String value = decode(pair.substring(separator + 1));
+            Masker masker = maskerOf(name, fields);
+            out.append('=').append(masker == null ? scanner.mask(value) : Maskers.mask(value, masker));
+        }
+        return out.toString();
+    }
+
+    private Masker maskerOf(List<Masker> scopes, String name, Map<String, Masker> fields) {
+        Masker enclosing = scopes.isEmpty() ? null : scopes.get(scopes.size() - 1);
+        return enclosing != null ? enclosing : name == null ? null : maskerOf(name, fields);
+    }
+
+    private Masker maskerOf(String name, Map<String, Masker> fields) {
+        Masker masker = fields.get(name);
+        if (masker != null)
+            return masker;
+        String normalized = normalize(name);
+        for (String denied : deniedNames) {
+            if (normalized.endsWith(denied))
+                return DENIED;
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        var normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_' && c != '-')
+                normalized.append(c);
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed set of equally sized byte arrays receiving the captured bodies.
+ * <p>
+ * Arrays are allocated on first demand, up to {@code size}, and reused afterwards, so the memory held by the captures
+ * is bounded by {@code size * bufferBytes} whatever the number of concurrent requests or the size of their bodies.
+ * When every array is in use, {@link #acquire()} returns {@code null} and the body is not captured.
+ * </p>
+ */
+final class CaptureBufferPool {
+
+    private final int size;
+    private final int bufferBytes;
+    private final Queue<byte[]> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    CaptureBufferPool(int size, int bufferBytes) {
+        this.size = size;
+        this.bufferBytes = bufferBytes;
+    }
+
+    /**
+     * @return A free array, or {@code null} if all of them are in use or the arrays are empty
+     */
+    byte[] acquire() {
+        byte[] buffer = free.poll();
+        if (buffer != null || bufferBytes == 0)
+            return buffer;
+        for (int count = allocated.get(); count < size; count = allocated.get()) {
+            if (allocated.compareAndSet(count, count + 1))
+                return new byte[bufferBytes];
+        }
+        return null;
+    }
+
+    /**
+     * Returns an array obtained from {@link #acquire()}; it must not be used afterwards.
+     *
+     * @param buffer The array to return
+     */
+    void release(byte[] buffer) {
+        free.offer(buffer);
+    }
+
+    /**
+     * @return The number of arrays allocated so far
+     */
+    int getAllocated() {
+        return allocated.get();
+    }
+}
@@ -0,0 +1,307 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import io.github.ice_lfernandes.spring.log.utils.features.pii.PiiScanner;
+import io.github.ice_lfernandes.spring.log.utils.properties.HttpCaptureProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * Servlet filter capturing the HTTP exchange of the requests handled by the intercepted controller methods.
+ * <p>
+ * The request and response streams are wrapped so that the bytes the application reads and writes are copied, up to
+ * {@code spring.log-utils.http-capture.max-body-bytes}, into arrays of a fixed pool, as they pass. Unlike Spring's
+ * {@code ContentCachingRequestWrapper}, the body is neither read ahead nor kept on the heap, so uploads and streamed
+ * downloads are unaffected; a body that isn't read by the application, e.g. form parameters parsed by the container,
+ * isn't captured. Once the response is complete, including after asynchronous processing, the exchange is written as
+ * one line, see {@link HttpExchangeCapture}; a request whose asynchronous processing times out or fails is written
+ * with status 500 unless an error response was sent.
+ * </p>
+ *
+ * <p>The bodies are masked field by field, see {@link BodyMasker}.</p>
+ *
+ * <p>Example configuration:
+ * <pre>
+ * spring.log-utils.http-capture.enabled=true
+ * spring.log-utils.http-capture.max-body-bytes=4096
+ * spring.log-utils.http-capture.pool-size=64
+ * spring.log-utils.http-capture.masked-fields=password,token,cardNumber
+ * </pre>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnClass(name = "jakarta.servlet.Filter")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(
+        prefix = "spring.log-utils.http-capture",
+        name = "enabled",
+        havingValue = "true"
+)
+@EnableConfigurationProperties(HttpCaptureProperties.class)
+public class HttpCaptureFilter extends OncePerRequestFilter {
+
+    private final CaptureBufferPool pool;
+    private final BodyMasker masker;
+    private final String requestIdHeader;
+
+    public HttpCaptureFilter(HttpCaptureProperties httpCaptureProperties) {
+        this.pool = new CaptureBufferPool(httpCaptureProperties.poolSize(), httpCaptureProperties.maxBodyBytes());
+        this.masker = new BodyMasker(PiiScanner.of(httpCaptureProperties.piiTypes()),
+                httpCaptureProperties.maskedFields(), httpCaptureProperties.unstructuredBodies());
+        this.requestIdHeader = httpCaptureProperties.requestIdHeader();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String uri = request.getQueryString() == null
+                ? request.getRequestURI() : request.getRequestURI() + "?" + request.getQueryString();
+        var capture = new HttpExchangeCapture(request.getMethod(), uri, request.getHeader(requestIdHeader), pool,
+                masker);
+        var capturingRequest = new CapturingRequest(request, capture.getRequestBody());
+        var capturingResponse = new CapturingResponse(response, capture.getResponseBody());
+
+        var previous = capture.bind();
+        boolean failed = true;
+        try {
+            chain.doFilter(capturingRequest, capturingResponse);
+            failed = false;
+        } finally {
+            capture.unbind(previous);
+            capturingResponse.flushWriter();
+            if (!failed && capturingRequest.isAsyncStarted()) {
+                capturingRequest.getAsyncContext().addListener(new CompletionListener(capture, capturingRequest,
+                        capturingResponse));
+            } else {
+                // an exception escaping the chain is turned into a 500 by the container if nothing was sent yet
+                int status = failed && !response.isCommitted() ? 500 : response.getStatus();
+                capture.complete(status, request.getContentType(), response.getContentType());
+            }
+        }
+    }
+
+    /**
+     * Completes the capture of an asynchronously processed request. The container always calls {@code onComplete}, also
+     * after a timeout or an error, once the error handling, if any, has written the response.
+     */
+    private static final class CompletionListener implements AsyncListener {
+
+        private final HttpExchangeCapture capture;
+        private final HttpServletRequest request;
+        private final CapturingResponse response;
+        private volatile boolean failed;
+
+        private CompletionListener(HttpExchangeCapture capture, HttpServletRequest request,
+                                   CapturingResponse response) {
+            this.capture = capture;
+            this.request = request;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            response.flushWriter();
+            // like a failed synchronous chain, a failure the application didn't answer ends as a 500
+            int status = failed && !response.isCommitted() ? 500 : response.getStatus();
+            capture.complete(status, request.getContentType(), response.getContentType());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static final class CapturingRequest extends HttpServletRequestWrapper {
+
+        private final BodyCapture body;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        private CapturingRequest(HttpServletRequest request, BodyCapture body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null)
+                inputStream = new CapturingInputStream(super.getInputStream(), body);
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                reader = new BufferedReader(new InputStreamReader(getInputStream(),
+                        encoding == null ? "ISO-8859-1" : encoding));
+            }
+            return reader;
+        }
+    }
+
+    private static final class CapturingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final BodyCapture body;
+
+        private CapturingInputStream(ServletInputStream delegate, BodyCapture body) {
+            this.delegate = delegate;
+            this.body = body;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0)
+                body.append(b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = delegate.read(bytes, offset, length);
+            body.append(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+
+    private static final class CapturingResponse extends HttpServletResponseWrapper {
+
+        private final BodyCapture body;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        private CapturingResponse(HttpServletResponse response, BodyCapture body) {
+            super(response);
+            this.body = body;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null)
+                outputStream = new CapturingOutputStream(super.getOutputStream(), body);
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                String encoding = getCharacterEncoding();
+                try {
+                    writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), encoding));
+                } catch (UnsupportedEncodingException e) {
+                    throw new IOException(e);
+                }
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        /**
+         * Flushes the characters buffered by the writer, which the container doesn't know of.
+         */
+        private void flushWriter() {
+            if (writer != null)
+                writer.flush();
+        }
+    }
+
+    private static final class CapturingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final BodyCapture body;
+
+        private CapturingOutputStream(ServletOutputStream delegate, BodyCapture body) {
+            this.delegate = delegate;
+            this.body = body;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            body.append(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            body.append(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
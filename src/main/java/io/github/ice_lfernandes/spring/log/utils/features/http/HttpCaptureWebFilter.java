@@ -0,0 +1,167 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import io.github.ice_lfernandes.spring.log.utils.features.pii.PiiScanner;
+import io.github.ice_lfernandes.spring.log.utils.properties.HttpCaptureProperties;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * WebFlux filter capturing the HTTP exchange of the requests handled by the intercepted controller methods.
+ * <p>
+ * The request and response bodies are observed as their {@link DataBuffer}s flow: the readable bytes of each buffer
+ * are copied, up to {@code spring.log-utils.http-capture.max-body-bytes}, into arrays of a fixed pool, without
+ * consuming, retaining or aggregating the buffers, so streamed bodies keep flowing unchanged. Once the exchange
+ * completes, it is written as one line, see {@link HttpExchangeCapture}.
+ * </p>
+ *
+ * <p>The controller method is correlated with the capture through the handler method that WebFlux records in the
+ * exchange, whichever thread invokes it, e.g. once a {@code @RequestBody} is read. The capture is also bound to the
+ * thread subscribing to the filter chain, so the lines of a controller method invoked on that thread, i.e. without
+ * waiting for the request body, carry the request id in the MDC.</p>
+ *
+ * <p>The bodies are masked field by field, see {@link BodyMasker}.</p>
+ *
+ * @see HttpCaptureFilter
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnClass(name = "reactor.core.publisher.Mono")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(
+        prefix = "spring.log-utils.http-capture",
+        name = "enabled",
+        havingValue = "true"
+)
+@EnableConfigurationProperties(HttpCaptureProperties.class)
+public class HttpCaptureWebFilter implements WebFilter {
+
+    /**
+     * The exchange attribute holding the handler of the request, i.e. WebFlux's
+     * {@code HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE}.
+     */
+    static final String BEST_MATCHING_HANDLER_ATTRIBUTE =
+            "org.springframework.web.reactive.HandlerMapping.bestMatchingHandler";
+
+    private final CaptureBufferPool pool;
+    private final BodyMasker masker;
+    private final String requestIdHeader;
+
+    public HttpCaptureWebFilter(HttpCaptureProperties httpCaptureProperties) {
+        this.pool = new CaptureBufferPool(httpCaptureProperties.poolSize(), httpCaptureProperties.maxBodyBytes());
+        this.masker = new BodyMasker(PiiScanner.of(httpCaptureProperties.piiTypes()),
+                httpCaptureProperties.maskedFields(), httpCaptureProperties.unstructuredBodies());
+        this.requestIdHeader = httpCaptureProperties.requestIdHeader();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var request = exchange.getRequest();
+        var capture = new HttpExchangeCapture(request.getMethod().name(), request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() == null ? "" : "?" + request.getURI().getRawQuery()),
+                request.getHeaders().getFirst(requestIdHeader), pool, masker);
+        var capturingRequest = new CapturingRequest(request, capture.getRequestBody());
+        var capturingResponse = new CapturingResponse(exchange.getResponse(), capture.getResponseBody());
+        var captured = exchange.mutate().request(capturingRequest).response(capturingResponse).build();
+
+        return new BoundMono(chain.filter(captured), capture).doFinally(signal -> {
+            if (captured.getAttribute(BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod)
+                capture.correlate(handlerMethod.getMethod());
+            var status = capturingResponse.getStatusCode();
+            // a failed chain is turned into an error response by the exception handlers, after this filter
+            int code = status != null ? status.value() : signal == SignalType.ON_ERROR ? 500 : 200;
+            capture.complete(code, contentType(request.getHeaders()), contentType(capturingResponse.getHeaders()));
+        });
+    }
+
+    private static String contentType(HttpHeaders headers) {
+        return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+    }
+
+    private static void append(BodyCapture body, DataBuffer buffer) {
+        try (var iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext())
+                body.append(iterator.next());
+        }
+    }
+
+    /**
+     * Binds the capture to the thread while it subscribes to the chain, i.e. while a handler not reading the request
+     * body is invoked.
+     */
+    private static final class BoundMono extends Mono<Void> {
+
+        private final Mono<Void> source;
+        private final HttpExchangeCapture capture;
+
+        private BoundMono(Mono<Void> source, HttpExchangeCapture capture) {
+            this.source = source;
+            this.capture = capture;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super Void> actual) {
+            var previous = capture.bind();
+            try {
+                source.subscribe(actual);
+            } finally {
+                capture.unbind(previous);
+            }
+        }
+    }
+
+    private static final class CapturingRequest extends ServerHttpRequestDecorator {
+
+        private final BodyCapture body;
+
+        private CapturingRequest(ServerHttpRequest delegate, BodyCapture body) {
+            super(delegate);
+            this.body = body;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return super.getBody().doOnNext(buffer -> append(body, buffer));
+        }
+    }
+
+    private static final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final BodyCapture body;
+
+        private CapturingResponse(ServerHttpResponse delegate, BodyCapture body) {
+            super(delegate);
+            this.body = body;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> append(this.body, buffer)));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body)
+                    .map(part -> Flux.from(part).doOnNext(buffer -> append(this.body, buffer))));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogFormat;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.features.json.JsonRenderer;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Masker;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The HTTP exchange of one request, captured by {@link HttpCaptureFilter} or {@link HttpCaptureWebFilter} and written
+ * as one {@code stage=http} line once the response is complete.
+ * <p>
+ * While the request is dispatched, the capture is bound to the dispatching thread and its request id is put in the
+ * MDC under {@link #REQUEST_ID_KEY}, so the lines of the intercepted methods carry it. The HTTP aspects
+ * {@link #correlate correlate} the capture with the controller method they intercept once a line of its call is
+ * written; the http line names that method and is only written for such requests, i.e. for the calls actually logged
+ * by the library, according to their mode, conditions and sampling. When the controller method is invoked on another
+ * thread, e.g. by WebFlux once the request body is read, the filter correlates the capture with the handler method
+ * recorded in the exchange instead, provided every call of that method is logged: a method whose calls are sampled,
+ * conditional or only logged when slow or failed isn't correlated from another thread.
+ * </p>
+ *
+ * <p>The bodies are masked field by field before they are written, see {@link BodyMasker}.</p>
+ *
+ * <p>Example line:
+ * <pre>
+ * stage=http, method=create, class=OrderController, request=POST /orders, request-id=5f0c..., status=201,
+ * request-body={"email":"****ando***.com"}, response-body={"id":42}, time-execution=12ms
+ * </pre>
+ */
+@Slf4j
+public final class HttpExchangeCapture {
+
+    /**
+     * The MDC key of the request id while the request is dispatched.
+     */
+    public static final String REQUEST_ID_KEY = "requestId";
+
+    private static final String TEMPLATE = "stage=http, method={}, class={}, request={} {}, request-id={}, status={}, "
+            + "request-body={}, response-body={}, time-execution={}ms";
+
+    private static final ThreadLocal<HttpExchangeCapture> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The logged controller methods, bounded by the number of endpoints of the application.
+     */
+    private static final Map<Method, Handler> HANDLERS = new ConcurrentHashMap<>();
+
+    private final String httpMethod;
+    private final String uri;
+    private final String requestId;
+    private final BodyMasker masker;
+    private final long start = System.nanoTime();
+    private final BodyCapture requestBody;
+    private final BodyCapture responseBody;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private boolean correlating;
+    private volatile Handler handler;
+
+    HttpExchangeCapture(String httpMethod, String uri, String requestId, CaptureBufferPool pool, BodyMasker masker) {
+        this.httpMethod = httpMethod;
+        this.uri = uri;
+        this.requestId = requestId == null || requestId.isBlank() ? newRequestId() : requestId;
+        this.masker = masker;
+        this.requestBody = new BodyCapture(pool);
+        this.responseBody = new BodyCapture(pool);
+    }
+
+    /**
+     * Returns the callback recording that the request of the current thread, if any, is handled by the given
+     * intercepted method, to be run once a line of the call is written; only the first intercepted method, i.e. the
+     * controller method, is correlated. The method is also remembered as a logged endpoint, so that a filter can
+     * correlate its requests from any thread, see {@link #correlate(Method)}.
+     *
+     * @param method     The intercepted method
+     * @param descriptor The interception metadata of the method, {@code null} if its calls are not logged
+     * @param sampled    Whether only a sample of the calls is logged
+     * @return The callback to run when a line of the call is written, or {@code null} if there is nothing to correlate
+     */
+    public static Runnable correlate(Method method, InterceptionDescriptor descriptor, boolean sampled) {
+        var handler = HANDLERS.get(method);
+        if (descriptor == null) {
+            if (handler != null)
+                HANDLERS.remove(method);
+            return null;
+        }
+        boolean everyCallLogged = !sampled && isEveryCallLogged(descriptor);
+        if (handler == null || handler.descriptor() != descriptor || handler.everyCallLogged() != everyCallLogged) {
+            handler = new Handler(descriptor, handler == null ? MaskedFields.of(method) : handler.fields(),
+                    everyCallLogged);
+            HANDLERS.put(method, handler);
+        }
+        var capture = CURRENT.get();
+        if (capture == null || capture.correlating)
+            return null;
+        capture.correlating = true;
+        var correlated = handler;
+        return () -> {
+            if (capture.handler == null)
+                capture.handler = correlated;
+        };
+    }
+
+    /**
+     * Records that this request was handled by the given method, e.g. the handler method resolved by the framework,
+     * if it is a logged endpoint whose calls are all logged, or if a line of the call was already written. Takes
+     * precedence over the correlation of the dispatching thread.
+     *
+     * @param method The method handling the request
+     */
+    void correlate(Method method) {
+        var resolved = HANDLERS.get(method);
+        if (resolved != null && (resolved.everyCallLogged() || handler != null))
+            handler = resolved;
+    }
+
+    /**
+     * @return {@code true} if a line is written for every call, whatever its outcome and duration
+     */
+    private static boolean isEveryCallLogged(InterceptionDescriptor descriptor) {
+        var conditions = descriptor.conditions();
+        var mode = descriptor.mode();
+        return !conditions.hasCondition() && !conditions.hasUnless()
+                && (mode == LogMode.FULL || mode == LogMode.SINGLE || mode == LogMode.TREE);
+    }
+
+    BodyCapture getRequestBody() {
+        return requestBody;
+    }
+
+    BodyCapture getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * Binds this capture to the current thread until {@link #unbind} is called with the returned value.
+     *
+     * @return The capture previously bound to the thread, if any
+     */
+    HttpExchangeCapture bind() {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        MDC.put(REQUEST_ID_KEY, requestId);
+        return previous;
+    }
+
+    void unbind(HttpExchangeCapture previous) {
+        if (previous == null) {
+            CURRENT.remove();
+            MDC.remove(REQUEST_ID_KEY);
+        } else {
+            CURRENT.set(previous);
+            MDC.put(REQUEST_ID_KEY, previous.requestId);
+        }
+    }
+
+    /**
+     * Writes the http line, if the request was handled by an intercepted method, and returns the capture arrays to
+     * the pool. Only the first call has an effect.
+     *
+     * @param status              The status of the response
+     * @param requestContentType  The {@code Content-Type} of the request, may be {@code null}
+     * @param responseContentType The {@code Content-Type} of the response, may be {@code null}
+     */
+    void complete(int status, String requestContentType, String responseContentType) {
+        if (!completed.compareAndSet(false, true))
+            return;
+        var resolved = handler;
+        if (resolved == null || !log.isInfoEnabled()) {
+            requestBody.release();
+            responseBody.release();
+            return;
+        }
+        var descriptor = resolved.descriptor();
+        long timeElapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        var request = requestBody.render(requestContentType, masker, resolved.fields());
+        var response = responseBody.render(responseContentType, masker, resolved.fields());
+        if (descriptor.format() == LogFormat.JSON) {
+            log.info("{}", toJson(descriptor, status, request, response, timeElapsed));
+        } else {
+            log.info(TEMPLATE, descriptor.methodName(), descriptor.className(), httpMethod, uri, requestId, status,
+                    request, response, timeElapsed);
+        }
+    }
+
+    private String toJson(InterceptionDescriptor descriptor, int status, BodyCapture.CapturedBody request,
+                          BodyCapture.CapturedBody response, long timeElapsed) {
+        return JsonRenderer.encode(writer -> {
+            var generator = writer.generator();
+            generator.writeStartObject();
+            generator.writeStringField("stage", "http");
+            generator.writeStringField("method", descriptor.methodName());
+            generator.writeStringField("class", descriptor.className());
+            if (!descriptor.httpMapping().isEmpty())
+                generator.writeStringField("http", descriptor.httpMapping());
+            generator.writeStringField("request", httpMethod + " " + uri);
+            generator.writeStringField("requestId", requestId);
+            generator.writeNumberField("status", status);
+            generator.writeStringField("requestBody", request.toString());
+            generator.writeNumberField("requestBytes", request.size());
+            generator.writeStringField("responseBody", response.toString());
+            generator.writeNumberField("responseBytes", response.size());
+            generator.writeNumberField("timeExecutionMs", timeElapsed);
+            generator.writeEndObject();
+        });
+    }
+
+    private static String newRequestId() {
+        var random = ThreadLocalRandom.current();
+        return Long.toHexString(random.nextLong() | Long.MIN_VALUE) + Long.toHexString(random.nextLong() | Long.MIN_VALUE);
+    }
+
+    /**
+     * A logged controller method.
+     *
+     * @param descriptor      The current interception metadata of the method
+     * @param fields          The maskers of the annotated fields of its types, by property name, see
+     *                        {@link MaskedFields}
+     * @param everyCallLogged Whether a line is written for every call of the method
+     */
+    private record Handler(InterceptionDescriptor descriptor, Map<String, Masker> fields, boolean everyCallLogged) {
+    }
+}
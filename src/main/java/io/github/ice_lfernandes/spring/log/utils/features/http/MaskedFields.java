@@ -0,0 +1,46 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.ice_lfernandes.spring.log.utils.commons.HandlerTypes;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Masker;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Maskers;
+import lombok.experimental.UtilityClass;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the {@link MaskSensitiveData} fields of the types a handler method reads and writes, so that its captured
+ * bodies are masked like the objects themselves.
+ * <p>
+ * The types of the method are walked by {@link HandlerTypes}, and every annotated field is mapped to its masker by
+ * JSON property name, i.e. its {@link JsonProperty} name or its field name. The names are flattened: a property masked in one type is masked wherever it appears in the body.
+ * </p>
+ */
+@UtilityClass
+class MaskedFields {
+
+    /**
+     * @param method The handler method
+     * @return The maskers of the annotated fields of its types, by property name
+     */
+    Map<String, Masker> of(Method method) {
+        var fields = new HashMap<String, Masker>();
+        HandlerTypes.walk(method, (type, field) -> {
+            var annotation = field.getAnnotation(MaskSensitiveData.class);
+            if (annotation == null)
+                return true;
+            fields.putIfAbsent(propertyName(field), Maskers.forAnnotation(annotation));
+            return false;
+        });
+        return Map.copyOf(fields);
+    }
+
+    private String propertyName(Field field) {
+        var property = field.getAnnotation(JsonProperty.class);
+        return property == null || property.value().isEmpty() ? field.getName() : property.value();
+    }
+}
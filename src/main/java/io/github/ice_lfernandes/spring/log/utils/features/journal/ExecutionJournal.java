@@ -0,0 +1,313 @@
+package io.github.ice_lfernandes.spring.log.utils.features.journal;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.ExecutionListener;
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.commons.MethodId;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.BoundedRenderer;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import io.github.ice_lfernandes.spring.log.utils.properties.JournalProperties;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ExecutionListener} recording every intercepted execution as a compact binary entry in a memory-mapped journal.
+ * <p>
+ * The journal is a ring of fixed-size segment files, all mapped once at startup: when the current segment is full, the
+ * writer moves to the next one, overwriting the oldest. An entry holds the method's interned id, the start time, the
+ * duration, the outcome and the parameters and result (or exception), rendered within {@code max-payload-bytes} and
+ * masked as in the log lines. Payloads are rendered into a character buffer and UTF-8 encoded into a byte buffer, both
+ * owned by the calling thread and reused across entries, then copied into the mapped segment under a short lock;
+ * flushing is left to the operating system.
+ * </p>
+ *
+ * <p>Recording an entry still allocates what rendering the payloads does for a log line: the renderer's budget, the
+ * strings of the rendered and masked values, and the growth of the thread's character buffer up to its largest
+ * payload. Recording a method for the first time also allocates its definition entry.</p>
+ *
+ * <p>The journal is enabled with {@code spring.log-utils.journal.enabled=true}. To record calls in the journal only,
+ * set the level of {@link LoggingCommonsMethods}' logger above INFO: calls are then recorded without formatting any log
+ * line. Segments are decoded offline with {@link JournalReader}.</p>
+ *
+ * @see JournalFormat
+ */
+@Component
+@EnableConfigurationProperties(JournalProperties.class)
+@ConditionalOnProperty(
+        prefix = "spring.log-utils.journal",
+        name = "enabled",
+        havingValue = "true"
+)
+public class ExecutionJournal implements ExecutionListener, DisposableBean {
+
+    private final MappedByteBuffer[] segments;
+    private final int maxPayloadBytes;
+    private final RenderLimits limits;
+    private final ThreadLocal<Payload> payloads;
+
+    // keyed by the method rather than by its descriptor, rebuilt whenever the runtime overrides change
+    private final Map<MethodId, Integer> ids = new ConcurrentHashMap<>();
+    private final List<byte[]> definitions = new ArrayList<>();
+    private final LongAdder written = new LongAdder();
+
+    // guarded by this
+    private final BitSet defined = new BitSet();
+    private MappedByteBuffer segment;
+    private int current;
+    private long sequence;
+
+    public ExecutionJournal(JournalProperties journalProperties) {
+        int segmentSize = (int) journalProperties.segmentSize().toBytes();
+        // an entry always fits in an empty segment
+        this.maxPayloadBytes = Math.min(journalProperties.maxPayloadBytes(), (segmentSize - JournalFormat.HEADER_SIZE) / 4);
+        this.limits = new RenderLimits(maxPayloadBytes, RenderLimits.DEFAULT.maxElements(), RenderLimits.DEFAULT.maxDepth());
+        this.payloads = ThreadLocal.withInitial(() -> new Payload(maxPayloadBytes));
+        this.segments = map(Path.of(journalProperties.directory()), journalProperties.segments(), segmentSize);
+
+        // continue after the most recent segment left by a previous run
+        int latest = 0;
+        for (int i = 0; i < segments.length; i++) {
+            long segmentSequence = sequenceOf(segments[i]);
+            if (segmentSequence > sequence) {
+                sequence = segmentSequence;
+                latest = i;
+            }
+        }
+        this.current = latest;
+        rotate();
+        LoggingCommonsMethods.addExecutionListener(this);
+    }
+
+    @SneakyThrows
+    private static MappedByteBuffer[] map(Path directory, int count, int segmentSize) {
+        Files.createDirectories(directory);
+        var mapped = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            try (var channel = FileChannel.open(directory.resolve("segment-" + i + ".journal"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // the mapping stays valid once the channel is closed
+                mapped[i] = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            }
+        }
+        return mapped;
+    }
+
+    private static long sequenceOf(MappedByteBuffer segment) {
+        return segment.getInt(0) == JournalFormat.MAGIC ? segment.getLong(8) : 0;
+    }
+
+    @Override
+    public boolean capturesArguments() {
+        return true;
+    }
+
+    @Override
+    public void onExecution(InterceptionDescriptor descriptor, long elapsedNanos, Throwable throwable) {
+        onExecution(descriptor, elapsedNanos, throwable, null, null);
+    }
+
+    @Override
+    public void onExecution(InterceptionDescriptor descriptor, long elapsedNanos, Throwable throwable,
+                            Object[] arguments, Object result) {
+        long startMillis = System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int id = idOf(descriptor);
+        var payload = payloads.get();
+        payload.reset();
+        if (descriptor.logParameters() && arguments != null)
+            payload.parametersLength = payload.encode(arguments, limits, 0);
+        if (throwable != null)
+            payload.resultLength = payload.encodeError(throwable, maxPayloadBytes);
+        else if (descriptor.logReturn())
+            payload.resultLength = payload.encode(result, limits, maxPayloadBytes);
+
+        int length = JournalFormat.EXECUTION_OVERHEAD + payload.parametersLength + payload.resultLength;
+        synchronized (this) {
+            // rotate first: a fresh segment must start with the definitions of its entries
+            ensureCapacity(length);
+            if (!defined.get(id)) {
+                byte[] definition = definitions.get(id);
+                ensureCapacity(4 + definition.length + length);
+                int start = segment.position();
+                segment.position(start + 4).put(definition);
+                publish(start);
+                defined.set(id);
+            }
+            int start = segment.position();
+            segment.position(start + 4);
+            segment.put(JournalFormat.EXECUTION)
+                    .putInt(id)
+                    .putLong(startMillis)
+                    .putLong(elapsedNanos)
+                    .put(throwable == null ? JournalFormat.SUCCESS : JournalFormat.ERROR)
+                    .putShort((short) payload.parametersLength)
+                    .put(payload.bytes, 0, payload.parametersLength)
+                    .putShort((short) payload.resultLength)
+                    .put(payload.bytes, maxPayloadBytes, payload.resultLength);
+            publish(start);
+        }
+        written.increment();
+    }
+
+    /**
+     * @return The number of executions recorded since startup
+     */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    private int idOf(InterceptionDescriptor descriptor) {
+        var id = ids.get(descriptor.methodId());
+        return id != null ? id : ids.computeIfAbsent(descriptor.methodId(), methodId -> define(descriptor));
+    }
+
+    private synchronized int define(InterceptionDescriptor descriptor) {
+        byte[] method = descriptor.methodName().getBytes(StandardCharsets.UTF_8);
+        byte[] type = descriptor.className().getBytes(StandardCharsets.UTF_8);
+        byte[] http = descriptor.httpMapping().getBytes(StandardCharsets.UTF_8);
+        int id = definitions.size();
+        // the body of the entry, its length is written when publishing it
+        var definition = ByteBuffer.allocate(1 + 4 + 6 + method.length + type.length + http.length)
+                .put(JournalFormat.DEFINE)
+                .putInt(id)
+                .putShort((short) method.length).put(method)
+                .putShort((short) type.length).put(type)
+                .putShort((short) http.length).put(http);
+        definitions.add(definition.array());
+        return id;
+    }
+
+    private void ensureCapacity(int length) {
+        // keep room for the terminating zero length
+        if (segment.remaining() < length + 4)
+            rotate();
+    }
+
+    private void rotate() {
+        current = (current + 1) % segments.length;
+        segment = segments[current];
+        segment.clear();
+        segment.putInt(JournalFormat.MAGIC)
+                .putShort(JournalFormat.VERSION)
+                .putShort((short) 0)
+                .putLong(++sequence)
+                .putLong(System.currentTimeMillis());
+        defined.clear();
+        terminate();
+    }
+
+    private void terminate() {
+        segment.putInt(segment.position(), 0);
+    }
+
+    /**
+     * Terminates the segment after the entry written at {@code start}, then writes the entry's length in place of the
+     * previous terminator, so that a concurrent reader never sees a partially written entry.
+     */
+    private void publish(int start) {
+        terminate();
+        segment.putInt(start, segment.position() - start - 4);
+    }
+
+    @Override
+    public void destroy() {
+        LoggingCommonsMethods.removeExecutionListener(this);
+        synchronized (this) {
+            for (MappedByteBuffer mapped : segments)
+                mapped.force();
+        }
+    }
+
+    /**
+     * Rendering and encoding buffers owned by one thread: the parameters are encoded at offset {@code 0} and the
+     * result at offset {@code maxPayloadBytes}.
+     */
+    private static final class Payload {
+
+        private final StringBuilder chars = new StringBuilder();
+        private final byte[] bytes;
+        private final int maxBytes;
+        private int parametersLength;
+        private int resultLength;
+
+        private Payload(int maxBytes) {
+            this.maxBytes = maxBytes;
+            this.bytes = new byte[maxBytes * 2];
+        }
+
+        private void reset() {
+            parametersLength = 0;
+            resultLength = 0;
+        }
+
+        private int encode(Object value, RenderLimits limits, int offset) {
+            chars.setLength(0);
+            BoundedRenderer.renderTo(value, limits, chars);
+            return utf8(offset);
+        }
+
+        private int encodeError(Throwable throwable, int offset) {
+            chars.setLength(0);
+            chars.append(throwable.getClass().getName());
+            if (throwable.getMessage() != null)
+                chars.append(": ").append(throwable.getMessage());
+            return utf8(offset);
+        }
+
+        /**
+         * Encodes {@code chars} as UTF-8 at {@code offset}, dropping the characters beyond {@code maxBytes}.
+         */
+        private int utf8(int offset) {
+            int end = offset + maxBytes;
+            int position = offset;
+            for (int i = 0, length = chars.length(); i < length; i++) {
+                char c = chars.charAt(i);
+                if (c < 0x80) {
+                    if (position + 1 > end)
+                        break;
+                    bytes[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    if (position + 2 > end)
+                        break;
+                    bytes[position++] = (byte) (0xC0 | c >> 6);
+                    bytes[position++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                    if (position + 4 > end)
+                        break;
+                    int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                    bytes[position++] = (byte) (0xF0 | codePoint >> 18);
+                    bytes[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    bytes[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    bytes[position++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    if (position + 3 > end)
+                        break;
+                    // a lone surrogate is encoded as '?', like String.getBytes
+                    if (Character.isSurrogate(c))
+                        c = '?';
+                    bytes[position++] = (byte) (0xE0 | c >> 12);
+                    bytes[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    bytes[position++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            return position - offset;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.ice_lfernandes.spring.log.utils.features.journal;
+
+import io.github.ice_lfernandes.spring.log.utils.features.json.JsonRenderer;
+
+import java.time.Instant;
+
+/**
+ * An execution decoded from a journal segment by {@link JournalReader}.
+ *
+ * @param methodName    The intercepted method name
+ * @param className     The simple name of the class declaring the method
+ * @param httpMapping   The HTTP methods and path of the method, or an empty string
+ * @param startMillis   The start of the execution, in epoch milliseconds
+ * @param durationNanos The duration of the execution, in nanoseconds
+ * @param error         Whether the execution threw an exception
+ * @param parameters    The rendered parameters, or an empty string if they weren't recorded
+ * @param result        The rendered return value, or the exception of a failed execution, or an empty string
+ */
+public record JournalEntry(
+        String methodName,
+        String className,
+        String httpMapping,
+        long startMillis,
+        long durationNanos,
+        boolean error,
+        String parameters,
+        String result
+) {
+
+    /**
+     * @return The entry as a single-line JSON document
+     */
+    public String toJson() {
+        return JsonRenderer.encode(writer -> {
+            var generator = writer.generator();
+            generator.writeStartObject();
+            generator.writeStringField("timestamp", Instant.ofEpochMilli(startMillis).toString());
+            generator.writeStringField("stage", error ? "error" : "finish");
+            generator.writeStringField("method", methodName);
+            generator.writeStringField("class", className);
+            if (!httpMapping.isEmpty())
+                generator.writeStringField("http", httpMapping);
+            if (!parameters.isEmpty())
+                generator.writeStringField("parameters", parameters);
+            if (!result.isEmpty())
+                generator.writeStringField(error ? "exception" : "result", result);
+            generator.writeNumberField("timeExecutionNanos", durationNanos);
+            generator.writeEndObject();
+        });
+    }
+
+    @Override
+    public String toString() {
+        return Instant.ofEpochMilli(startMillis)
+                + " stage=" + (error ? "error" : "finish")
+                + ", method=" + methodName
+                + ", class=" + className
+                + (httpMapping.isEmpty() ? "" : ", http=" + httpMapping)
+                + (parameters.isEmpty() ? "" : ", parameters=" + parameters)
+                + (result.isEmpty() ? "" : (error ? ", exception=" : ", result=") + result)
+                + ", time-execution=" + durationNanos / 1_000_000 + "ms";
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.ice_lfernandes.spring.log.utils.features.journal;
+
+/**
+ * Binary layout of the journal segments, shared by {@link ExecutionJournal} and {@link JournalReader}.
+ * <p>
+ * A segment starts with a header: magic ({@code int}), version ({@code short}), reserved ({@code short}), sequence
+ * ({@code long}) and creation time in epoch milliseconds ({@code long}). Entries follow, each prefixed with the
+ * {@code int} length of its body, and the last entry is followed by a zero length. Integers are big-endian and strings
+ * are UTF-8, prefixed with their {@code short} length.
+ * </p>
+ * <ul>
+ *   <li>{@link #DEFINE}: method id ({@code int}), method name, class name and HTTP mapping. Written before the first
+ *   execution of the method in every segment, so that each segment can be decoded on its own.</li>
+ *   <li>{@link #EXECUTION}: method id ({@code int}), start time in epoch milliseconds ({@code long}), duration in
+ *   nanoseconds ({@code long}), outcome ({@code byte}), parameters and result, or exception for a failed call.</li>
+ * </ul>
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x4C554A31;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 24;
+
+    static final byte DEFINE = 1;
+    static final byte EXECUTION = 2;
+
+    static final byte SUCCESS = 0;
+    static final byte ERROR = 1;
+
+    /**
+     * Size of an execution entry without its payloads: length, type, id, start, duration, outcome and the lengths of
+     * both payloads.
+     */
+    static final int EXECUTION_OVERHEAD = 4 + 1 + 4 + 8 + 8 + 1 + 2 + 2;
+
+    private JournalFormat() {
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.ice_lfernandes.spring.log.utils.features.journal;
+
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Decodes the segments written by {@link ExecutionJournal}, offline or while the application is running.
+ * <p>
+ * Segments are read in the order they were written, oldest first. Each segment is decoded on its own and reading
+ * stops at its first zero length, so a segment being written is read up to its last complete entry.
+ * </p>
+ *
+ * <p>Example usage, printing a journal as JSON lines, or as text with {@code --text}:
+ * <pre>
+ * java -cp app.jar io.github.ice_lfernandes.spring.log.utils.features.journal.JournalReader log-utils-journal
+ * </pre>
+ */
+@UtilityClass
+public class JournalReader {
+
+    /**
+     * Prints every execution of the journal in the given directory.
+     *
+     * @param args The journal directory, optionally followed by {@code --text}
+     */
+    public void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: JournalReader <directory> [--text]");
+            System.exit(1);
+        }
+        boolean text = args.length > 1 && "--text".equals(args[1]);
+        readAll(Path.of(args[0]), entry -> System.out.println(text ? entry.toString() : entry.toJson()));
+    }
+
+    /**
+     * @param directory The journal directory
+     * @return The segments of the journal, oldest first; segments never written are left out
+     */
+    @SneakyThrows
+    public List<Path> segments(Path directory) {
+        Map<Path, Long> sequences = new HashMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".journal"))
+                    .forEach(file -> {
+                        long sequence = sequenceOf(file);
+                        if (sequence > 0)
+                            sequences.put(file, sequence);
+                    });
+        }
+        return sequences.keySet().stream()
+                .sorted(Comparator.comparing(sequences::get))
+                .toList();
+    }
+
+    /**
+     * Decodes every segment of a journal, oldest first.
+     *
+     * @param directory The journal directory
+     * @param consumer  Receives the executions in the order they were recorded
+     */
+    public void readAll(Path directory, Consumer<JournalEntry> consumer) {
+        for (Path segment : segments(directory))
+            read(segment, consumer);
+    }
+
+    /**
+     * Decodes one segment.
+     *
+     * @param segment  The segment file
+     * @param consumer Receives the executions in the order they were recorded
+     */
+    @SneakyThrows
+    public void read(Path segment, Consumer<JournalEntry> consumer) {
+        ByteBuffer buffer;
+        try (var channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < JournalFormat.HEADER_SIZE || buffer.getInt() != JournalFormat.MAGIC)
+            return;
+        if (buffer.getShort() != JournalFormat.VERSION)
+            throw new IllegalStateException("Unsupported journal version in " + segment);
+        buffer.position(JournalFormat.HEADER_SIZE);
+
+        Map<Integer, String[]> methods = new HashMap<>();
+        while (buffer.remaining() >= 4) {
+            int length = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining())
+                break;
+            int end = buffer.position() + length;
+            byte type = buffer.get();
+            int id = buffer.getInt();
+            if (type == JournalFormat.DEFINE) {
+                methods.put(id, new String[]{string(buffer), string(buffer), string(buffer)});
+            } else if (type == JournalFormat.EXECUTION) {
+                long startMillis = buffer.getLong();
+                long durationNanos = buffer.getLong();
+                boolean error = buffer.get() == JournalFormat.ERROR;
+                String parameters = string(buffer);
+                String result = string(buffer);
+                String[] method = methods.getOrDefault(id, new String[]{"#" + id, "", ""});
+                consumer.accept(new JournalEntry(method[0], method[1], method[2],
+                        startMillis, durationNanos, error, parameters, result));
+            }
+            // skips entry types added by later versions
+            buffer.position(end);
+        }
+    }
+
+    private long sequenceOf(Path file) {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var header = ByteBuffer.allocate(JournalFormat.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // reads the whole header
+            }
+            header.flip();
+            return header.remaining() == JournalFormat.HEADER_SIZE && header.getInt(0) == JournalFormat.MAGIC
+                    ? header.getLong(8)
+                    : 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,357 @@
+package io.github.ice_lfernandes.spring.log.utils.features.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.MaskPlan;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Masker;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Maskers;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.BoundedRenderer;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.ValueWalker;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Streams log records as JSON through a {@link JsonGenerator} reused by each thread.
+ * <p>
+ * Every thread formatting records owns a generator writing into a reusable buffer, so a record is encoded without
+ * building an intermediate {@code String} per logged object: {@link LogMask} fields are masked into a reusable
+ * character buffer and written straight to the generator. Values are written within a {@link RenderLimits} budget:
+ * collections, maps and arrays beyond {@code maxElements} end with a {@code "...(N more)"} element, containers nested
+ * deeper than {@code maxDepth} are written as {@code "[...]"} or {@code "{...}"}, an object containing itself is
+ * written as {@code "(cycle)"} where it recurs and strings are cut after {@code maxChars} characters. Containers are
+ * traversed by the {@link ValueWalker} shared with {@link BoundedRenderer}.
+ * </p>
+ */
+@UtilityClass
+public class JsonRenderer {
+
+    private final JsonFactory FACTORY = new JsonFactory()
+            .setRootValueSeparator(null)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final ThreadLocal<Context> CONTEXTS = ThreadLocal.withInitial(Context::new);
+
+    /**
+     * Writes the content of a JSON document.
+     */
+    @FunctionalInterface
+    public interface Content {
+
+        /**
+         * @param writer The writer of the current thread
+         */
+        void writeTo(ValueWriter writer) throws IOException;
+    }
+
+    /**
+     * Encodes a JSON document with the current thread's generator.
+     *
+     * @param content The content of the document
+     * @return The encoded document
+     */
+    public String encode(Content content) {
+        Context shared = CONTEXTS.get();
+        // a value's toString() is itself logging in JSON: use a throwaway context rather than corrupt this one
+        Context context = shared.busy ? new Context() : shared;
+        context.busy = true;
+        try {
+            content.writeTo(context.writer);
+            return context.take();
+        } catch (Exception | Error e) {
+            // the generator may be left in the middle of a document; a throwaway context is simply dropped
+            if (context == shared)
+                CONTEXTS.remove();
+            throw rethrow(e);
+        } finally {
+            context.busy = false;
+        }
+    }
+
+    /**
+     * Wraps {@code value} so that it is encoded as JSON only when its {@code toString()} is called. The encoding is
+     * computed once and reused, and is copied as is when the wrapper is written by a {@link ValueWriter}.
+     *
+     * @param value  The value to encode
+     * @param limits The budget
+     * @return The lazily encoded value
+     */
+    public Object lazy(Object value, RenderLimits limits) {
+        return value instanceof Fragment ? value : new Fragment(value, limits);
+    }
+
+    /**
+     * Encodes a value returned by {@link #lazy(Object, RenderLimits)} now, so that writing it within another document
+     * copies the cached encoding instead of encoding it with a throwaway generator.
+     *
+     * @param value Any value
+     */
+    public void prepare(Object value) {
+        if (value instanceof Fragment fragment)
+            fragment.toString();
+    }
+
+    @SneakyThrows
+    private RuntimeException rethrow(Throwable throwable) {
+        throw throwable;
+    }
+
+    /**
+     * Writes values to a thread-confined {@link JsonGenerator}.
+     */
+    public static final class ValueWriter extends ValueWalker {
+
+        private final JsonGenerator generator;
+        private final StringBuilder scratch = new StringBuilder();
+        private char[] chars = new char[256];
+        private RenderLimits limits = RenderLimits.DEFAULT;
+
+        private ValueWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        /**
+         * @return The underlying generator, to write the structure of the document
+         */
+        public JsonGenerator generator() {
+            return generator;
+        }
+
+        /**
+         * Writes a field and its value.
+         *
+         * @param name   The field name
+         * @param value  The value
+         * @param limits The budget of the value
+         */
+        @SneakyThrows
+        public void writeField(String name, Object value, RenderLimits limits) {
+            generator.writeFieldName(name);
+            writeValue(value, limits);
+        }
+
+        /**
+         * Writes a value within {@code limits}.
+         *
+         * @param value  The value
+         * @param limits The budget
+         */
+        public void writeValue(Object value, RenderLimits limits) {
+            this.limits = limits;
+            write(value, 0);
+        }
+
+        @Override
+        protected RenderLimits limits() {
+            return limits;
+        }
+
+        @Override
+        @SneakyThrows
+        protected void write(Object value, int depth) {
+            if (value == null)
+                generator.writeNull();
+            else if (value instanceof Fragment fragment)
+                generator.writeRawValue(fragment.toString());
+            else if (value instanceof CharSequence sequence)
+                writeString(sequence);
+            else if (value instanceof Boolean bool)
+                generator.writeBoolean(bool);
+            else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+                generator.writeNumber(((Number) value).longValue());
+            else if (value instanceof Double number)
+                generator.writeNumber(number);
+            else if (value instanceof Float number)
+                generator.writeNumber(number);
+            else if (value instanceof BigDecimal number)
+                generator.writeNumber(number);
+            else if (value instanceof BigInteger number)
+                generator.writeNumber(number);
+            else if (value instanceof Enum<?> constant)
+                writeString(constant.name());
+            else if (value instanceof LogMask)
+                writeMasked(value, depth);
+            else if (!walkContainer(value, depth))
+                writeString(String.valueOf(value));
+        }
+
+        @SneakyThrows
+        private void writeMasked(Object value, int depth) {
+            if (depth >= limits.maxDepth()) {
+                writeText("{...}");
+                return;
+            }
+            if (!enter(value)) {
+                writeText(CYCLE);
+                return;
+            }
+            try {
+                generator.writeStartObject();
+                MaskPlan.of(value.getClass()).visit(value, (name, fieldValue, masker) -> writeMaskedField(name, fieldValue, masker, depth));
+                generator.writeEndObject();
+            } finally {
+                exit(value);
+            }
+        }
+
+        @SneakyThrows
+        private void writeMaskedField(String name, Object value, Masker masker, int depth) {
+            generator.writeFieldName(name);
+            if (masker == null || value == null) {
+                write(value, depth + 1);
+                return;
+            }
+            scratch.setLength(0);
+            Maskers.appendMasked(value, masker, scratch);
+            writeString(scratch);
+        }
+
+        @Override
+        @SneakyThrows
+        protected void writeText(String text) {
+            // markers are not values: they are written whole, whatever maxChars
+            generator.writeString(text);
+        }
+
+        @Override
+        @SneakyThrows
+        protected void startContainer(boolean entries) {
+            if (entries)
+                generator.writeStartObject();
+            else
+                generator.writeStartArray();
+        }
+
+        @Override
+        @SneakyThrows
+        protected void endContainer(boolean entries) {
+            if (entries)
+                generator.writeEndObject();
+            else
+                generator.writeEndArray();
+        }
+
+        @Override
+        @SneakyThrows
+        protected void writeKey(Object key, int depth) {
+            generator.writeFieldName(String.valueOf(key));
+        }
+
+        @Override
+        @SneakyThrows
+        protected void writeMore(int more, boolean entries) {
+            if (entries)
+                generator.writeStringField("...", "(" + more + " more)");
+            else
+                writeText("...(" + more + " more)");
+        }
+
+        @SneakyThrows
+        private void writeString(CharSequence value) {
+            int length = value.length();
+            boolean truncated = length > limits.maxChars();
+            if (truncated)
+                length = limits.maxChars();
+            int total = truncated ? length + BoundedRenderer.TRUNCATED.length() : length;
+            if (chars.length < total)
+                chars = new char[Math.max(total, chars.length * 2)];
+            if (value instanceof String string)
+                string.getChars(0, length, chars, 0);
+            else if (value instanceof StringBuilder builder)
+                builder.getChars(0, length, chars, 0);
+            else
+                for (int i = 0; i < length; i++)
+                    chars[i] = value.charAt(i);
+            if (truncated)
+                BoundedRenderer.TRUNCATED.getChars(0, BoundedRenderer.TRUNCATED.length(), chars, length);
+            generator.writeString(chars, 0, total);
+        }
+    }
+
+    /**
+     * Generator and buffer owned by one thread.
+     */
+    private static final class Context {
+
+        private final BufferWriter buffer = new BufferWriter();
+        private final ValueWriter writer = new ValueWriter(createGenerator(buffer));
+        private boolean busy;
+
+        @SneakyThrows
+        private static JsonGenerator createGenerator(Writer out) {
+            return FACTORY.createGenerator(out);
+        }
+
+        @SneakyThrows
+        private String take() {
+            writer.generator().flush();
+            return buffer.take();
+        }
+    }
+
+    /**
+     * Unsynchronized, reusable {@link Writer} into a {@link StringBuilder}.
+     */
+    private static final class BufferWriter extends Writer {
+
+        private final StringBuilder buffer = new StringBuilder(512);
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            buffer.append(string, offset, offset + length);
+        }
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // reused
+        }
+
+        private String take() {
+            String content = buffer.toString();
+            buffer.setLength(0);
+            if (buffer.capacity() > 64 * 1024)
+                // don't keep the buffer of an exceptionally large record for the thread's lifetime
+                buffer.trimToSize();
+            return content;
+        }
+    }
+
+    /**
+     * Lazily encoded value, cached once encoded.
+     */
+    private static final class Fragment {
+
+        private final Object value;
+        private final RenderLimits limits;
+        private String encoded;
+
+        private Fragment(Object value, RenderLimits limits) {
+            this.value = value;
+            this.limits = limits;
+        }
+
+        @Override
+        public String toString() {
+            String result = encoded;
+            if (result == null)
+                encoded = result = encode(writer -> writer.writeValue(value, limits));
+            return result;
+        }
+    }
+}
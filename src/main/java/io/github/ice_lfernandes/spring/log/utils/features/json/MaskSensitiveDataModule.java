@@ -0,0 +1,177 @@
+package io.github.ice_lfernandes.spring.log.utils.features.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Masker;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Maskers;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Jackson {@link com.fasterxml.jackson.databind.Module} masking the properties annotated with
+ * {@link MaskSensitiveData} while they are serialized.
+ * <p>
+ * A {@link BeanSerializerModifier} replaces the writer of every annotated property when Jackson builds the bean
+ * serializer of a type, so the {@link Masker} of each property is resolved once and cached along with Jackson's
+ * serializer. The values are masked the same way as by {@code LogMask.mask}: values of the types of
+ * {@code LogMask.classesMaskEnabled} are written as masked strings, other values are serialized as usual.
+ * </p>
+ *
+ * <p>Spring Boot registers the module in its {@code ObjectMapper} when
+ * {@code spring.log-utils.jackson.mask-sensitive-data=true}. As that {@code ObjectMapper} also writes HTTP responses,
+ * the module is disabled by default; it can also be registered on a dedicated mapper:
+ * <pre>
+ * ObjectMapper logMapper = new ObjectMapper().registerModule(new MaskSensitiveDataModule());
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(
+        prefix = "spring.log-utils.jackson",
+        name = "mask-sensitive-data",
+        havingValue = "true"
+)
+public class MaskSensitiveDataModule extends SimpleModule {
+
+    public MaskSensitiveDataModule() {
+        super(MaskSensitiveDataModule.class.getSimpleName());
+        setSerializerModifier(new MaskingSerializerModifier());
+    }
+
+    private static final class MaskingSerializerModifier extends BeanSerializerModifier {
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                         List<BeanPropertyWriter> beanProperties) {
+            for (int i = 0; i < beanProperties.size(); i++) {
+                BeanPropertyWriter writer = beanProperties.get(i);
+                MaskSensitiveData annotation = findAnnotation(beanDesc, writer);
+                if (annotation != null)
+                    beanProperties.set(i, new MaskingPropertyWriter(writer, Maskers.forAnnotation(annotation)));
+            }
+            return beanProperties;
+        }
+
+        private static MaskSensitiveData findAnnotation(BeanDescription beanDesc, BeanPropertyWriter writer) {
+            MaskSensitiveData annotation = writer.getAnnotation(MaskSensitiveData.class);
+            if (annotation != null)
+                return annotation;
+            // Jackson doesn't merge the annotations of a record's fields into its accessors
+            Field field = ReflectionUtils.findField(beanDesc.getBeanClass(), writer.getMember().getName());
+            return field == null ? null : field.getAnnotation(MaskSensitiveData.class);
+        }
+    }
+
+    private static final class MaskingPropertyWriter extends BeanPropertyWriter {
+
+        private final transient Masker masker;
+
+        private MaskingPropertyWriter(BeanPropertyWriter base, Masker masker) {
+            super(base);
+            this.masker = masker;
+        }
+
+        private MaskingPropertyWriter(MaskingPropertyWriter base, PropertyName name) {
+            super(base, name);
+            this.masker = base.masker;
+        }
+
+        @Override
+        protected BeanPropertyWriter _new(PropertyName newName) {
+            return new MaskingPropertyWriter(this, newName);
+        }
+
+        /*
+         * Like the writers of Jackson, which read the property once: the value read to decide whether it is masked is
+         * also the one written, so its getter is called once.
+         */
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            Object value = get(bean);
+            if (value == null) {
+                if (_suppressableValue != null && prov.includeFilterSuppressNulls(_suppressableValue))
+                    return;
+                if (_nullSerializer != null) {
+                    gen.writeFieldName(_name);
+                    _nullSerializer.serialize(null, gen, prov);
+                }
+                return;
+            }
+            if (Maskers.isMaskable(value)) {
+                gen.writeFieldName(_name);
+                gen.writeString(mask(value));
+                return;
+            }
+            JsonSerializer<Object> serializer = serializerFor(value, prov);
+            if (isSuppressed(serializer, value, prov)
+                    || value == bean && _handleSelfReference(bean, gen, prov, serializer))
+                return;
+            gen.writeFieldName(_name);
+            write(serializer, value, gen, prov);
+        }
+
+        @Override
+        public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            Object value = get(bean);
+            if (value == null) {
+                if (_nullSerializer != null)
+                    _nullSerializer.serialize(null, gen, prov);
+                else
+                    gen.writeNull();
+                return;
+            }
+            if (Maskers.isMaskable(value)) {
+                gen.writeString(mask(value));
+                return;
+            }
+            JsonSerializer<Object> serializer = serializerFor(value, prov);
+            if (isSuppressed(serializer, value, prov)) {
+                serializeAsPlaceholder(bean, gen, prov);
+                return;
+            }
+            if (value == bean && _handleSelfReference(bean, gen, prov, serializer))
+                return;
+            write(serializer, value, gen, prov);
+        }
+
+        private JsonSerializer<Object> serializerFor(Object value, SerializerProvider prov) throws JsonMappingException {
+            if (_serializer != null)
+                return _serializer;
+            JsonSerializer<Object> serializer = _dynamicSerializers.serializerFor(value.getClass());
+            return serializer != null ? serializer : _findAndAddDynamic(_dynamicSerializers, value.getClass(), prov);
+        }
+
+        private boolean isSuppressed(JsonSerializer<Object> serializer, Object value, SerializerProvider prov) {
+            if (_suppressableValue == null)
+                return false;
+            return MARKER_FOR_EMPTY == _suppressableValue
+                    ? serializer.isEmpty(prov, value) : _suppressableValue.equals(value);
+        }
+
+        private void write(JsonSerializer<Object> serializer, Object value, JsonGenerator gen, SerializerProvider prov)
+                throws IOException {
+            if (_typeSerializer == null)
+                serializer.serialize(value, gen, prov);
+            else
+                serializer.serializeWithType(value, gen, prov, _typeSerializer);
+        }
+
+        private String mask(Object value) {
+            String text = value.toString();
+            return text.isBlank() ? "" : Maskers.mask(text, masker);
+        }
+    }
+}
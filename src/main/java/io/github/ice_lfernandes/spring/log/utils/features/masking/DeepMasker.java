@@ -0,0 +1,366 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.BoundedRenderer;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.CharBudget;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.ValueWalker;
+import lombok.SneakyThrows;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link ObjectMasker} walking a whole object graph.
+ * <p>
+ * Unlike {@link MaskPlan}, which renders the declared fields of one class, this masker also renders inherited fields
+ * and descends into nested objects: {@link LogMask} objects and objects with {@link MaskSensitiveData} fields are
+ * rendered field by field as <code>SimpleName{field=value}</code>, collections and arrays as {@code [a, b]} and maps as
+ * {@code {k=v}}, their keys rendered like their values. An annotated collection, map or array has its elements, and a
+ * map its keys, masked with the field's masker. Byte arrays are summarized as by {@link BoundedRenderer}. Other objects
+ * are rendered through their {@code toString()}.
+ * </p>
+ *
+ * <p>The walk is iterative, with an explicit stack, so deep graphs can't overflow the thread stack, and bounded by a
+ * {@link RenderLimits} budget, as in {@link BoundedRenderer}: only the first {@code maxElements} elements of a
+ * container are rendered, containers and objects nested deeper than {@code maxDepth} are rendered as {@code [...]} or
+ * <code>{...}</code>, and the output is cut after {@code maxChars} characters, which stops the walk. An object
+ * referencing one of its ancestors in the graph is rendered as {@value ValueWalker#CYCLE}.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * DeepMasker.DEFAULT.mask(order); // "Order{id=1, customer=Customer{email=******des***.com}, items=[...]}"
+ * </pre>
+ */
+public final class DeepMasker implements ObjectMasker {
+
+    /**
+     * Masker with the {@link RenderLimits#DEFAULT} budget.
+     */
+    public static final DeepMasker DEFAULT = new DeepMasker(RenderLimits.DEFAULT);
+
+    private static final ClassValue<ClassPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected ClassPlan computeValue(Class<?> type) {
+            return ClassPlan.of(type);
+        }
+    };
+
+    private final RenderLimits limits;
+
+    /**
+     * @param limits The budget of every rendering
+     */
+    public DeepMasker(RenderLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void maskTo(Object object, StringBuilder out) {
+        new Walk(out, limits).run(object);
+    }
+
+    /**
+     * State of one rendering: the output budget, the stack of containers being rendered and the identity set of the
+     * objects on the current path.
+     */
+    private static final class Walk {
+
+        private final CharBudget out;
+        private final RenderLimits limits;
+        private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+        private final Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Walk(StringBuilder out, RenderLimits limits) {
+            this.out = new CharBudget(out, limits.maxChars());
+            this.limits = limits;
+        }
+
+        private void run(Object root) {
+            value(root, null, 0);
+            while (!stack.isEmpty() && !out.isExhausted()) {
+                Frame frame = stack.peek();
+                if (!frame.next(this)) {
+                    stack.pop();
+                    path.remove(frame.owner());
+                    frame.close(this);
+                }
+            }
+        }
+
+        /**
+         * Renders a scalar immediately, or pushes the frame rendering a container or an object.
+         */
+        private void value(Object value, Masker masker, int depth) {
+            if (value == null) {
+                append("null");
+            } else if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                    || value instanceof Character || value instanceof Enum<?>) {
+                scalar(value, masker);
+            } else if (value instanceof byte[] bytes) {
+                append(ValueWalker.describe(bytes));
+            } else if (path.contains(value)) {
+                append(ValueWalker.CYCLE);
+            } else if (value instanceof Collection<?> collection) {
+                push(new ElementsFrame(value, collection.iterator(), collection.size(), masker, depth), "[", "[...]", depth);
+            } else if (value instanceof Map<?, ?> map) {
+                push(new EntriesFrame(map, masker, depth), "{", "{...}", depth);
+            } else if (value.getClass().isArray()) {
+                push(new ElementsFrame(value, arrayIterator(value), Array.getLength(value), masker, depth), "[", "[...]", depth);
+            } else {
+                ClassPlan plan = PLANS.get(value.getClass());
+                if (plan.walkable())
+                    push(new FieldsFrame(value, plan, depth), plan.prefix(), plan.prefix() + "...}", depth);
+                else
+                    scalar(value, masker);
+            }
+        }
+
+        private void scalar(Object value, Masker masker) {
+            if (masker == null || !Maskers.isMaskable(value)) {
+                append(String.valueOf(value));
+                return;
+            }
+            StringBuilder masked = new StringBuilder();
+            Maskers.appendMasked(value, masker, masked);
+            append(masked);
+        }
+
+        private void push(Frame frame, String open, String elided, int depth) {
+            if (depth >= limits.maxDepth()) {
+                append(elided);
+                return;
+            }
+            append(open);
+            path.add(frame.owner());
+            stack.push(frame);
+        }
+
+        private void append(CharSequence value) {
+            out.append(value);
+        }
+    }
+
+    /**
+     * Container or object being rendered, one child at a time.
+     */
+    private interface Frame {
+
+        /**
+         * @return The object rendered by this frame, tracked for cycle detection
+         */
+        Object owner();
+
+        /**
+         * Renders the next child, or returns {@code false} when there is none left.
+         */
+        boolean next(Walk walk);
+
+        /**
+         * Renders the end of the container or object.
+         */
+        void close(Walk walk);
+    }
+
+    private static final class ElementsFrame implements Frame {
+
+        private final Object owner;
+        private final Iterator<?> elements;
+        private final int size;
+        private final Masker masker;
+        private final int depth;
+        private int rendered;
+
+        private ElementsFrame(Object owner, Iterator<?> elements, int size, Masker masker, int depth) {
+            this.owner = owner;
+            this.elements = elements;
+            this.size = size;
+            this.masker = masker;
+            this.depth = depth;
+        }
+
+        @Override
+        public Object owner() {
+            return owner;
+        }
+
+        @Override
+        public boolean next(Walk walk) {
+            if (rendered == walk.limits.maxElements() || !elements.hasNext())
+                return false;
+            if (rendered++ > 0)
+                walk.append(", ");
+            walk.value(elements.next(), masker, depth + 1);
+            return true;
+        }
+
+        @Override
+        public void close(Walk walk) {
+            if (rendered < size)
+                walk.append((rendered > 0 ? ", " : "") + "...(" + (size - rendered) + " more)");
+            walk.append("]");
+        }
+    }
+
+    private static final class EntriesFrame implements Frame {
+
+        private final Map<?, ?> owner;
+        private final Iterator<? extends Map.Entry<?, ?>> entries;
+        private final Masker masker;
+        private final int depth;
+        private int rendered;
+        // the entry whose key was rendered, its value is rendered next
+        private Map.Entry<?, ?> entry;
+
+        private EntriesFrame(Map<?, ?> owner, Masker masker, int depth) {
+            this.owner = owner;
+            this.entries = owner.entrySet().iterator();
+            this.masker = masker;
+            this.depth = depth;
+        }
+
+        @Override
+        public Object owner() {
+            return owner;
+        }
+
+        @Override
+        public boolean next(Walk walk) {
+            if (entry != null) {
+                walk.append("=");
+                walk.value(entry.getValue(), masker, depth + 1);
+                entry = null;
+                return true;
+            }
+            if (rendered == walk.limits.maxElements() || !entries.hasNext())
+                return false;
+            entry = entries.next();
+            if (rendered++ > 0)
+                walk.append(", ");
+            // a key is walked like a value: it may be a container or an object, and is pushed before its value
+            walk.value(entry.getKey(), masker, depth + 1);
+            return true;
+        }
+
+        @Override
+        public void close(Walk walk) {
+            if (rendered < owner.size())
+                walk.append((rendered > 0 ? ", " : "") + "...(" + (owner.size() - rendered) + " more)");
+            walk.append("}");
+        }
+    }
+
+    private static final class FieldsFrame implements Frame {
+
+        private final Object owner;
+        private final ClassPlan plan;
+        private final int depth;
+        private int index;
+
+        private FieldsFrame(Object owner, ClassPlan plan, int depth) {
+            this.owner = owner;
+            this.plan = plan;
+            this.depth = depth;
+        }
+
+        @Override
+        public Object owner() {
+            return owner;
+        }
+
+        @Override
+        @SneakyThrows
+        public boolean next(Walk walk) {
+            if (index == plan.getters().length)
+                return false;
+            walk.append(plan.labels()[index]);
+            Object value = plan.getters()[index].invokeExact(owner);
+            walk.value(value, plan.maskers()[index], depth + 1);
+            index++;
+            return true;
+        }
+
+        @Override
+        public void close(Walk walk) {
+            walk.append("}");
+        }
+    }
+
+    private static Iterator<Object> arrayIterator(Object array) {
+        int length = Array.getLength(array);
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < length;
+            }
+
+            @Override
+            public Object next() {
+                return Array.get(array, index++);
+            }
+        };
+    }
+
+    /**
+     * Instance fields of a class and of its superclasses, superclass fields first, with their labels, getters and
+     * maskers. A class is walked field by field when it implements {@link LogMask} or has a masked field.
+     */
+    private record ClassPlan(boolean walkable, String prefix, String[] labels, MethodHandle[] getters, Masker[] maskers) {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+        private static ClassPlan of(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            collectFields(type, fields);
+            boolean walkable = LogMask.class.isAssignableFrom(type)
+                    || fields.stream().anyMatch(field -> field.isAnnotationPresent(MaskSensitiveData.class));
+            if (!walkable)
+                return new ClassPlan(false, null, null, null, null);
+
+            String[] labels = new String[fields.size()];
+            MethodHandle[] getters = new MethodHandle[fields.size()];
+            Masker[] maskers = new Masker[fields.size()];
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                MaskSensitiveData annotation = field.getAnnotation(MaskSensitiveData.class);
+                labels[i] = (i == 0 ? "" : ", ") + field.getName() + "=";
+                getters[i] = getter(field);
+                maskers[i] = annotation == null ? null : Maskers.forAnnotation(annotation);
+            }
+            return new ClassPlan(true, type.getSimpleName() + "{", labels, getters, maskers);
+        }
+
+        private static void collectFields(Class<?> type, List<Field> fields) {
+            // JDK classes are rendered through their toString(): their fields are neither accessible nor meaningful
+            if (type == null || type == Object.class || type.getName().startsWith("java."))
+                return;
+            collectFields(type.getSuperclass(), fields);
+            for (Field field : type.getDeclaredFields())
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                    fields.add(field);
+        }
+
+        @SneakyThrows
+        private static MethodHandle getter(Field field) {
+            ReflectionUtils.makeAccessible(field);
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        }
+    }
+}
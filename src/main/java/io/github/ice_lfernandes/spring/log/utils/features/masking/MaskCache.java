@@ -0,0 +1,121 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.github.ice_lfernandes.spring.log.utils.properties.MaskCacheProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+
+/**
+ * Bounded cache of masked values, so values logged over and over, e.g. the same service-account emails or merchant
+ * documents, are masked once.
+ * <p>
+ * Entries are keyed by the {@link Masker} and a 64-bit SipHash-2-4 of the value, keyed with a random 128-bit key drawn
+ * at startup: the cache holds no plaintext, only the masked values that are logged anyway, and the hashes can't be
+ * matched against hashes computed in another process. A lookup hashes the value once and allocates its key; with the
+ * default {@code maximum-size}, the odds of a lookup matching the entry of another value are about 1 in 10^15. The
+ * cache keeps at most {@code maximum-size} entries, each one for {@code expire-after-write}, and values longer than
+ * {@code max-value-length} characters are masked without being cached. Hits, misses and evictions are available from
+ * {@link #getStats()}, and are published by {@code ExecutionMetricsRecorder} as Micrometer {@code cache.*} meters
+ * tagged {@code cache=log.utils.mask}.
+ * </p>
+ *
+ * <p>The cache is used by {@link Maskers}, so it applies to {@code LogMask} objects, generated maskers,
+ * {@code LoggingCommonsMethods.mask}, JSON output and {@code PiiScanner}.</p>
+ *
+ * <p>Example configuration:
+ * <pre>
+ * spring.log-utils.mask-cache.enabled=true
+ * spring.log-utils.mask-cache.maximum-size=10000
+ * spring.log-utils.mask-cache.expire-after-write=10m
+ * spring.log-utils.mask-cache.max-value-length=256
+ * </pre>
+ */
+@Component
+@EnableConfigurationProperties(MaskCacheProperties.class)
+@ConditionalOnProperty(
+        prefix = "spring.log-utils.mask-cache",
+        name = "enabled",
+        havingValue = "true"
+)
+public class MaskCache implements InitializingBean, DisposableBean {
+
+    private final int maxValueLength;
+    private final HashFunction hashFunction;
+    private final Cache<Key, String> masked;
+
+    public MaskCache(MaskCacheProperties maskCacheProperties) {
+        this.maxValueLength = maskCacheProperties.maxValueLength();
+        var random = new SecureRandom();
+        this.hashFunction = Hashing.sipHash24(random.nextLong(), random.nextLong());
+        this.masked = CacheBuilder.newBuilder()
+                .maximumSize(maskCacheProperties.maximumSize())
+                .expireAfterWrite(maskCacheProperties.expireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Makes this instance the one used by {@link Maskers}.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Maskers.setCache(this);
+    }
+
+    @Override
+    public void destroy() {
+        Maskers.setCache(null);
+    }
+
+    /**
+     * Returns the masked representation of {@code value}, masking it on a miss only.
+     *
+     * @param value  The value to mask
+     * @param masker The masker to apply
+     * @return The masked value
+     */
+    public String mask(CharSequence value, Masker masker) {
+        if (value.length() > maxValueLength)
+            return masker.mask(value);
+        var key = new Key(masker, hashFunction.hashUnencodedChars(value).asLong());
+        String result = masked.getIfPresent(key);
+        if (result == null) {
+            result = masker.mask(value);
+            masked.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return The hit, miss and eviction counts of the cache
+     */
+    public CacheStats getStats() {
+        return masked.stats();
+    }
+
+    /**
+     * @return The number of cached values
+     */
+    public long getSize() {
+        return masked.size();
+    }
+
+    /**
+     * @return The underlying cache, e.g. to bind its statistics to a meter registry
+     */
+    public Cache<?, String> getCache() {
+        return masked;
+    }
+
+    private record Key(Masker masker, long hash) {
+    }
+}
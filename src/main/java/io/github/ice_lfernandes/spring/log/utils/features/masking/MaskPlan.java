@@ -0,0 +1,118 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import lombok.SneakyThrows;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Reflection-based {@link ObjectMasker} resolved once per class.
+ * <p>
+ * The plan is built the first time a class is masked and kept in a {@link ClassValue}: declared fields are turned into
+ * {@link MethodHandle} getters, the {@link Masker} of every {@link MaskSensitiveData} field is resolved and the
+ * <code>SimpleName{</code> prefix and <code>", field="</code> labels are precomputed. Rendering an instance is then a loop
+ * over the prepared fields, without any reflection lookup.
+ * </p>
+ */
+public final class MaskPlan implements ObjectMasker {
+
+    private static final ClassValue<MaskPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected MaskPlan computeValue(Class<?> type) {
+            return new MaskPlan(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final String prefix;
+    private final FieldPlan[] fields;
+
+    private MaskPlan(Class<?> type) {
+        this.prefix = type.getSimpleName() + "{";
+        Field[] declaredFields = type.getDeclaredFields();
+        this.fields = new FieldPlan[declaredFields.length];
+        for (int i = 0; i < declaredFields.length; i++) {
+            Field field = declaredFields[i];
+            MaskSensitiveData ann = field.getAnnotation(MaskSensitiveData.class);
+            fields[i] = new FieldPlan(
+                    field.getName(),
+                    (i == 0 ? "" : ", ") + field.getName() + "=",
+                    getter(field),
+                    ann == null ? null : Maskers.forAnnotation(ann));
+        }
+    }
+
+    /**
+     * Returns the plan of {@code type}, building it on first use.
+     *
+     * @param type The class to mask
+     * @return The cached plan
+     */
+    public static MaskPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    @Override
+    @SneakyThrows
+    public void maskTo(Object object, StringBuilder out) {
+        out.append(prefix);
+        for (FieldPlan field : fields) {
+            out.append(field.label());
+            Object value = field.getter().invokeExact(object);
+            if (field.masker() == null)
+                out.append(value);
+            else
+                Maskers.appendMasked(value, field.masker(), out);
+        }
+        out.append('}');
+    }
+
+    /**
+     * Passes every field of {@code object} to {@code visitor}, in declaration order, e.g. to write them in another format
+     * than {@link #maskTo(Object, StringBuilder)}'s.
+     *
+     * @param object  The object to visit, an instance of this plan's class
+     * @param visitor The visitor receiving each field
+     */
+    @SneakyThrows
+    public void visit(Object object, FieldVisitor visitor) {
+        for (FieldPlan field : fields)
+            visitor.visit(field.name(), field.getter().invokeExact(object), field.masker());
+    }
+
+    /**
+     * Receives the fields of an object visited by {@link #visit(Object, FieldVisitor)}.
+     */
+    @FunctionalInterface
+    public interface FieldVisitor {
+
+        /**
+         * @param name   The field name
+         * @param value  The unmasked field value
+         * @param masker The masker of the field, {@code null} when it is not masked
+         */
+        void visit(String name, Object value, Masker masker);
+    }
+
+    @SneakyThrows
+    private static MethodHandle getter(Field field) {
+        ReflectionUtils.makeAccessible(field);
+        MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+        if (Modifier.isStatic(field.getModifiers()))
+            return MethodHandles.dropArguments(getter.asType(MethodType.methodType(Object.class)), 0, Object.class);
+        return getter.asType(GETTER_TYPE);
+    }
+
+    /**
+     * Prepared field: its name, the label written before the value, its getter and its masker ({@code null} when not
+     * masked).
+     */
+    private record FieldPlan(String name, String label, MethodHandle getter, Masker masker) {
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+/**
+ * Strategy that masks sensitive characters of a value.
+ * <p>
+ * Implementations write the masked form directly into a caller-supplied {@link StringBuilder}, so callers that are
+ * already assembling a log line (e.g. {@link io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask})
+ * don't need an intermediate {@link String} per masked field.
+ * </p>
+ *
+ * <p>Implementations must be stateless and thread-safe.</p>
+ *
+ * @see Maskers
+ */
+@FunctionalInterface
+public interface Masker {
+
+    /**
+     * Appends the masked representation of {@code value} to {@code out}.
+     *
+     * @param value The value to mask
+     * @param out   The builder receiving the masked value
+     */
+    void maskTo(CharSequence value, StringBuilder out);
+
+    /**
+     * Returns the masked representation of {@code value}.
+     *
+     * @param value The value to mask
+     * @return The masked value
+     */
+    default String mask(CharSequence value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        maskTo(value, sb);
+        return sb.toString();
+    }
+}
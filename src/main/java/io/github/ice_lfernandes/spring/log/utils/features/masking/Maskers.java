@@ -0,0 +1,173 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+import lombok.experimental.UtilityClass;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Factory and cache of {@link Masker} instances.
+ * <p>
+ * Every {@link MaskedType} and every {@link MaskSensitiveData#customMaskRegex()} is compiled only once. Custom regexes
+ * are cached up to 1024 of them, far more than the annotations declare, so that regexes passed at runtime can't grow
+ * the cache without bound. The built-in
+ * types {@link MaskedType#ALL}, {@link MaskedType#EMAIL}, {@link MaskedType#DOCUMENT}, {@link MaskedType#TELEPHONE},
+ * {@link MaskedType#ZIP_CODE} and {@link MaskedType#NUMBER} are served by character-scanning maskers that produce the
+ * same output as their regex without running the regex engine; the remaining types use a precompiled {@link RegexMasker}.
+ * </p>
+ *
+ * <p>When a {@link MaskCache} is enabled, the values masked through {@link #mask(CharSequence, Masker)},
+ * {@link #maskTo(CharSequence, Masker, StringBuilder)} and {@link #appendMasked(Object, Masker, StringBuilder)} are
+ * memoized.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * Maskers.forType(MaskedType.EMAIL).mask("john.doe@gmail.com"); // "**.doe***.com"
+ * </pre>
+ */
+@UtilityClass
+public class Maskers {
+
+    private final Map<MaskedType, Masker> BY_TYPE = createBuiltIns();
+
+    private final Map<String, Masker> BY_BUILT_IN_REGEX = builtInRegexes();
+
+    private final int MAX_CUSTOM_REGEXES = 1024;
+
+    private final Cache<String, Masker> BY_REGEX = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CUSTOM_REGEXES)
+            .build();
+
+    private volatile MaskCache cache;
+
+    /**
+     * Returns the masker of a predefined {@link MaskedType}.
+     *
+     * @param type The masking type
+     * @return The shared masker for the type
+     */
+    public Masker forType(MaskedType type) {
+        return BY_TYPE.get(type);
+    }
+
+    /**
+     * Returns a masker replacing each match of {@code regex} with {@code *}. The regex is compiled on first use and
+     * cached, the least recently used regexes being evicted beyond 1024 of them; regexes of the built-in
+     * {@link MaskedType}s resolve to their dedicated maskers.
+     *
+     * @param regex The regex to mask with
+     * @return The shared masker for the regex
+     */
+    public Masker forRegex(String regex) {
+        Masker masker = BY_BUILT_IN_REGEX.get(regex);
+        if (masker == null)
+            masker = BY_REGEX.getIfPresent(regex);
+        return masker != null ? masker : BY_REGEX.asMap().computeIfAbsent(regex, RegexMasker::new);
+    }
+
+    /**
+     * Resolves the masker of an annotated field. Prioritizes {@link MaskSensitiveData#customMaskRegex()} if provided
+     * and non-blank; otherwise, uses the masker of {@link MaskSensitiveData#maskedType()}.
+     *
+     * @param maskSensitiveData The annotation instance on the field
+     * @return The masker to use for the field
+     */
+    public Masker forAnnotation(MaskSensitiveData maskSensitiveData) {
+        if (nonNull(maskSensitiveData.customMaskRegex()) && !maskSensitiveData.customMaskRegex().isBlank())
+            return forRegex(maskSensitiveData.customMaskRegex());
+        return forType(maskSensitiveData.maskedType());
+    }
+
+    /**
+     * Makes {@code cache} the one memoizing the masked values.
+     *
+     * @param cache The cache, {@code null} to mask every value again
+     */
+    public void setCache(MaskCache cache) {
+        Maskers.cache = cache;
+    }
+
+    /**
+     * Returns the masked representation of {@code value}, from the {@link MaskCache} when enabled.
+     *
+     * @param value  The value to mask
+     * @param masker The masker to apply
+     * @return The masked value
+     */
+    public String mask(CharSequence value, Masker masker) {
+        MaskCache current = cache;
+        return current == null ? masker.mask(value) : current.mask(value, masker);
+    }
+
+    /**
+     * Appends the masked representation of {@code value} to {@code out}, from the {@link MaskCache} when enabled.
+     *
+     * @param value  The value to mask
+     * @param masker The masker to apply
+     * @param out    The builder receiving the masked value
+     */
+    public void maskTo(CharSequence value, Masker masker, StringBuilder out) {
+        MaskCache current = cache;
+        if (current == null)
+            masker.maskTo(value, out);
+        else
+            out.append(current.mask(value, masker));
+    }
+
+    /**
+     * Appends {@code value} to {@code out}, masked with {@code masker} when its type is one of
+     * {@link LogMask#classesMaskEnabled}. Values of other types, including {@code null}, are appended as-is, and
+     * blank values are masked to an empty string.
+     *
+     * @param value  The field value
+     * @param masker The masker of the field
+     * @param out    The builder receiving the value
+     */
+    public void appendMasked(Object value, Masker masker, StringBuilder out) {
+        if (!isMaskable(value)) {
+            out.append(value);
+            return;
+        }
+        String text = value.toString();
+        if (!text.isBlank())
+            maskTo(text, masker, out);
+    }
+
+    /**
+     * @param value A field value
+     * @return {@code true} if {@code value} is non-null and its type is one of {@link LogMask#classesMaskEnabled}
+     */
+    public boolean isMaskable(Object value) {
+        return value != null && LogMask.classesMaskEnabled.contains(value.getClass());
+    }
+
+    private Map<MaskedType, Masker> createBuiltIns() {
+        Map<MaskedType, Masker> maskers = new EnumMap<>(MaskedType.class);
+        for (MaskedType type : MaskedType.values()) {
+            maskers.put(type, switch (type) {
+                case ALL -> new ScanningMaskers.AllMasker();
+                case NUMBER -> new ScanningMaskers.NumberMasker();
+                case DOCUMENT -> new ScanningMaskers.DocumentMasker();
+                case EMAIL -> new ScanningMaskers.EmailMasker();
+                case TELEPHONE -> new ScanningMaskers.HyphenAwareMasker(MaskedType.TELEPHONE, 2);
+                case ZIP_CODE -> new ScanningMaskers.HyphenAwareMasker(MaskedType.ZIP_CODE, 3);
+                default -> new RegexMasker(type.getRegex());
+            });
+        }
+        return maskers;
+    }
+
+    private Map<String, Masker> builtInRegexes() {
+        Map<String, Masker> maskers = new HashMap<>();
+        BY_TYPE.forEach((type, masker) -> maskers.put(type.getRegex(), masker));
+        return Map.copyOf(maskers);
+    }
+}
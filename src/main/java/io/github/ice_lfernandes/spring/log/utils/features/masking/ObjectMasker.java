@@ -0,0 +1,42 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+/**
+ * Renders an object as {@code ClassName{field1=value1, field2=***masked***}}, masking the fields annotated with
+ * {@link io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData}.
+ *
+ * <p>Implementations are resolved once per class and must be stateless and thread-safe.</p>
+ *
+ * @see MaskPlan
+ */
+public interface ObjectMasker {
+
+    /**
+     * Appends the masked representation of {@code object} to {@code out}.
+     *
+     * @param object The object to render
+     * @param out    The builder receiving the masked representation
+     */
+    void maskTo(Object object, StringBuilder out);
+
+    /**
+     * Returns the class this masker was built for, checked before a masker generated at compile time is used for a
+     * class, since two classes may map to the same generated masker name.
+     *
+     * @return The masked class, or {@code null} if this masker is not specific to one class
+     */
+    default Class<?> type() {
+        return null;
+    }
+
+    /**
+     * Returns the masked representation of {@code object}.
+     *
+     * @param object The object to render
+     * @return The masked representation
+     */
+    default String mask(Object object) {
+        StringBuilder sb = new StringBuilder(64);
+        maskTo(object, sb);
+        return sb.toString();
+    }
+}
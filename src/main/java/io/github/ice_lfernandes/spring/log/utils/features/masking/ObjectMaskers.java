@@ -0,0 +1,70 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Resolves the {@link ObjectMasker} of a class.
+ * <p>
+ * When the class was compiled with {@code LogMaskProcessor} on the annotation processor path, the generated
+ * {@code <SimpleName>LogMasker} (nested classes joined with {@code _}) is used, provided its
+ * {@link ObjectMasker#type() type} is the class, as {@code Outer.User} and {@code Outer_User} map to the same name: it
+ * reads every field in straight-line code and can be fully inlined by the JIT. Otherwise, the reflection-based
+ * {@link MaskPlan} is used. The resolution happens once per class.
+ * </p>
+ *
+ * @see io.github.ice_lfernandes.spring.log.utils.processor.LogMaskProcessor
+ */
+@UtilityClass
+public class ObjectMaskers {
+
+    /**
+     * Suffix appended to the flattened simple name of a class to name its generated masker.
+     */
+    public final String GENERATED_SUFFIX = "LogMasker";
+
+    private final ClassValue<ObjectMasker> MASKERS = new ClassValue<>() {
+        @Override
+        protected ObjectMasker computeValue(Class<?> type) {
+            ObjectMasker generated = loadGenerated(type);
+            return generated != null ? generated : MaskPlan.of(type);
+        }
+    };
+
+    /**
+     * Returns the masker of {@code type}: the generated one when available, the reflection-based one otherwise.
+     *
+     * @param type The class to mask
+     * @return The cached masker
+     */
+    public ObjectMasker forClass(Class<?> type) {
+        return MASKERS.get(type);
+    }
+
+    /**
+     * Returns the binary name of the masker generated for {@code type}, e.g. {@code com.acme.Outer_UserLogMasker}
+     * for {@code com.acme.Outer.User}.
+     *
+     * @param type The masked class
+     * @return The generated masker class name
+     */
+    public String generatedMaskerName(Class<?> type) {
+        String packageName = type.getPackageName();
+        String flatName = type.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_');
+        return (packageName.isEmpty() ? "" : packageName + ".") + flatName + GENERATED_SUFFIX;
+    }
+
+    private ObjectMasker loadGenerated(Class<?> type) {
+        try {
+            Class<?> generated = Class.forName(generatedMaskerName(type), true, type.getClassLoader());
+            if (ObjectMasker.class.isAssignableFrom(generated)) {
+                var masker = (ObjectMasker) generated.getDeclaredConstructor().newInstance();
+                // another class mapping to the same name, e.g. Outer_User for Outer.User
+                if (masker.type() == type)
+                    return masker;
+            }
+        } catch (ReflectiveOperationException | LinkageError ignored) {
+            // no generated masker, fall back to reflection
+        }
+        return null;
+    }
+}
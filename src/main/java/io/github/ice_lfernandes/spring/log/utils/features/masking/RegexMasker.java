@@ -0,0 +1,39 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+import lombok.Getter;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link Masker} backed by a precompiled {@link Pattern}.
+ * <p>
+ * Every match is replaced by a single {@code *}, which yields exactly the same output as
+ * {@code value.replaceAll(regex, "*")}, but the pattern is compiled only once.
+ * </p>
+ */
+@Getter
+public final class RegexMasker implements Masker {
+
+    private final Pattern pattern;
+
+    public RegexMasker(String regex) {
+        this.pattern = Pattern.compile(regex);
+    }
+
+    @Override
+    public void maskTo(CharSequence value, StringBuilder out) {
+        Matcher matcher = pattern.matcher(value);
+        int last = 0;
+        while (matcher.find()) {
+            out.append(value, last, matcher.start()).append('*');
+            last = matcher.end();
+        }
+        out.append(value, last, value.length());
+    }
+
+    @Override
+    public String toString() {
+        return "RegexMasker{" + pattern.pattern() + "}";
+    }
+}
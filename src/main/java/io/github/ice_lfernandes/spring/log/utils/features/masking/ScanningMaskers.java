@@ -0,0 +1,182 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+
+/**
+ * Hand-written character-scanning {@link Masker} implementations for the built-in {@link MaskedType}s.
+ * <p>
+ * Each masker produces exactly the same output as {@code value.replaceAll(type.getRegex(), "*")}. The regexes use
+ * {@code .}, which works on code points and never matches a line terminator; values containing surrogates or line
+ * terminators are rare in practice, so those are delegated to the precompiled regex instead of being re-implemented.
+ * </p>
+ */
+final class ScanningMaskers {
+
+    private ScanningMaskers() {
+    }
+
+    /**
+     * Equivalent of {@link MaskedType#ALL}: every non-whitespace code point becomes a single {@code *}.
+     */
+    static final class AllMasker implements Masker {
+
+        @Override
+        public void maskTo(CharSequence value, StringBuilder out) {
+            int length = value.length();
+            for (int i = 0; i < length; ) {
+                char c = value.charAt(i);
+                if (isRegexWhitespace(c)) {
+                    out.append(c);
+                    i++;
+                } else {
+                    out.append('*');
+                    i += Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1)) ? 2 : 1;
+                }
+            }
+        }
+
+        private static boolean isRegexWhitespace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+        }
+    }
+
+    /**
+     * Equivalent of {@link MaskedType#NUMBER}: every ASCII digit becomes {@code *}.
+     */
+    static final class NumberMasker implements Masker {
+
+        @Override
+        public void maskTo(CharSequence value, StringBuilder out) {
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                out.append(c >= '0' && c <= '9' ? '*' : c);
+            }
+        }
+    }
+
+    /**
+     * Base class for maskers whose regex relies on {@code .}; falls back to the regex for values the scan can't
+     * reproduce exactly.
+     */
+    abstract static class FallbackScanningMasker implements Masker {
+
+        private final RegexMasker fallback;
+
+        FallbackScanningMasker(MaskedType type) {
+            this.fallback = new RegexMasker(type.getRegex());
+        }
+
+        @Override
+        public final void maskTo(CharSequence value, StringBuilder out) {
+            if (isPlain(value))
+                scan(value, out);
+            else
+                fallback.maskTo(value, out);
+        }
+
+        /**
+         * Scans a value that contains neither surrogates nor line terminators, where one {@code char} is one
+         * regex character and {@code .} matches everything.
+         */
+        abstract void scan(CharSequence value, StringBuilder out);
+
+        private static boolean isPlain(CharSequence value) {
+            for (int i = 0, length = value.length(); i < length; i++) {
+                char c = value.charAt(i);
+                if (Character.isSurrogate(c) || c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029')
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Equivalent of {@link MaskedType#DOCUMENT} ({@code .(?=.{3})}): everything but the last three characters is masked.
+     */
+    static final class DocumentMasker extends FallbackScanningMasker {
+
+        DocumentMasker() {
+            super(MaskedType.DOCUMENT);
+        }
+
+        @Override
+        void scan(CharSequence value, StringBuilder out) {
+            int length = value.length();
+            int masked = Math.max(0, length - 3);
+            for (int i = 0; i < masked; i++)
+                out.append('*');
+            out.append(value, masked, length);
+        }
+    }
+
+    /**
+     * Equivalent of {@link MaskedType#TELEPHONE} ({@code .(?=.{2})[^-]}) and {@link MaskedType#ZIP_CODE}
+     * ({@code .(?=.{3})[^-]}): each pair of characters not followed by a hyphen and leaving {@code tail} characters
+     * behind collapses into a single {@code *}.
+     */
+    static final class HyphenAwareMasker extends FallbackScanningMasker {
+
+        private final int tail;
+
+        HyphenAwareMasker(MaskedType type, int tail) {
+            super(type);
+            this.tail = tail;
+        }
+
+        @Override
+        void scan(CharSequence value, StringBuilder out) {
+            int length = value.length();
+            int i = 0;
+            while (i + tail < length) {
+                if (value.charAt(i + 1) != '-') {
+                    out.append('*');
+                    i += 2;
+                } else {
+                    out.append(value.charAt(i));
+                    i++;
+                }
+            }
+            out.append(value, i, length);
+        }
+    }
+
+    /**
+     * Equivalent of {@link MaskedType#EMAIL} ({@code .(?=.{4})(?=[^@])(?=[^@]{4}).}): each pair of characters whose
+     * next four characters exist and contain no {@code @} collapses into a single {@code *}.
+     */
+    static final class EmailMasker extends FallbackScanningMasker {
+
+        EmailMasker() {
+            super(MaskedType.EMAIL);
+        }
+
+        @Override
+        void scan(CharSequence value, StringBuilder out) {
+            int length = value.length();
+            // position of the next '@' at or after i + 1, or length when there is none
+            int nextAt = indexOfAt(value, 1, length);
+            int i = 0;
+            while (i + 4 < length) {
+                if (nextAt <= i)
+                    nextAt = indexOfAt(value, i + 1, length);
+                if (nextAt > i + 4) {
+                    out.append('*');
+                    i += 2;
+                } else {
+                    out.append(value.charAt(i));
+                    i++;
+                }
+            }
+            out.append(value, i, length);
+        }
+
+        private static int indexOfAt(CharSequence value, int from, int length) {
+            for (int i = from; i < length; i++) {
+                if (value.charAt(i) == '@')
+                    return i;
+            }
+            return length;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.ice_lfernandes.spring.log.utils.features.metrics;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.ExecutionListener;
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.commons.MethodId;
+import io.github.ice_lfernandes.spring.log.utils.features.async.AsyncLogDispatcher;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.MaskCache;
+import io.github.ice_lfernandes.spring.log.utils.properties.MetricsProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every intercepted execution into a Micrometer {@link Timer}.
+ * <p>
+ * Timers are named {@code log.utils.executions} by default and tagged with {@code class} (the fully qualified name of
+ * the declaring class), {@code method}, {@code http} (the HTTP mapping, {@code none} for non-controller methods) and
+ * {@code outcome} ({@code SUCCESS} or {@code ERROR}). Client-side percentiles and, optionally, a percentile histogram are published,
+ * so latency is available through Actuator without parsing {@code time-execution=} out of the logs. The timers of a
+ * method are resolved once, keyed by its {@link MethodId} so that descriptors rebuilt by runtime overrides share them,
+ * and recording an execution is a map lookup plus Micrometer's lock-free recording.
+ * </p>
+ *
+ * <p>The recorder is active when Micrometer is on the classpath and a {@link MeterRegistry} bean exists, unless
+ * {@code spring.log-utils.metrics.enabled=false}. When the asynchronous pipeline is enabled, its dropped, pending and
+ * lag counters are published as gauges as well, and when the {@link MaskCache} is enabled, its size, hits, misses and
+ * evictions are published through {@link GuavaCacheMetrics}, tagged {@code cache=log.utils.mask}.</p>
+ */
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+@ConditionalOnProperty(
+        prefix = "spring.log-utils.metrics",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true
+)
+@EnableConfigurationProperties(MetricsProperties.class)
+public class ExecutionMetricsRecorder implements ExecutionListener, SmartInitializingSingleton, DisposableBean {
+
+    private final MetricsProperties metricsProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final ObjectProvider<AsyncLogDispatcher> asyncLogDispatcherProvider;
+    private final ObjectProvider<MaskCache> maskCacheProvider;
+    private final double[] percentiles;
+
+    private final Map<MethodId, Timer[]> timers = new ConcurrentHashMap<>();
+    private MeterRegistry meterRegistry;
+
+    public ExecutionMetricsRecorder(MetricsProperties metricsProperties,
+                                    ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                    ObjectProvider<AsyncLogDispatcher> asyncLogDispatcherProvider,
+                                    ObjectProvider<MaskCache> maskCacheProvider) {
+        this.metricsProperties = metricsProperties;
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.asyncLogDispatcherProvider = asyncLogDispatcherProvider;
+        this.maskCacheProvider = maskCacheProvider;
+        this.percentiles = metricsProperties.percentiles().stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * Starts recording once every bean, including the {@link MeterRegistry}, is available.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry == null)
+            return;
+        asyncLogDispatcherProvider.ifAvailable(this::bindAsyncGauges);
+        maskCacheProvider.ifAvailable(this::bindMaskCacheMetrics);
+        LoggingCommonsMethods.addExecutionListener(this);
+    }
+
+    @Override
+    public void destroy() {
+        LoggingCommonsMethods.removeExecutionListener(this);
+    }
+
+    @Override
+    public void onExecution(InterceptionDescriptor descriptor, long elapsedNanos, Throwable throwable) {
+        var methodTimers = timers.get(descriptor.methodId());
+        if (methodTimers == null)
+            methodTimers = timers.computeIfAbsent(descriptor.methodId(), this::createTimers);
+        methodTimers[throwable == null ? 0 : 1].record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer[] createTimers(MethodId methodId) {
+        return new Timer[]{createTimer(methodId, "SUCCESS"), createTimer(methodId, "ERROR")};
+    }
+
+    private Timer createTimer(MethodId methodId, String outcome) {
+        return Timer.builder(metricsProperties.name())
+                .description("Executions of methods intercepted by spring-log-utils")
+                .tag("class", methodId.declaringClassName())
+                .tag("method", methodId.methodName())
+                .tag("http", methodId.httpMapping().isEmpty() ? "none" : methodId.httpMapping())
+                .tag("outcome", outcome)
+                .publishPercentiles(percentiles)
+                .publishPercentileHistogram(metricsProperties.histogram())
+                .register(meterRegistry);
+    }
+
+    private void bindAsyncGauges(AsyncLogDispatcher dispatcher) {
+        Gauge.builder("log.utils.async.dropped", dispatcher, AsyncLogDispatcher::getDroppedCount)
+                .description("Log records discarded by the asynchronous pipeline's overflow policy")
+                .register(meterRegistry);
+        Gauge.builder("log.utils.async.pending", dispatcher, AsyncLogDispatcher::getPendingCount)
+                .description("Log records waiting in the asynchronous pipeline's buffer")
+                .register(meterRegistry);
+        Gauge.builder("log.utils.async.lag.max", dispatcher, d -> d.getMaxLagNanos() / 1e6)
+                .description("Longest time a log record spent in the asynchronous pipeline's buffer")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    private void bindMaskCacheMetrics(MaskCache maskCache) {
+        GuavaCacheMetrics.monitor(meterRegistry, maskCache.getCache(), "log.utils.mask");
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.ice_lfernandes.spring.log.utils.features.pii;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.List;
+
+/**
+ * Logback converter writing the formatted message of an event with its personal data masked by a {@link PiiScanner}.
+ * <p>
+ * The converter replaces {@code %msg} in the layout pattern; its options select the detected
+ * {@link io.github.ice_lfernandes.spring.log.utils.features.enums.PiiType}s, all of them by default:
+ * <pre>
+ * &lt;conversionRule conversionWord="maskedMsg"
+ *                 converterClass="io.github.ice_lfernandes.spring.log.utils.features.pii.PiiMaskingConverter"/&gt;
+ * &lt;pattern&gt;%d %-5level %logger - %maskedMsg{EMAIL,DOCUMENT}%n&lt;/pattern&gt;
+ * </pre>
+ */
+public class PiiMaskingConverter extends ClassicConverter {
+
+    private PiiScanner scanner = PiiScanner.ALL;
+
+    @Override
+    public void start() {
+        List<String> options = getOptionList();
+        if (options != null && !options.isEmpty()) {
+            try {
+                scanner = PiiScanner.parse(String.join(",", options));
+            } catch (IllegalArgumentException e) {
+                addError("Invalid PII types " + options + ", masking every type", e);
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return scanner.mask(event.getFormattedMessage());
+    }
+}
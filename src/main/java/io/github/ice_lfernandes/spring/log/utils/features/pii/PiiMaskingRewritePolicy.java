@@ -0,0 +1,54 @@
+package io.github.ice_lfernandes.spring.log.utils.features.pii;
+
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.rewrite.RewritePolicy;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+
+/**
+ * Log4j2 {@link RewritePolicy} replacing the message of an event with its formatted message, personal data masked by
+ * a {@link PiiScanner}. Events without personal data are passed on unchanged.
+ * <p>
+ * The {@code types} attribute selects the detected
+ * {@link io.github.ice_lfernandes.spring.log.utils.features.enums.PiiType}s, all of them by default. The plugin is
+ * found through the {@code packages} of the configuration:
+ * <pre>
+ * &lt;Configuration packages="io.github.ice_lfernandes.spring.log.utils.features.pii"&gt;
+ *     ...
+ *     &lt;Rewrite name="Masked"&gt;
+ *         &lt;AppenderRef ref="Console"/&gt;
+ *         &lt;PiiMaskingRewritePolicy types="EMAIL,DOCUMENT"/&gt;
+ *     &lt;/Rewrite&gt;
+ * </pre>
+ */
+@Plugin(name = "PiiMaskingRewritePolicy", category = Core.CATEGORY_NAME, elementType = "rewritePolicy", printObject = true)
+public final class PiiMaskingRewritePolicy implements RewritePolicy {
+
+    private final PiiScanner scanner;
+
+    private PiiMaskingRewritePolicy(PiiScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    /**
+     * @param types The comma-separated names of the detected types, every type if absent
+     * @return The policy
+     */
+    @PluginFactory
+    public static PiiMaskingRewritePolicy createPolicy(@PluginAttribute("types") String types) {
+        return new PiiMaskingRewritePolicy(PiiScanner.parse(types));
+    }
+
+    @Override
+    public LogEvent rewrite(LogEvent event) {
+        String message = event.getMessage().getFormattedMessage();
+        String masked = scanner.mask(message);
+        if (masked == message)
+            return event;
+        return new Log4jLogEvent.Builder(event).setMessage(new SimpleMessage(masked)).build();
+    }
+}
@@ -0,0 +1,233 @@
+package io.github.ice_lfernandes.spring.log.utils.features.pii;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.PiiType;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Masker;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Maskers;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Detects and masks personal data in free text, such as formatted log messages, in a single pass.
+ * <p>
+ * All the enabled {@link PiiType}s are recognized by one left-to-right scan instead of one regex per type: an email is
+ * recognized when the scan reaches an {@code @}, and documents and telephone numbers are recognized together as a run
+ * of digits and separators that is classified once fully read. Every character is read a bounded number of times, so
+ * the cost of a message is linear in its length whatever the number of enabled types. A message without personal
+ * data is returned as is, without any allocation.
+ * </p>
+ *
+ * <p>The detected values are masked with the maskers of the {@link PiiType#getMaskedType() matching}
+ * {@code MaskedType}s. Detection favours precision over recall: a digit run adjacent to a letter is never matched, and
+ * telephone numbers must be formatted (with {@code +}, parentheses, spaces or hyphens) so that timestamps and
+ * identifiers aren't masked.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * PiiScanner.ALL.mask("user lucas.fernandes@gmail.com, cpf 123.456.789-09");
+ * // "user ******des***.com, cpf ***********-09"
+ * </pre>
+ *
+ * @see PiiMaskingConverter
+ * @see PiiMaskingRewritePolicy
+ */
+public final class PiiScanner {
+
+    /**
+     * Scanner detecting every {@link PiiType}.
+     */
+    public static final PiiScanner ALL = new PiiScanner(EnumSet.allOf(PiiType.class));
+
+    private final Masker emailMasker;
+    private final Masker documentMasker;
+    private final Masker telephoneMasker;
+
+    private PiiScanner(Set<PiiType> types) {
+        this.emailMasker = maskerIfEnabled(types, PiiType.EMAIL);
+        this.documentMasker = maskerIfEnabled(types, PiiType.DOCUMENT);
+        this.telephoneMasker = maskerIfEnabled(types, PiiType.TELEPHONE);
+    }
+
+    /**
+     * @param types The types to detect
+     * @return A scanner detecting {@code types}
+     */
+    public static PiiScanner of(Collection<PiiType> types) {
+        return types.isEmpty() ? new PiiScanner(EnumSet.noneOf(PiiType.class)) : new PiiScanner(EnumSet.copyOf(types));
+    }
+
+    /**
+     * Parses a comma-separated list of {@link PiiType} names, as written in logging configuration files.
+     *
+     * @param types The type names, e.g. {@code "EMAIL, DOCUMENT"}; {@code null} or blank for every type
+     * @return A scanner detecting the listed types
+     * @throws IllegalArgumentException If a name is not a {@link PiiType}
+     */
+    public static PiiScanner parse(String types) {
+        if (types == null || types.isBlank())
+            return ALL;
+        return of(Arrays.stream(types.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(PiiType::valueOf)
+                .toList());
+    }
+
+    private static Masker maskerIfEnabled(Set<PiiType> types, PiiType type) {
+        return types.contains(type) ? Maskers.forType(type.getMaskedType()) : null;
+    }
+
+    /**
+     * Masks the personal data found in {@code text}.
+     *
+     * @param text The text to scan, may be {@code null}
+     * @return The masked text, or {@code text} itself if no personal data was found
+     */
+    public String mask(String text) {
+        if (text == null)
+            return null;
+        int length = text.length();
+        StringBuilder out = null;
+        int copied = 0;
+        // start of the run of characters that may be the local part of an email
+        int wordStart = 0;
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '@') {
+                int localStart = Math.max(wordStart, copied);
+                int end = emailMasker != null && localStart < i ? domainEnd(text, i + 1) : -1;
+                if (end > 0) {
+                    out = replace(out, text, copied, localStart, end, emailMasker);
+                    copied = wordStart = i = end;
+                } else {
+                    wordStart = ++i;
+                }
+            } else if ((documentMasker != null || telephoneMasker != null) && isNumberStart(text, i)) {
+                if (c == '(')
+                    wordStart = i + 1;
+                // a run of digits and separators, read once and classified as a whole
+                boolean plus = c == '+';
+                boolean grouped = c == '(';
+                boolean hyphen = false;
+                boolean punctuated = false;
+                int digits = 0;
+                int j = plus || grouped ? i + 1 : i;
+                while (j < length) {
+                    char d = text.charAt(j);
+                    if (isDigit(d)) {
+                        digits++;
+                        j++;
+                        continue;
+                    }
+                    // up to two separators, e.g. ") ", followed by a digit
+                    int k = j;
+                    while (k < length && k - j < 2 && isSeparator(text.charAt(k)))
+                        k++;
+                    if (k == j || k == length || !isDigit(text.charAt(k)))
+                        break;
+                    for (; j < k; j++) {
+                        char separator = text.charAt(j);
+                        hyphen |= separator == '-';
+                        punctuated |= separator == '.' || separator == '/';
+                        grouped |= separator == ' ' || separator == '(' || separator == ')';
+                        if (!isLocalPart(separator))
+                            wordStart = j + 1;
+                    }
+                }
+                Masker masker = null;
+                if (j == length || !isWordPart(text.charAt(j))) {
+                    if (documentMasker != null && !plus && !grouped && (digits == 11 || digits == 14))
+                        masker = documentMasker;
+                    else if (telephoneMasker != null && !punctuated && digits >= 10 && digits <= 13
+                            && (plus || grouped || hyphen))
+                        masker = telephoneMasker;
+                }
+                if (masker != null) {
+                    out = replace(out, text, copied, i, j, masker);
+                    copied = wordStart = j;
+                }
+                i = j;
+            } else {
+                if (!isLocalPart(c))
+                    wordStart = i + 1;
+                i++;
+            }
+        }
+        if (out == null)
+            return text;
+        return out.append(text, copied, length).toString();
+    }
+
+    private static StringBuilder replace(StringBuilder out, String text, int copied, int start, int end, Masker masker) {
+        if (out == null)
+            out = new StringBuilder(text.length() + 16);
+        out.append(text, copied, start);
+        Maskers.maskTo(text.substring(start, end), masker, out);
+        return out;
+    }
+
+    /**
+     * @return The end of the domain of an email whose {@code @} precedes {@code start}, or {@code -1} if there is no
+     * valid domain, i.e. dot-separated labels ending with a top-level domain of at least two letters
+     */
+    private static int domainEnd(String text, int start) {
+        int length = text.length();
+        int end = start;
+        int lastDot = -1;
+        for (; end < length && isDomainPart(text.charAt(end)); end++)
+            if (text.charAt(end) == '.')
+                lastDot = end;
+        // trailing dots end the sentence rather than the domain
+        while (end > start && text.charAt(end - 1) == '.')
+            end--;
+        if (lastDot >= end)
+            lastDot = text.lastIndexOf('.', end - 1);
+        if (end == start || lastDot <= start || end - lastDot - 1 < 2 || !isAsciiLetterOrDigit(text.charAt(start)))
+            return -1;
+        for (int i = lastDot + 1; i < end; i++)
+            if (!isAsciiLetter(text.charAt(i)))
+                return -1;
+        return end;
+    }
+
+    private static boolean isNumberStart(String text, int i) {
+        char c = text.charAt(i);
+        boolean start = isDigit(c)
+                || (c == '+' || c == '(') && i + 1 < text.length() && isDigit(text.charAt(i + 1));
+        return start && (i == 0 || !isWordPart(text.charAt(i - 1)));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '-' || c == '.' || c == '/' || c == '(' || c == ')';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || isDigit(c);
+    }
+
+    /**
+     * @return {@code true} if {@code c} may be part of a word, so that a digit run next to it isn't a value of its own
+     */
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '@' || c == '_';
+    }
+
+    private static boolean isLocalPart(char c) {
+        return isAsciiLetterOrDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDomainPart(char c) {
+        return isAsciiLetterOrDigit(c) || c == '.' || c == '-';
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.ice_lfernandes.spring.log.utils.features.rendering;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Renders logged parameters and results within a {@link RenderLimits} budget.
+ * <p>
+ * Within the limits, the output is the same as SLF4J's: collections as {@code [a, b]}, maps as {@code {k=v}} and
+ * arrays as {@code [a, b]}. Collections, maps and arrays are traversed by the renderer itself, which stops as soon as
+ * the character budget is exhausted instead of building the full string and truncating it afterwards:
+ * <ul>
+ *   <li>only the first {@code maxElements} elements of a collection, map or array are rendered, followed by
+ *   {@code ...(N more)}</li>
+ *   <li>containers nested deeper than {@code maxDepth} are rendered as {@code [...]} or {@code {...}}</li>
+ *   <li>a collection, map or array containing itself is rendered as {@code (cycle)} where it recurs, so it
+ *   terminates even when {@code maxDepth} is unlimited</li>
+ *   <li>byte arrays are rendered as {@code byte[length=N, hash=H]}, where {@code H} is the hexadecimal hash of at most
+ *   1024 bytes sampled across the array, i.e. {@link java.util.Arrays#hashCode(byte[])} for
+ *   arrays of up to 1024 bytes</li>
+ *   <li>the output is cut after {@code maxChars} characters and ends with {@value #TRUNCATED}</li>
+ * </ul>
+ * Other objects are rendered through their {@code toString()}, which the renderer can't interrupt; only the copied
+ * part is bounded. This includes collections and maps declaring their own {@code toString()} outside the JDK, whose
+ * rendering is theirs to decide. The traversal is shared with the JSON renderer, see {@link ValueWalker}.
+ * </p>
+ */
+@UtilityClass
+public class BoundedRenderer {
+
+    /**
+     * Marker appended when the character budget is exhausted.
+     */
+    public static final String TRUNCATED = "...(truncated)";
+
+    /**
+     * Renders {@code value} within {@code limits}.
+     *
+     * @param value  The value to render
+     * @param limits The budget
+     * @return The rendered value
+     */
+    public String render(Object value, RenderLimits limits) {
+        StringBuilder sb = new StringBuilder();
+        renderTo(value, limits, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends {@code value} rendered within {@code limits} to {@code out}.
+     *
+     * @param value  The value to render
+     * @param limits The budget
+     * @param out    The builder receiving the rendered value
+     */
+    public void renderTo(Object value, RenderLimits limits, StringBuilder out) {
+        new Budget(out, limits).write(value, 0);
+    }
+
+    /**
+     * Wraps {@code value} so that it is rendered within {@code limits} only when its {@code toString()} is called,
+     * i.e. when the logging framework actually formats the message. The rendering is computed once and reused, so the
+     * wrapper can be logged in several lines of the same call.
+     *
+     * @param value  The value to render, returned as is if it is already a lazily rendered value
+     * @param limits The budget
+     * @return The lazily rendered value
+     */
+    public Object lazy(Object value, RenderLimits limits) {
+        return value instanceof Lazy ? value : new Lazy(value, limits);
+    }
+
+    private static final class Lazy {
+
+        private final Object value;
+        private final RenderLimits limits;
+        // Racy single-check: at worst, concurrent formatting threads render the same immutable string twice
+        private String rendered;
+
+        private Lazy(Object value, RenderLimits limits) {
+            this.value = value;
+            this.limits = limits;
+        }
+
+        @Override
+        public String toString() {
+            String result = rendered;
+            if (result == null)
+                rendered = result = render(value, limits);
+            return result;
+        }
+    }
+
+    private static final class Budget extends ValueWalker {
+
+        private final CharBudget out;
+        private final RenderLimits limits;
+
+        private Budget(StringBuilder out, RenderLimits limits) {
+            this.out = new CharBudget(out, limits.maxChars());
+            this.limits = limits;
+        }
+
+        private void append(CharSequence value) {
+            out.append(value);
+        }
+
+        @Override
+        protected RenderLimits limits() {
+            return limits;
+        }
+
+        @Override
+        protected void write(Object value, int depth) {
+            if (out.isExhausted())
+                return;
+            if (value == null)
+                append("null");
+            else if (value instanceof CharSequence sequence)
+                append(sequence);
+            else if (!walkContainer(value, depth))
+                append(String.valueOf(value));
+        }
+
+        @Override
+        protected void writeText(String text) {
+            append(text);
+        }
+
+        @Override
+        protected void startContainer(boolean entries) {
+            append(entries ? "{" : "[");
+        }
+
+        @Override
+        protected void endContainer(boolean entries) {
+            append(entries ? "}" : "]");
+        }
+
+        @Override
+        protected void writeKey(Object key, int depth) {
+            write(key, depth);
+            append("=");
+        }
+
+        @Override
+        protected void writeMore(int more, boolean entries) {
+            append(", ...(" + more + " more)");
+        }
+
+        @Override
+        protected void writeSeparator() {
+            append(", ");
+        }
+
+        @Override
+        protected boolean isExhausted() {
+            return out.isExhausted();
+        }
+    }
+}
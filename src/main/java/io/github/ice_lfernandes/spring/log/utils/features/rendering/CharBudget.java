@@ -0,0 +1,46 @@
+package io.github.ice_lfernandes.spring.log.utils.features.rendering;
+
+/**
+ * Character budget of one rendering, shared by {@link BoundedRenderer} and the maskers rendering whole object graphs:
+ * the output is cut after {@code maxChars} characters and ends with {@link BoundedRenderer#TRUNCATED}, after which
+ * nothing more is appended.
+ */
+public final class CharBudget {
+
+    private final StringBuilder out;
+    private final long end;
+    private boolean exhausted;
+
+    /**
+     * @param out      The builder receiving the rendering
+     * @param maxChars The number of characters that can be appended to {@code out}
+     */
+    public CharBudget(StringBuilder out, int maxChars) {
+        this.out = out;
+        this.end = (long) out.length() + maxChars;
+    }
+
+    /**
+     * Appends {@code value}, or the part of it that fits followed by {@link BoundedRenderer#TRUNCATED}.
+     *
+     * @param value The text to append
+     */
+    public void append(CharSequence value) {
+        if (exhausted)
+            return;
+        long room = end - out.length();
+        if (value.length() <= room) {
+            out.append(value);
+        } else {
+            out.append(value, 0, (int) room).append(BoundedRenderer.TRUNCATED);
+            exhausted = true;
+        }
+    }
+
+    /**
+     * @return Whether the budget is exhausted, i.e. the output was cut
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.ice_lfernandes.spring.log.utils.features.rendering;
+
+/**
+ * Budget applied when rendering logged parameters and results.
+ *
+ * @param maxChars    Maximum number of characters of a rendered value
+ * @param maxElements Maximum number of elements rendered per collection, map or array
+ * @param maxDepth    Maximum nesting of collections, maps and arrays that is traversed
+ * @see BoundedRenderer
+ */
+public record RenderLimits(
+        int maxChars,
+        int maxElements,
+        int maxDepth
+) {
+
+    /**
+     * Limits used when nothing is configured.
+     */
+    public static final RenderLimits DEFAULT = new RenderLimits(8192, 100, 5);
+
+    /**
+     * No limit at all.
+     */
+    public static final RenderLimits UNBOUNDED = new RenderLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    /**
+     * Normalizes the limits: {@code 0} or a negative value means unlimited.
+     */
+    public RenderLimits {
+        maxChars = maxChars <= 0 ? Integer.MAX_VALUE : maxChars;
+        maxElements = maxElements <= 0 ? Integer.MAX_VALUE : maxElements;
+        maxDepth = maxDepth <= 0 ? Integer.MAX_VALUE : maxDepth;
+    }
+
+    /**
+     * Overrides these limits with the attributes of an annotation, where {@code -1} keeps the current value.
+     *
+     * @param maxChars    The annotation's maximum number of characters
+     * @param maxElements The annotation's maximum number of elements
+     * @param maxDepth    The annotation's maximum depth
+     * @return The resulting limits
+     */
+    public RenderLimits override(int maxChars, int maxElements, int maxDepth) {
+        return new RenderLimits(
+                maxChars == -1 ? this.maxChars : maxChars,
+                maxElements == -1 ? this.maxElements : maxElements,
+                maxDepth == -1 ? this.maxDepth : maxDepth);
+    }
+}
@@ -0,0 +1,247 @@
+package io.github.ice_lfernandes.spring.log.utils.features.rendering;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Traversal of the collections, maps and arrays of a logged value within a {@link RenderLimits} budget, shared by
+ * {@link BoundedRenderer} and the JSON renderer, which only differ in how they write what is traversed.
+ * <p>
+ * {@link #walkContainer(Object, int)} decides what is traversed and how far:
+ * <ul>
+ *   <li>only the first {@code maxElements} elements of a collection, map or array are written, followed by
+ *   {@link #writeMore(int, boolean)}</li>
+ *   <li>containers nested deeper than {@code maxDepth} are written as {@code [...]} or {@code {...}}</li>
+ *   <li>a container that is one of its own ancestors is written as {@value #CYCLE}, so a self-referencing collection
+ *   terminates even when the depth is unlimited</li>
+ *   <li>byte arrays are summarized as {@code byte[length=N, hash=H]}, where {@code H} hashes at most
+ *   {@value #HASHED_BYTES} bytes sampled evenly across the array</li>
+ *   <li>collections and maps whose {@code toString()} is declared outside the JDK are not traversed: like other
+ *   objects, they are written through their {@code toString()}</li>
+ * </ul>
+ * Implementations are single-threaded.
+ * </p>
+ */
+public abstract class ValueWalker {
+
+    /**
+     * Marker written in place of a container referencing one of its ancestors.
+     */
+    public static final String CYCLE = "(cycle)";
+
+    private static final int HASHED_BYTES = 1024;
+
+    private static final ClassValue<Boolean> CUSTOM_TO_STRING = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return !type.getMethod("toString").getDeclaringClass().getName().startsWith("java.");
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    // the containers being written, allocated with the first one
+    private Set<Object> path;
+
+    /**
+     * @return The budget of the value being written
+     */
+    protected abstract RenderLimits limits();
+
+    /**
+     * Writes any value, e.g. an element of a traversed container.
+     *
+     * @param value The value
+     * @param depth The nesting of the value, {@code 0} for the logged value itself
+     */
+    protected abstract void write(Object value, int depth);
+
+    /**
+     * Writes a marker or summary produced by the walk, e.g. {@code [...]}.
+     *
+     * @param text The text to write
+     */
+    protected abstract void writeText(String text);
+
+    /**
+     * Starts a traversed collection or array ({@code entries == false}) or map ({@code entries == true}).
+     */
+    protected abstract void startContainer(boolean entries);
+
+    /**
+     * Ends the container started by {@link #startContainer(boolean)}.
+     */
+    protected abstract void endContainer(boolean entries);
+
+    /**
+     * Writes the key of a map entry, before its value is {@linkplain #write(Object, int) written}.
+     *
+     * @param key   The key
+     * @param depth The nesting of the key
+     */
+    protected abstract void writeKey(Object key, int depth);
+
+    /**
+     * Writes the number of elements or entries left out by {@code maxElements}.
+     *
+     * @param more    The number of elements or entries not written
+     * @param entries Whether the container is a map
+     */
+    protected abstract void writeMore(int more, boolean entries);
+
+    /**
+     * Called before every element or entry but the first of a container.
+     */
+    protected void writeSeparator() {
+    }
+
+    /**
+     * @return Whether the output budget is exhausted, which stops the walk
+     */
+    protected boolean isExhausted() {
+        return false;
+    }
+
+    /**
+     * Writes {@code value} if it is a byte array, a traversed collection, map or array.
+     *
+     * @param value A non-null value
+     * @param depth The nesting of the value
+     * @return {@code false} if {@code value} is none of them and was not written
+     */
+    protected final boolean walkContainer(Object value, int depth) {
+        if (value instanceof byte[] bytes)
+            writeText(describe(bytes));
+        else if (value instanceof Collection<?> collection && !CUSTOM_TO_STRING.get(value.getClass()))
+            walkElements(value, collection.iterator(), collection.size(), depth);
+        else if (value instanceof Map<?, ?> map && !CUSTOM_TO_STRING.get(value.getClass()))
+            walkEntries(map, depth);
+        else if (value instanceof Object[] array)
+            walkElements(value, Arrays.asList(array).iterator(), array.length, depth);
+        else if (value.getClass().isArray())
+            walkPrimitiveArray(value, depth);
+        else
+            return false;
+        return true;
+    }
+
+    /**
+     * Marks {@code value} as being written, for objects other than containers that are traversed by the
+     * implementation, e.g. the fields of a masked object.
+     *
+     * @param value The object about to be traversed
+     * @return {@code false} if {@code value} is already being written, i.e. is one of its own ancestors
+     */
+    protected final boolean enter(Object value) {
+        if (path == null)
+            path = Collections.newSetFromMap(new IdentityHashMap<>());
+        return path.add(value);
+    }
+
+    /**
+     * Unmarks a value marked by a successful {@link #enter(Object)} once written.
+     *
+     * @param value The traversed object
+     */
+    protected final void exit(Object value) {
+        path.remove(value);
+    }
+
+    private void walkElements(Object container, Iterator<?> elements, int size, int depth) {
+        if (depth >= limits().maxDepth()) {
+            writeText("[...]");
+            return;
+        }
+        if (!enter(container)) {
+            writeText(CYCLE);
+            return;
+        }
+        try {
+            startContainer(false);
+            int written = 0;
+            while (elements.hasNext() && !isExhausted()) {
+                if (written == limits().maxElements()) {
+                    writeMore(size - written, false);
+                    break;
+                }
+                if (written > 0)
+                    writeSeparator();
+                write(elements.next(), depth + 1);
+                written++;
+            }
+            endContainer(false);
+        } finally {
+            exit(container);
+        }
+    }
+
+    private void walkEntries(Map<?, ?> map, int depth) {
+        if (depth >= limits().maxDepth()) {
+            writeText("{...}");
+            return;
+        }
+        if (!enter(map)) {
+            writeText(CYCLE);
+            return;
+        }
+        try {
+            startContainer(true);
+            int written = 0;
+            for (Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator(); entries.hasNext() && !isExhausted(); ) {
+                if (written == limits().maxElements()) {
+                    writeMore(map.size() - written, true);
+                    break;
+                }
+                Map.Entry<?, ?> entry = entries.next();
+                if (written > 0)
+                    writeSeparator();
+                writeKey(entry.getKey(), depth + 1);
+                write(entry.getValue(), depth + 1);
+                written++;
+            }
+            endContainer(true);
+        } finally {
+            exit(map);
+        }
+    }
+
+    private void walkPrimitiveArray(Object array, int depth) {
+        int length = Array.getLength(array);
+        walkElements(array, new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < length;
+            }
+
+            @Override
+            public Object next() {
+                return Array.get(array, index++);
+            }
+        }, length, depth);
+    }
+
+    /**
+     * Summarizes a byte array as {@code byte[length=N, hash=H]}, where {@code H} hashes at most {@value #HASHED_BYTES}
+     * bytes sampled evenly across the array, i.e. {@link Arrays#hashCode(byte[])} for arrays of up to that size.
+     *
+     * @param bytes The byte array
+     * @return The summary
+     */
+    public static String describe(byte[] bytes) {
+        int hash = 1;
+        int samples = Math.min(bytes.length, HASHED_BYTES);
+        for (int i = 0; i < samples; i++)
+            hash = 31 * hash + bytes[(int) ((long) i * bytes.length / samples)];
+        return "byte[length=" + bytes.length + ", hash=" + Integer.toHexString(hash) + "]";
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.ice_lfernandes.spring.log.utils.features.sampling;
+
+import io.github.ice_lfernandes.spring.log.utils.properties.SamplingProperties;
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether a call of one endpoint is logged, according to {@link SamplingProperties}.
+ * <p>
+ * A call is logged when it passes both the probabilistic sampling rate and the endpoint's rate limit:
+ * <ul>
+ *   <li>Sampling draws from {@link ThreadLocalRandom}, so it shares no state between threads.</li>
+ *   <li>The rate limit is a token bucket implemented as a generic cell rate algorithm: a single {@link AtomicLong}
+ *   holds the theoretical arrival time of the next call, updated with one CAS per accepted call. Rejected calls
+ *   don't write anything, so an endpoint over its limit causes no contention.</li>
+ * </ul>
+ * Calls that are not sampled may still be logged when they fail or are slow, see {@link #isAlwaysLogErrors()} and
+ * {@link #getSlowThresholdNanos()}.
+ * </p>
+ */
+public class EndpointSampler {
+
+    private final double rate;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Whether failed calls are logged even when they are not sampled.
+     */
+    @Getter
+    private final boolean alwaysLogErrors;
+
+    /**
+     * Duration from which calls are logged even when they are not sampled, or {@link Long#MAX_VALUE} when disabled.
+     */
+    @Getter
+    private final long slowThresholdNanos;
+
+    public EndpointSampler(SamplingProperties sampling) {
+        this.rate = sampling.rate();
+        this.emissionIntervalNanos = sampling.maxPerSecond() > 0 ? TimeUnit.SECONDS.toNanos(1) / sampling.maxPerSecond() : 0;
+        this.burstToleranceNanos = emissionIntervalNanos * (sampling.burst() - 1);
+        this.alwaysLogErrors = sampling.alwaysLogErrors();
+        this.slowThresholdNanos = sampling.slowThreshold() == null ? Long.MAX_VALUE : sampling.slowThreshold().toNanos();
+    }
+
+    /**
+     * Decides whether the current call is logged.
+     *
+     * @return {@code true} if the call is sampled and within the rate limit
+     */
+    public boolean sample() {
+        if (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)
+            return false;
+        return emissionIntervalNanos == 0 || tryAcquire(System.nanoTime());
+    }
+
+    boolean tryAcquire(long now) {
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long start = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+            if (start - now > burstToleranceNanos)
+                return false;
+            if (theoreticalArrivalNanos.compareAndSet(tat, start + emissionIntervalNanos))
+                return true;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.ice_lfernandes.spring.log.utils.features.summary;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.ExecutionListener;
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.commons.MethodId;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogFormat;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.features.json.JsonRenderer;
+import io.github.ice_lfernandes.spring.log.utils.properties.SummaryProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates the calls of the methods in {@link LogMode#SUMMARY} mode and writes one summary line per method and
+ * interval, instead of one or two lines per call.
+ * <p>
+ * Calls are recorded into a per-method {@link ExecutionSummary} of striped counters, so concurrent calls of a method
+ * don't contend. Summaries are keyed by {@link MethodId}, so that the descriptors rebuilt by runtime overrides share
+ * the summary of their method, written in the format of its latest descriptor. Every {@code spring.log-utils.summary.interval}, a scheduler thread drains the summaries and writes,
+ * for each method called during the interval, the number of calls and errors and the minimum, mean, maximum and
+ * percentile execution times. The number of lines is then proportional to the number of methods rather than to the
+ * number of calls. Summaries are written in the format of the method's lines, by this class' logger.
+ * </p>
+ *
+ * <p>The summaries are enabled with {@code spring.log-utils.summary.enabled=true}; without them, the calls of the
+ * methods in {@link LogMode#SUMMARY} mode are not logged.</p>
+ *
+ * <p>Example configuration:
+ * <pre>
+ * spring.log-utils.summary.enabled=true
+ * spring.log-utils.execution.mode=SUMMARY
+ * spring.log-utils.summary.interval=30s
+ * spring.log-utils.summary.percentiles=0.5,0.99
+ * </pre>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SummaryProperties.class)
+@ConditionalOnProperty(
+        prefix = "spring.log-utils.summary",
+        name = "enabled",
+        havingValue = "true"
+)
+public class ExecutionSummarizer implements ExecutionListener, DisposableBean {
+
+    private final long intervalSeconds;
+    private final double[] percentiles;
+    private final String[] percentileNames;
+    private final String template;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<MethodId, MethodSummary> summaries = new ConcurrentHashMap<>();
+
+    public ExecutionSummarizer(SummaryProperties summaryProperties) {
+        this.intervalSeconds = summaryProperties.interval().toSeconds();
+        this.percentiles = summaryProperties.percentiles().stream().mapToDouble(Double::doubleValue).toArray();
+        this.percentileNames = summaryProperties.percentiles().stream()
+                .map(percentile -> "p" + BigDecimal.valueOf(percentile).movePointRight(2).stripTrailingZeros()
+                        .toPlainString())
+                .toArray(String[]::new);
+        var template = new StringBuilder("stage=summary, method={}, class={}, interval={}s, count={}, errors={}, "
+                + "min={}ms, mean={}ms, max={}ms");
+        for (String name : percentileNames)
+            template.append(", ").append(name).append("={}ms");
+        this.template = template.toString();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-utils-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = summaryProperties.interval().toMillis();
+        scheduler.scheduleAtFixedRate(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        LoggingCommonsMethods.setSummaryListener(this);
+    }
+
+    @Override
+    public void onExecution(InterceptionDescriptor descriptor, long elapsedNanos, Throwable throwable) {
+        var summary = summaries.get(descriptor.methodId());
+        if (summary == null)
+            summary = summaries.computeIfAbsent(descriptor.methodId(), key -> new MethodSummary(descriptor));
+        else if (summary.descriptor != descriptor)
+            summary.descriptor = descriptor;
+        summary.summary.record(elapsedNanos, throwable != null);
+    }
+
+    /**
+     * Writes the summary of every method called since the previous flush.
+     */
+    public void flush() {
+        try {
+            summaries.values().forEach(summary -> {
+                var snapshot = summary.summary.drain();
+                if (snapshot != null)
+                    write(summary.descriptor, snapshot);
+            });
+        } catch (RuntimeException e) {
+            // an exception would cancel the next flushes
+            log.warn("Failed to write execution summaries", e);
+        }
+    }
+
+    private void write(InterceptionDescriptor descriptor, ExecutionSummary.Snapshot snapshot) {
+        if (!log.isInfoEnabled())
+            return;
+        if (descriptor.format() == LogFormat.JSON) {
+            log.info("{}", toJson(descriptor, snapshot));
+            return;
+        }
+        Object[] arguments = new Object[8 + percentiles.length];
+        arguments[0] = descriptor.methodName();
+        arguments[1] = descriptor.className();
+        arguments[2] = intervalSeconds;
+        arguments[3] = snapshot.count();
+        arguments[4] = snapshot.errors();
+        arguments[5] = millis(snapshot.minNanos());
+        arguments[6] = millis(snapshot.meanNanos());
+        arguments[7] = millis(snapshot.maxNanos());
+        for (int i = 0; i < percentiles.length; i++)
+            arguments[8 + i] = millis(snapshot.percentileNanos(percentiles[i]));
+        log.info(template, arguments);
+    }
+
+    private String toJson(InterceptionDescriptor descriptor, ExecutionSummary.Snapshot snapshot) {
+        return JsonRenderer.encode(writer -> {
+            var generator = writer.generator();
+            generator.writeStartObject();
+            generator.writeStringField("stage", "summary");
+            generator.writeStringField("method", descriptor.methodName());
+            generator.writeStringField("class", descriptor.className());
+            if (!descriptor.httpMapping().isEmpty())
+                generator.writeStringField("http", descriptor.httpMapping());
+            generator.writeNumberField("intervalSeconds", intervalSeconds);
+            generator.writeNumberField("count", snapshot.count());
+            generator.writeNumberField("errors", snapshot.errors());
+            generator.writeNumberField("minMs", millis(snapshot.minNanos()));
+            generator.writeNumberField("meanMs", millis(snapshot.meanNanos()));
+            generator.writeNumberField("maxMs", millis(snapshot.maxNanos()));
+            for (int i = 0; i < percentiles.length; i++)
+                generator.writeNumberField(percentileNames[i] + "Ms", millis(snapshot.percentileNanos(percentiles[i])));
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * @return {@code nanos} in milliseconds, with microsecond precision
+     */
+    private static BigDecimal millis(long nanos) {
+        return BigDecimal.valueOf(nanos / 1_000, 3);
+    }
+
+    @Override
+    public void destroy() {
+        LoggingCommonsMethods.setSummaryListener(null);
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    /**
+     * The summary of a method and the latest descriptor it was called with.
+     */
+    private static final class MethodSummary {
+
+        private final ExecutionSummary summary = new ExecutionSummary();
+        private volatile InterceptionDescriptor descriptor;
+
+        private MethodSummary(InterceptionDescriptor descriptor) {
+            this.descriptor = descriptor;
+        }
+    }
+}
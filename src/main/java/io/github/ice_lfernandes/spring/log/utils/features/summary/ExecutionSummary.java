@@ -0,0 +1,164 @@
+package io.github.ice_lfernandes.spring.log.utils.features.summary;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Accumulates the executions of one method between two flushes of {@link ExecutionSummarizer}.
+ * <p>
+ * The counters are striped: each thread records into the cell picked by its id, so threads running the same method
+ * update different cache lines instead of contending on shared counters. Cells are created on first use and hold the
+ * number of calls and errors, the sum, minimum and maximum of the durations and a log-linear histogram of the durations
+ * (four buckets per power of two of microseconds, i.e. at most 12.5% error), from which percentiles are estimated.
+ * Recording is a handful of uncontended atomic updates, and {@link #drain()} atomically takes and resets each counter,
+ * so no execution is lost or counted twice across intervals.
+ * </p>
+ */
+final class ExecutionSummary {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // durations are bucketed in units of 1024ns, up to 2^32 units (about 73 minutes); longer ones go to the last bucket
+    private static final int UNIT_SHIFT = 10;
+    private static final int MAX_EXPONENT = 31;
+    static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private static final int COUNT = 0;
+    private static final int ERRORS = 1;
+    private static final int SUM = 2;
+    private static final int MIN = 3;
+    private static final int MAX = 4;
+    private static final int FIRST_BUCKET = 5;
+
+    // the power of two at least equal to the number of processors
+    private static final int STRIPES =
+            Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private final AtomicReferenceArray<AtomicLongArray> cells = new AtomicReferenceArray<>(STRIPES);
+
+    /**
+     * Records one execution.
+     *
+     * @param elapsedNanos The execution time in nanoseconds
+     * @param error        Whether the execution threw
+     */
+    void record(long elapsedNanos, boolean error) {
+        long nanos = Math.max(0, elapsedNanos);
+        var cell = cell();
+        cell.incrementAndGet(COUNT);
+        if (error)
+            cell.incrementAndGet(ERRORS);
+        cell.addAndGet(SUM, nanos);
+        long current;
+        while (nanos < (current = cell.get(MIN)) && !cell.weakCompareAndSetVolatile(MIN, current, nanos)) {
+            // retries until another thread records a lower value or the update succeeds
+        }
+        while (nanos > (current = cell.get(MAX)) && !cell.weakCompareAndSetVolatile(MAX, current, nanos)) {
+            // retries until another thread records a higher value or the update succeeds
+        }
+        cell.incrementAndGet(FIRST_BUCKET + bucket(nanos));
+    }
+
+    private AtomicLongArray cell() {
+        long id = Thread.currentThread().threadId();
+        int index = (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & (STRIPES - 1);
+        var cell = cells.get(index);
+        if (cell != null)
+            return cell;
+        cell = new AtomicLongArray(FIRST_BUCKET + BUCKETS);
+        cell.set(MIN, Long.MAX_VALUE);
+        return cells.compareAndSet(index, null, cell) ? cell : cells.get(index);
+    }
+
+    /**
+     * Takes the executions recorded since the previous call and resets the counters.
+     *
+     * @return The executions, or {@code null} if there was none
+     */
+    Snapshot drain() {
+        long count = 0;
+        long errors = 0;
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        long[] buckets = null;
+        for (int i = 0; i < STRIPES; i++) {
+            var cell = cells.get(i);
+            if (cell == null || cell.get(COUNT) == 0)
+                continue;
+            count += cell.getAndSet(COUNT, 0);
+            errors += cell.getAndSet(ERRORS, 0);
+            sum += cell.getAndSet(SUM, 0);
+            min = Math.min(min, cell.getAndSet(MIN, Long.MAX_VALUE));
+            max = Math.max(max, cell.getAndSet(MAX, 0));
+            if (buckets == null)
+                buckets = new long[BUCKETS];
+            for (int bucket = 0; bucket < BUCKETS; bucket++)
+                if (cell.get(FIRST_BUCKET + bucket) != 0)
+                    buckets[bucket] += cell.getAndSet(FIRST_BUCKET + bucket, 0);
+        }
+        if (count == 0)
+            return null;
+        return new Snapshot(count, errors, sum, Math.min(min, max), max, buckets);
+    }
+
+    static int bucket(long nanos) {
+        long units = nanos >>> UNIT_SHIFT;
+        if (units < SUB_BUCKETS)
+            return (int) units;
+        int exponent = 63 - Long.numberOfLeadingZeros(units);
+        if (exponent > MAX_EXPONENT)
+            return BUCKETS - 1;
+        int subBucket = (int) (units >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return The middle of the range of durations counted in {@code bucket}, in nanoseconds
+     */
+    static long midpoint(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return ((2L * bucket + 1) << UNIT_SHIFT) / 2;
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS) * width;
+        return (2 * lower + width) << (UNIT_SHIFT - 1);
+    }
+
+    /**
+     * The executions of one interval.
+     *
+     * @param count    The number of executions
+     * @param errors   The number of executions that threw
+     * @param sumNanos The total execution time in nanoseconds
+     * @param minNanos The shortest execution time in nanoseconds
+     * @param maxNanos The longest execution time in nanoseconds
+     * @param buckets  The histogram of the execution times
+     */
+    record Snapshot(long count, long errors, long sumNanos, long minNanos, long maxNanos, long[] buckets) {
+
+        long meanNanos() {
+            return sumNanos / count;
+        }
+
+        /**
+         * @param percentile The percentile, between {@code 0} exclusive and {@code 1} inclusive
+         * @return The estimated execution time below which {@code percentile} of the executions fall, in nanoseconds
+         */
+        long percentileNanos(double percentile) {
+            long total = 0;
+            for (long bucket : buckets)
+                total += bucket;
+            long rank = (long) Math.ceil(percentile * total);
+            if (rank >= total)
+                return maxNanos;
+            long seen = 0;
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                seen += buckets[bucket];
+                if (seen >= rank && buckets[bucket] > 0)
+                    return Math.max(minNanos, Math.min(maxNanos, midpoint(bucket)));
+            }
+            return maxNanos;
+        }
+    }
+}
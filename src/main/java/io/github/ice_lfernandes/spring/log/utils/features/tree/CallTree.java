@@ -0,0 +1,208 @@
+package io.github.ice_lfernandes.spring.log.utils.features.tree;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.json.JsonRenderer;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * The spans of the intercepted calls nested in one root call, in preallocated parallel arrays.
+ * <p>
+ * Spans are stored in the order the calls start, i.e. in depth-first order, with the index of their parent and their
+ * depth, so entering and exiting a call only writes a few array slots. A tree is confined to the thread running its
+ * root call and reused for later root calls once {@link #reset() reset}. When more calls than {@code maxSpans} are
+ * nested, the extra calls are only counted, and their time is part of their parent's self time.
+ * </p>
+ */
+public final class CallTree {
+
+    private final InterceptionDescriptor[] descriptors;
+    private final int[] parents;
+    private final int[] depths;
+    private final long[] starts;
+    private final long[] ends;
+    private final boolean[] failures;
+    private int size;
+    private int current = -1;
+    private int depth;
+    private int dropped;
+
+    public CallTree(int maxSpans) {
+        this.descriptors = new InterceptionDescriptor[maxSpans];
+        this.parents = new int[maxSpans];
+        this.depths = new int[maxSpans];
+        this.starts = new long[maxSpans];
+        this.ends = new long[maxSpans];
+        this.failures = new boolean[maxSpans];
+    }
+
+    /**
+     * Opens the span of a call starting now, as a child of the innermost open span.
+     *
+     * @param descriptor The interception metadata of the called method
+     * @return The index of the span, to pass to {@link #exit}, or {@code -1} if the tree is full
+     */
+    public int enter(InterceptionDescriptor descriptor) {
+        int span = -1;
+        if (size < descriptors.length) {
+            span = size++;
+            descriptors[span] = descriptor;
+            parents[span] = current;
+            depths[span] = depth;
+            failures[span] = false;
+            current = span;
+            starts[span] = System.nanoTime();
+        } else {
+            dropped++;
+        }
+        depth++;
+        return span;
+    }
+
+    /**
+     * Closes a span opened by {@link #enter}.
+     *
+     * @param span   The index returned by {@link #enter}
+     * @param failed Whether the call threw
+     */
+    public void exit(int span, boolean failed) {
+        depth--;
+        if (span < 0)
+            return;
+        ends[span] = System.nanoTime();
+        failures[span] = failed;
+        current = parents[span];
+    }
+
+    /**
+     * @return {@code true} if no span is open
+     */
+    public boolean isClosed() {
+        return depth == 0;
+    }
+
+    /**
+     * Copies the spans into an immutable snapshot, formatted only when written.
+     *
+     * @return The snapshot of the spans
+     */
+    public Snapshot snapshot() {
+        long[] totals = new long[size];
+        long[] selves = new long[size];
+        for (int i = 0; i < size; i++) {
+            totals[i] = ends[i] - starts[i];
+            selves[i] += totals[i];
+            if (parents[i] >= 0)
+                selves[parents[i]] -= totals[i];
+        }
+        return new Snapshot(Arrays.copyOf(descriptors, size), Arrays.copyOf(parents, size),
+                Arrays.copyOf(depths, size), totals, selves, Arrays.copyOf(failures, size), dropped);
+    }
+
+    /**
+     * Clears the spans so that the tree can be reused for another root call.
+     */
+    public void reset() {
+        Arrays.fill(descriptors, 0, size, null);
+        size = 0;
+        current = -1;
+        depth = 0;
+        dropped = 0;
+    }
+
+    /**
+     * The spans of a finished tree. Its text form is a header line for the root call followed by one indented line per
+     * span, with the total and self times of the call:
+     * <pre>
+     * stage=tree, method=create, class=OrderController, spans=3, time-execution=12ms
+     *   OrderController.create total=12.345ms, self=1.200ms
+     *     OrderService.place total=11.145ms, self=6.100ms
+     *       PaymentClient.charge total=5.045ms, self=5.045ms, error=true
+     * </pre>
+     *
+     * @param descriptors The interception metadata of the called methods, in depth-first order
+     * @param parents     The index of the parent of each span, {@code -1} for the root
+     * @param depths      The depth of each span, {@code 0} for the root
+     * @param totals      The duration of each call in nanoseconds
+     * @param selves      The duration of each call minus the durations of its recorded children, in nanoseconds
+     * @param failures    Whether each call threw
+     * @param dropped     The number of calls that were not recorded because the tree was full
+     */
+    public record Snapshot(InterceptionDescriptor[] descriptors, int[] parents, int[] depths, long[] totals,
+                           long[] selves, boolean[] failures, int dropped) {
+
+        /**
+         * @return A view of the tree whose {@code toString()} is {@link #toJson()}, so that the JSON is only encoded
+         * when the line is written
+         */
+        public Object json() {
+            return new Object() {
+                @Override
+                public String toString() {
+                    return toJson();
+                }
+            };
+        }
+
+        /**
+         * @return The tree as a JSON object, with the spans in depth-first order
+         */
+        public String toJson() {
+            return JsonRenderer.encode(writer -> {
+                var generator = writer.generator();
+                generator.writeStartObject();
+                generator.writeStringField("stage", "tree");
+                generator.writeStringField("method", descriptors[0].methodName());
+                generator.writeStringField("class", descriptors[0].className());
+                if (!descriptors[0].httpMapping().isEmpty())
+                    generator.writeStringField("http", descriptors[0].httpMapping());
+                if (dropped > 0)
+                    generator.writeNumberField("dropped", dropped);
+                generator.writeNumberField("timeExecutionMs", totals[0] / 1_000_000);
+                generator.writeArrayFieldStart("spans");
+                for (int i = 0; i < descriptors.length; i++) {
+                    generator.writeStartObject();
+                    generator.writeStringField("method", descriptors[i].methodName());
+                    generator.writeStringField("class", descriptors[i].className());
+                    generator.writeNumberField("parent", parents[i]);
+                    generator.writeNumberField("depth", depths[i]);
+                    generator.writeNumberField("totalMs", millis(totals[i]));
+                    generator.writeNumberField("selfMs", millis(selves[i]));
+                    if (failures[i])
+                        generator.writeBooleanField("error", true);
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            });
+        }
+
+        @Override
+        public String toString() {
+            var text = new StringBuilder(64 + 64 * descriptors.length)
+                    .append("stage=tree, method=").append(descriptors[0].methodName())
+                    .append(", class=").append(descriptors[0].className())
+                    .append(", spans=").append(descriptors.length);
+            if (dropped > 0)
+                text.append(", dropped=").append(dropped);
+            text.append(", time-execution=").append(totals[0] / 1_000_000).append("ms");
+            for (int i = 0; i < descriptors.length; i++) {
+                text.append('\n').repeat(' ', 2 + 2 * depths[i])
+                        .append(descriptors[i].className()).append('.').append(descriptors[i].methodName())
+                        .append(" total=").append(millis(totals[i]))
+                        .append("ms, self=").append(millis(selves[i])).append("ms");
+                if (failures[i])
+                    text.append(", error=true");
+            }
+            return text.toString();
+        }
+
+        /**
+         * @return {@code nanos} in milliseconds, with microsecond precision
+         */
+        private static BigDecimal millis(long nanos) {
+            return BigDecimal.valueOf(nanos / 1_000, 3);
+        }
+    }
+}
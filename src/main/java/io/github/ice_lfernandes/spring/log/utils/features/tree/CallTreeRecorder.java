@@ -0,0 +1,90 @@
+package io.github.ice_lfernandes.spring.log.utils.features.tree;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.properties.TreeProperties;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Records the intercepted calls nested in the calls in {@link LogMode#TREE} mode into {@link CallTree}s.
+ * <p>
+ * A call in {@code TREE} mode that isn't nested in another recorded call opens a tree, bound to its thread until it
+ * returns; every intercepted call it makes on that thread, whatever its mode, is recorded as a span of the tree, and
+ * the tree is written as a single entry once the root call returns. Trees are taken from a pool of {@code pool-size}
+ * trees of {@code max-spans} spans allocated at startup, so recording a call allocates nothing; the thread only holds
+ * a reference to its tree while the root call runs, which suits virtual threads as well. When the pool is empty, a
+ * new tree is allocated and dropped after use.
+ * </p>
+ *
+ * <p>Calls made on other threads, e.g. by {@code @Async} methods or reactive operators, aren't part of the tree, and
+ * calls returning an asynchronous result are timed until they return it.</p>
+ *
+ * <p>Example configuration:
+ * <pre>
+ * spring.log-utils.execution.mode=TREE
+ * spring.log-utils.tree.max-spans=256
+ * spring.log-utils.tree.pool-size=16
+ * </pre>
+ */
+@Component
+@EnableConfigurationProperties(TreeProperties.class)
+public class CallTreeRecorder implements InitializingBean {
+
+    private final int maxSpans;
+    private final BlockingQueue<CallTree> pool;
+    private final ThreadLocal<CallTree> current = new ThreadLocal<>();
+
+    public CallTreeRecorder(TreeProperties treeProperties) {
+        this.maxSpans = treeProperties.maxSpans();
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, treeProperties.poolSize()));
+        for (int i = 0; i < treeProperties.poolSize(); i++)
+            pool.offer(new CallTree(maxSpans));
+    }
+
+    /**
+     * Makes this instance the one used by {@link LoggingCommonsMethods}.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        LoggingCommonsMethods.setCallTreeRecorder(this);
+    }
+
+    /**
+     * @return The tree recording the calls of the current thread, {@code null} if no root call is running
+     */
+    public CallTree current() {
+        return current.get();
+    }
+
+    /**
+     * Opens a tree for a root call of the current thread.
+     *
+     * @return The tree, bound to the current thread until {@link #close} is called
+     */
+    public CallTree open() {
+        var tree = pool.poll();
+        if (tree == null)
+            tree = new CallTree(maxSpans);
+        current.set(tree);
+        return tree;
+    }
+
+    /**
+     * Unbinds a tree opened by {@link #open()} from the current thread and returns it to the pool.
+     *
+     * @param tree The tree, whose root call has returned
+     * @return The snapshot of the recorded spans
+     */
+    public CallTree.Snapshot close(CallTree tree) {
+        current.remove();
+        var snapshot = tree.snapshot();
+        tree.reset();
+        pool.offer(tree);
+        return snapshot;
+    }
+}
@@ -0,0 +1,262 @@
+package io.github.ice_lfernandes.spring.log.utils.processor;
+
+import com.sun.source.util.Trees;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.ObjectMaskers;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor generating a dedicated {@link io.github.ice_lfernandes.spring.log.utils.features.masking.ObjectMasker}
+ * for every class implementing {@code LogMask} that declares {@code @MaskSensitiveData} fields.
+ * <p>
+ * For {@code com.acme.User} it generates {@code com.acme.UserLogMasker}, which reads every field in straight-line code
+ * and calls the masker resolved for it once, in a static constant. {@code LogMask.mask} picks it up through
+ * {@link ObjectMaskers} and falls back to reflection for classes without a generated masker.
+ * </p>
+ *
+ * <p>A masker is only generated when the generated code can read every declared field exactly as reflection would:
+ * <ul>
+ *   <li>records, through their implicit accessors</li>
+ *   <li>classes whose fields are not {@code private}</li>
+ * </ul>
+ * Other classes (private fields, explicit record accessors, inner or private classes) silently keep using reflection.
+ * Nested classes are joined with {@code _}, so {@code Outer.User} and {@code Outer_User} map to the same masker name:
+ * when two classes collide, a warning is reported and neither of them gets a masker in that compilation. The generated
+ * masker returns its class from {@link io.github.ice_lfernandes.spring.log.utils.features.masking.ObjectMasker#type()},
+ * so a masker generated for a colliding class in another compilation is never used for the wrong class.
+ * </p>
+ *
+ * <p>Enable it by adding the library to the annotation processor path, e.g. in Gradle:
+ * <pre>
+ * annotationProcessor 'io.github.open-source-lfernandes:spring-log-utils:1.0.0'
+ * </pre>
+ *
+ * <p>The processor is registered in the library's {@code META-INF/services}, so compilers discovering processors on
+ * the compile classpath (javac before JDK 23, Maven without {@code annotationProcessorPaths}) run it as well. It
+ * generates nothing for types that are not {@code LogMask}; declaring the processors explicitly keeps it off.</p>
+ */
+@SupportedAnnotationTypes(LogMaskProcessor.MASK_SENSITIVE_DATA)
+public class LogMaskProcessor extends AbstractProcessor {
+
+    static final String MASK_SENSITIVE_DATA = "io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData";
+    private static final String LOG_MASK = "io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask";
+    private static final String MASKING_PACKAGE = "io.github.ice_lfernandes.spring.log.utils.features.masking";
+    private static final String MASKED_TYPE = "io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType";
+
+    // the maskers generated in the previous rounds
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement maskSensitiveData = processingEnv.getElementUtils().getTypeElement(MASK_SENSITIVE_DATA);
+        TypeElement logMask = processingEnv.getElementUtils().getTypeElement(LOG_MASK);
+        if (maskSensitiveData == null || logMask == null)
+            return false;
+
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(maskSensitiveData)) {
+            if (element.getEnclosingElement() instanceof TypeElement type)
+                types.add(type);
+        }
+        Map<String, List<TypeElement>> byMasker = new LinkedHashMap<>();
+        for (TypeElement type : types) {
+            if (processingEnv.getTypeUtils().isAssignable(type.asType(), logMask.asType()) && isSupported(type))
+                byMasker.computeIfAbsent(qualifiedMaskerName(type), name -> new ArrayList<>()).add(type);
+        }
+        for (Map.Entry<String, List<TypeElement>> entry : byMasker.entrySet()) {
+            List<TypeElement> colliding = entry.getValue();
+            if (colliding.size() == 1 && !generated.contains(entry.getKey())) {
+                generate(colliding.get(0), entry.getKey());
+            } else {
+                for (TypeElement type : colliding)
+                    skip(type, entry.getKey(), "another type maps to the same name");
+            }
+        }
+        return false;
+    }
+
+    private void skip(TypeElement type, String qualifiedMaskerName, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Not generating " + qualifiedMaskerName
+                + ": " + reason + ", " + type.getQualifiedName() + " is masked through reflection", type);
+    }
+
+    private boolean isSupported(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.RECORD)
+            return false;
+        for (Element current = type; current instanceof TypeElement nested; current = current.getEnclosingElement()) {
+            if (nested.getModifiers().contains(Modifier.PRIVATE)
+                    || nested.getNestingKind() == NestingKind.LOCAL
+                    || nested.getNestingKind() == NestingKind.ANONYMOUS
+                    || (nested.getNestingKind() == NestingKind.MEMBER && nested.getKind() == ElementKind.CLASS
+                    && !nested.getModifiers().contains(Modifier.STATIC)))
+                return false;
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.PRIVATE) && !isImplicitRecordComponent(type, field))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean isImplicitRecordComponent(TypeElement type, VariableElement field) {
+        if (type.getKind() != ElementKind.RECORD || field.getModifiers().contains(Modifier.STATIC))
+            return false;
+        return type.getRecordComponents().stream()
+                .filter(component -> component.getSimpleName().contentEquals(field.getSimpleName()))
+                .map(RecordComponentElement::getAccessor)
+                .anyMatch(this::isImplicitAccessor);
+    }
+
+    /**
+     * Some javac versions report implicit record accessors as {@link Elements.Origin#EXPLICIT}, so the compiler tree
+     * is checked as well: implicit accessors have no source tree. Without the javac tree API, accessors are treated
+     * as explicit and the record keeps using reflection.
+     */
+    private boolean isImplicitAccessor(ExecutableElement accessor) {
+        if (processingEnv.getElementUtils().getOrigin(accessor) == Elements.Origin.MANDATED)
+            return true;
+        try {
+            return Trees.instance(processingEnv).getTree(accessor) == null;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private String qualifiedMaskerName(TypeElement type) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String maskerName = flatName(type) + ObjectMaskers.GENERATED_SUFFIX;
+        return pkg.isUnnamed() ? maskerName : pkg.getQualifiedName() + "." + maskerName;
+    }
+
+    private void generate(TypeElement type, String qualifiedMaskerName) {
+        Elements elements = processingEnv.getElementUtils();
+        PackageElement pkg = elements.getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+        String maskerName = flatName(type) + ObjectMaskers.GENERATED_SUFFIX;
+
+        StringBuilder constants = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        List<VariableElement> fields = ElementFilter.fieldsIn(type.getEnclosedElements());
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            String read = field.getModifiers().contains(Modifier.STATIC)
+                    ? typeName + "." + field.getSimpleName()
+                    : type.getKind() == ElementKind.RECORD && field.getModifiers().contains(Modifier.PRIVATE)
+                    ? "value." + field.getSimpleName() + "()"
+                    : "value." + field.getSimpleName();
+            body.append("        out.append(").append(elements.getConstantExpression((i == 0 ? "" : ", ") + field.getSimpleName() + "=")).append(");\n");
+
+            AnnotationMirror annotation = findMaskSensitiveData(field);
+            if (annotation != null) {
+                constants.append("    private static final Masker MASKER_").append(i).append(" = ").append(maskerExpression(annotation)).append(";\n");
+                body.append("        Maskers.appendMasked(").append(read).append(", MASKER_").append(i).append(", out);\n");
+            } else if (field.asType().getKind().isPrimitive()) {
+                body.append("        out.append(").append(read).append(");\n");
+            } else {
+                body.append("        out.append((Object) ").append(read).append(");\n");
+            }
+        }
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedMaskerName, type).openWriter()) {
+            if (!packageName.isEmpty())
+                writer.write("package " + packageName + ";\n\n");
+            writer.write("import " + MASKING_PACKAGE + ".Masker;\n");
+            writer.write("import " + MASKING_PACKAGE + ".Maskers;\n");
+            writer.write("import " + MASKING_PACKAGE + ".ObjectMasker;\n\n");
+            writer.write("@javax.annotation.processing.Generated(\"" + LogMaskProcessor.class.getName() + "\")\n");
+            writer.write("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+            writer.write("public final class " + maskerName + " implements ObjectMasker {\n\n");
+            writer.write(constants.toString());
+            if (!constants.isEmpty())
+                writer.write("\n");
+            writer.write("    @Override\n");
+            writer.write("    public Class<?> type() {\n");
+            writer.write("        return " + typeName + ".class;\n");
+            writer.write("    }\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public void maskTo(Object object, StringBuilder out) {\n");
+            writer.write("        " + typeName + " value = (" + typeName + ") object;\n");
+            writer.write("        out.append(" + elements.getConstantExpression(type.getSimpleName() + "{") + ");\n");
+            writer.write(body.toString());
+            writer.write("        out.append('}');\n");
+            writer.write("    }\n");
+            writer.write("}\n");
+            generated.add(qualifiedMaskerName);
+        } catch (FilerException e) {
+            // the name is taken, e.g. by a class of the compilation
+            skip(type, qualifiedMaskerName, e.getMessage());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not generate " + qualifiedMaskerName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private AnnotationMirror findMaskSensitiveData(VariableElement field) {
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(MASK_SENSITIVE_DATA))
+                return annotation;
+        }
+        return null;
+    }
+
+    /**
+     * Mirrors {@code Maskers.forAnnotation}: a non-blank custom regex takes precedence over the masked type.
+     */
+    private String maskerExpression(AnnotationMirror annotation) {
+        String customMaskRegex = "";
+        String maskedType = "ALL";
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            String name = entry.getKey().getSimpleName().toString();
+            Object value = entry.getValue().getValue();
+            if ("customMaskRegex".equals(name))
+                customMaskRegex = (String) value;
+            else if ("maskedType".equals(name) && value instanceof VariableElement constant)
+                maskedType = constant.getSimpleName().toString();
+        }
+        if (!customMaskRegex.isBlank())
+            return "Maskers.forRegex(" + processingEnv.getElementUtils().getConstantExpression(customMaskRegex) + ")";
+        return "Maskers.forType(" + MASKED_TYPE + "." + maskedType + ")";
+    }
+
+    private static String flatName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement outer; enclosing = outer.getEnclosingElement())
+            name.insert(0, outer.getSimpleName() + "_");
+        return name.toString();
+    }
+}
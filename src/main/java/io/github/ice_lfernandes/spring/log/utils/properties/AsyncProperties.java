@@ -0,0 +1,30 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.OverflowPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import static java.util.Objects.isNull;
+
+@ConfigurationProperties(prefix = "spring.log-utils.async")
+public record AsyncProperties(
+        Boolean enabled,
+        Integer bufferSize,
+        Integer workers,
+        OverflowPolicy overflowPolicy,
+        Integer sampleRate,
+        Boolean snapshotArguments
+) {
+
+    public AsyncProperties {
+        if (isNull(bufferSize) || bufferSize < 2)
+            bufferSize = 8192;
+        if (isNull(workers) || workers < 1)
+            workers = 1;
+        if (isNull(overflowPolicy))
+            overflowPolicy = OverflowPolicy.BLOCK;
+        if (isNull(sampleRate) || sampleRate < 1)
+            sampleRate = 10;
+        if (isNull(snapshotArguments))
+            snapshotArguments = false;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Initial runtime overrides, keyed by package, class or method, e.g. {@code com.acme}, {@code com.acme.UserController}
+ * or {@code com.acme.UserController.getUser}.
+ */
+@ConfigurationProperties(prefix = "spring.log-utils.control")
+public record ControlProperties(
+        Map<String, EndpointOverride> overrides
+) {
+
+    public ControlProperties {
+        if (isNull(overrides))
+            overrides = Map.of();
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+
+import java.time.Duration;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Logging settings of a package, class or method, overriding the configured ones at runtime. A {@code null} value
+ * keeps the inherited setting.
+ *
+ * @param enabled       Whether the calls are logged at all
+ * @param logParameters Whether the parameters are logged
+ * @param logReturn     Whether the result is logged
+ * @param mode          The logging mode
+ * @param slowThreshold The duration from which a call is slow
+ * @param samplingRate  The share of the calls that are logged, between {@code 0} and {@code 1}
+ * @param maxPerSecond  The maximum number of calls logged per second, {@code 0} for no limit
+ */
+public record EndpointOverride(
+        Boolean enabled,
+        Boolean logParameters,
+        Boolean logReturn,
+        LogMode mode,
+        Duration slowThreshold,
+        Double samplingRate,
+        Integer maxPerSecond
+) {
+
+    /**
+     * Override keeping every inherited setting.
+     */
+    public static final EndpointOverride NONE = new EndpointOverride(null, null, null, null, null, null, null);
+
+    public EndpointOverride {
+        if (mode == LogMode.DEFAULT)
+            mode = null;
+    }
+
+    /**
+     * @param specific The override of a more specific target
+     * @return These settings, overridden by the non-null settings of {@code specific}
+     */
+    public EndpointOverride merge(EndpointOverride specific) {
+        return new EndpointOverride(
+                isNull(specific.enabled) ? enabled : specific.enabled,
+                isNull(specific.logParameters) ? logParameters : specific.logParameters,
+                isNull(specific.logReturn) ? logReturn : specific.logReturn,
+                isNull(specific.mode) ? mode : specific.mode,
+                isNull(specific.slowThreshold) ? slowThreshold : specific.slowThreshold,
+                isNull(specific.samplingRate) ? samplingRate : specific.samplingRate,
+                isNull(specific.maxPerSecond) ? maxPerSecond : specific.maxPerSecond);
+    }
+
+    /**
+     * @param inherited The setting when not overridden
+     * @return Whether the calls are logged at all
+     */
+    public boolean resolveEnabled(boolean inherited) {
+        return isNull(enabled) ? inherited : enabled;
+    }
+
+    /**
+     * @param inherited The setting when not overridden
+     * @return Whether the parameters are logged
+     */
+    public boolean resolveLogParameters(boolean inherited) {
+        return isNull(logParameters) ? inherited : logParameters;
+    }
+
+    /**
+     * @param inherited The setting when not overridden
+     * @return Whether the result is logged
+     */
+    public boolean resolveLogReturn(boolean inherited) {
+        return isNull(logReturn) ? inherited : logReturn;
+    }
+
+    /**
+     * @param inherited The mode when not overridden
+     * @return The logging mode
+     */
+    public LogMode resolveMode(LogMode inherited) {
+        return isNull(mode) ? inherited : mode;
+    }
+
+    /**
+     * @param inheritedNanos The slow threshold in nanoseconds when not overridden
+     * @return The slow threshold in nanoseconds
+     */
+    public long resolveSlowThresholdNanos(long inheritedNanos) {
+        return isNull(slowThreshold) ? inheritedNanos : slowThreshold.toNanos();
+    }
+
+    /**
+     * @param configured The configured sampling, may be {@code null}
+     * @return {@code configured} with the sampling rate, rate limit and slow threshold of this override
+     */
+    public SamplingProperties applyTo(SamplingProperties configured) {
+        if (isNull(samplingRate) && isNull(maxPerSecond) && isNull(slowThreshold))
+            return configured;
+        if (isNull(configured))
+            return new SamplingProperties(samplingRate, maxPerSecond, null, null, slowThreshold);
+        return new SamplingProperties(
+                isNull(samplingRate) ? configured.rate() : samplingRate,
+                isNull(maxPerSecond) ? configured.maxPerSecond() : maxPerSecond,
+                isNull(maxPerSecond) ? configured.burst() : null,
+                configured.alwaysLogErrors(),
+                isNull(slowThreshold) ? configured.slowThreshold() : slowThreshold);
+    }
+}
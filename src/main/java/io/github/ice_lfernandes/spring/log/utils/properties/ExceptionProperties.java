@@ -0,0 +1,27 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+import static java.util.Objects.isNull;
+
+@ConfigurationProperties(prefix = "spring.log-utils.exceptions")
+public record ExceptionProperties(
+        Duration window,
+        Integer maxFingerprints,
+        Integer fingerprintFrames,
+        Integer stackDepth
+) {
+
+    public ExceptionProperties {
+        if (isNull(window) || window.isNegative() || window.isZero())
+            window = Duration.ofMinutes(1);
+        if (isNull(maxFingerprints) || maxFingerprints < 0)
+            maxFingerprints = 1000;
+        if (isNull(fingerprintFrames) || fingerprintFrames < 0)
+            fingerprintFrames = 5;
+        if (isNull(stackDepth) || stackDepth < 0)
+            stackDepth = 10;
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogFormat;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+
+@ConfigurationProperties(prefix = "spring.log-utils.execution")
+public record ExecutionProperties(
+        LogMode mode,
+        Duration slowThreshold,
+        LogFormat format
+) {
+
+    public ExecutionProperties {
+        if (isNull(mode) || mode == LogMode.DEFAULT)
+            mode = LogMode.FULL;
+        if (isNull(slowThreshold) || slowThreshold.isNegative())
+            slowThreshold = Duration.ofMillis(500);
+        if (isNull(format))
+            format = LogFormat.TEXT;
+    }
+
+    /**
+     * @param annotated The mode set on an annotation
+     * @return {@code annotated}, or the configured mode if it is {@link LogMode#DEFAULT}
+     */
+    public LogMode resolveMode(LogMode annotated) {
+        return annotated == LogMode.DEFAULT ? mode : annotated;
+    }
+
+    /**
+     * @param annotatedMillis The slow threshold set on an annotation, negative if unset
+     * @return The slow threshold in nanoseconds, falling back to the configured one
+     */
+    public long resolveSlowThresholdNanos(long annotatedMillis) {
+        return annotatedMillis < 0 ? slowThreshold.toNanos() : TimeUnit.MILLISECONDS.toNanos(annotatedMillis);
+    }
+}
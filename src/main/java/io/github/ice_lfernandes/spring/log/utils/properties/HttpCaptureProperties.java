@@ -0,0 +1,36 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.PiiType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+@ConfigurationProperties(prefix = "spring.log-utils.http-capture")
+public record HttpCaptureProperties(
+        Boolean enabled,
+        Integer maxBodyBytes,
+        Integer poolSize,
+        List<PiiType> piiTypes,
+        String requestIdHeader,
+        List<String> maskedFields,
+        Boolean unstructuredBodies
+) {
+
+    public HttpCaptureProperties {
+        if (isNull(maxBodyBytes) || maxBodyBytes < 0)
+            maxBodyBytes = 4096;
+        if (isNull(poolSize) || poolSize < 0)
+            poolSize = 64;
+        if (isNull(piiTypes))
+            piiTypes = List.of(PiiType.values());
+        if (isNull(requestIdHeader) || requestIdHeader.isBlank())
+            requestIdHeader = "X-Request-Id";
+        if (isNull(maskedFields))
+            maskedFields = List.of("password", "passwd", "secret", "token", "authorization", "apiKey", "cardNumber",
+                    "cvv", "cvc", "pin", "ssn");
+        if (isNull(unstructuredBodies))
+            unstructuredBodies = false;
+    }
+}
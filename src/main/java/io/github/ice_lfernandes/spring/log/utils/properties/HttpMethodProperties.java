@@ -1,6 +1,7 @@
 package io.github.ice_lfernandes.spring.log.utils.properties;
 
 public record HttpMethodProperties(
-        Boolean enabled
+        Boolean enabled,
+        SamplingProperties sampling
 ) {
 }
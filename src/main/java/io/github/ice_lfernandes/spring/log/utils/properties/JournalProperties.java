@@ -0,0 +1,31 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import static java.util.Objects.isNull;
+
+@ConfigurationProperties(prefix = "spring.log-utils.journal")
+public record JournalProperties(
+        Boolean enabled,
+        String directory,
+        DataSize segmentSize,
+        Integer segments,
+        Integer maxPayloadBytes
+) {
+
+    public JournalProperties {
+        if (isNull(directory) || directory.isBlank())
+            directory = "log-utils-journal";
+        if (isNull(segmentSize) || segmentSize.toBytes() < 4096)
+            segmentSize = DataSize.ofMegabytes(64);
+        if (segmentSize.toBytes() > Integer.MAX_VALUE)
+            segmentSize = DataSize.ofBytes(Integer.MAX_VALUE);
+        if (isNull(segments) || segments < 2)
+            segments = 4;
+        if (isNull(maxPayloadBytes) || maxPayloadBytes < 0)
+            maxPayloadBytes = 1024;
+        if (maxPayloadBytes > Short.MAX_VALUE)
+            maxPayloadBytes = (int) Short.MAX_VALUE;
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+import static java.util.Objects.isNull;
+
+@ConfigurationProperties(prefix = "spring.log-utils.mask-cache")
+public record MaskCacheProperties(
+        Boolean enabled,
+        Long maximumSize,
+        Duration expireAfterWrite,
+        Integer maxValueLength
+) {
+
+    public MaskCacheProperties {
+        if (isNull(maximumSize) || maximumSize < 0)
+            maximumSize = 10_000L;
+        if (isNull(expireAfterWrite) || expireAfterWrite.isNegative() || expireAfterWrite.isZero())
+            expireAfterWrite = Duration.ofMinutes(10);
+        if (isNull(maxValueLength) || maxValueLength < 0)
+            maxValueLength = 256;
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+@ConfigurationProperties(prefix = "spring.log-utils.metrics")
+public record MetricsProperties(
+        Boolean enabled,
+        String name,
+        List<Double> percentiles,
+        Boolean histogram
+) {
+
+    public MetricsProperties {
+        if (isNull(name) || name.isBlank())
+            name = "log.utils.executions";
+        if (isNull(percentiles))
+            percentiles = List.of(0.5, 0.95, 0.99);
+        if (isNull(histogram))
+            histogram = false;
+    }
+}
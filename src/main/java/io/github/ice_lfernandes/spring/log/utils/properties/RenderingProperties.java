@@ -0,0 +1,24 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import static java.util.Objects.isNull;
+
+@ConfigurationProperties(prefix = "spring.log-utils.rendering")
+public record RenderingProperties(
+        Integer maxChars,
+        Integer maxElements,
+        Integer maxDepth
+) {
+
+    /**
+     * @return The configured limits, falling back to {@link RenderLimits#DEFAULT} for unset values
+     */
+    public RenderLimits toLimits() {
+        return new RenderLimits(
+                isNull(maxChars) ? RenderLimits.DEFAULT.maxChars() : maxChars,
+                isNull(maxElements) ? RenderLimits.DEFAULT.maxElements() : maxElements,
+                isNull(maxDepth) ? RenderLimits.DEFAULT.maxDepth() : maxDepth);
+    }
+}
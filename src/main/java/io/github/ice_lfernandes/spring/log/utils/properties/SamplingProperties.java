@@ -0,0 +1,34 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import java.time.Duration;
+
+import static java.util.Objects.isNull;
+
+public record SamplingProperties(
+        Double rate,
+        Integer maxPerSecond,
+        Integer burst,
+        Boolean alwaysLogErrors,
+        Duration slowThreshold
+) {
+
+    public SamplingProperties {
+        if (isNull(rate) || rate > 1)
+            rate = 1.0;
+        if (rate < 0)
+            rate = 0.0;
+        if (isNull(maxPerSecond) || maxPerSecond < 0)
+            maxPerSecond = 0;
+        if (isNull(burst) || burst < 1)
+            burst = Math.max(1, maxPerSecond);
+        if (isNull(alwaysLogErrors))
+            alwaysLogErrors = true;
+    }
+
+    /**
+     * @return {@code true} if every call is logged, i.e. neither a sampling rate nor a rate limit is configured
+     */
+    public boolean isLogEverything() {
+        return rate >= 1 && maxPerSecond == 0;
+    }
+}
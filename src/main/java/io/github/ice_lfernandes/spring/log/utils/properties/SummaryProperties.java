@@ -0,0 +1,24 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+@ConfigurationProperties(prefix = "spring.log-utils.summary")
+public record SummaryProperties(
+        Boolean enabled,
+        Duration interval,
+        List<Double> percentiles
+) {
+
+    public SummaryProperties {
+        if (isNull(interval) || interval.compareTo(Duration.ofSeconds(1)) < 0)
+            interval = Duration.ofSeconds(60);
+        if (isNull(percentiles))
+            percentiles = List.of(0.5, 0.95, 0.99);
+        percentiles = percentiles.stream().filter(percentile -> percentile > 0 && percentile <= 1).toList();
+    }
+}
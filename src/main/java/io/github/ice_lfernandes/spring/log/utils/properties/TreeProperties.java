@@ -0,0 +1,19 @@
+package io.github.ice_lfernandes.spring.log.utils.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import static java.util.Objects.isNull;
+
+@ConfigurationProperties(prefix = "spring.log-utils.tree")
+public record TreeProperties(
+        Integer maxSpans,
+        Integer poolSize
+) {
+
+    public TreeProperties {
+        if (isNull(maxSpans) || maxSpans < 1)
+            maxSpans = 256;
+        if (isNull(poolSize) || poolSize < 0)
+            poolSize = 16;
+    }
+}
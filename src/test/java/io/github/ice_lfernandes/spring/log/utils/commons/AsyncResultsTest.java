@@ -0,0 +1,80 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncResultsTest {
+
+    private static final InterceptionDescriptor DESCRIPTOR =
+            InterceptionDescriptor.of("getUser", "GreetingService", "", true, false, RenderLimits.DEFAULT);
+
+    private final List<Object[]> finishes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LoggingCommonsMethods.setLogSink((logger, level, template, arguments) -> {
+            if (template.equals(DESCRIPTOR.finishTemplate()))
+                finishes.add(arguments);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        LoggingCommonsMethods.setLogSink(LogSink.SYNC);
+    }
+
+    @Test
+    void shouldLogCompletableFutureOnCompletion() throws Throwable {
+        var future = new CompletableFuture<String>();
+        assertSame(future, LoggingCommonsMethods.logInterceptJoinPoint(joinPoint(future), DESCRIPTOR));
+        assertEquals(0, finishes.size());
+
+        future.complete("ok");
+        assertEquals(1, finishes.size());
+        assertEquals("ok", finishes.get(0)[2].toString());
+    }
+
+    @Test
+    void shouldLogMonoValueOnlyOnceWhenSubscribedTwice() throws Throwable {
+        var mono = (Mono<?>) LoggingCommonsMethods.logInterceptJoinPoint(joinPoint(Mono.just("ok")), DESCRIPTOR);
+        assertEquals(0, finishes.size());
+
+        mono.block();
+        mono.block();
+        assertEquals(1, finishes.size());
+        assertEquals("ok", finishes.get(0)[2].toString());
+    }
+
+    @Test
+    void shouldLogFluxElementCount() throws Throwable {
+        var flux = (Flux<?>) LoggingCommonsMethods.logInterceptJoinPoint(joinPoint(Flux.just(1, 2, 3)), DESCRIPTOR);
+        flux.blockLast();
+        assertEquals("Flux[elements=3]", finishes.get(0)[2].toString());
+    }
+
+    @Test
+    void shouldLogPlainResultsImmediately() throws Throwable {
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint("ok"), DESCRIPTOR);
+        assertEquals(1, finishes.size());
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object result) throws Throwable {
+        var joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+}
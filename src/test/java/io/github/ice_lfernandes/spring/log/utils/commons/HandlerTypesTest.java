@@ -0,0 +1,120 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandlerTypesTest {
+
+    @Test
+    void shouldWalkTypeArgumentsArraysAndFieldTypes() {
+        var types = new ArrayList<Class<?>>();
+        HandlerTypes.walk(method("find"), visitor(types, new ArrayList<>(), field -> true));
+
+        assertEquals(List.of(Customer.class, Address.class, Order.class, Item.class), types);
+    }
+
+    @Test
+    void shouldVisitInheritedFieldsOfTheWalkedType() {
+        var fields = new ArrayList<String>();
+        HandlerTypes.walk(method("save"), visitor(new ArrayList<>(), fields, field -> false));
+
+        assertEquals(List.of("Customer.name", "Customer.document", "Customer.address", "Customer.id"), fields);
+    }
+
+    @Test
+    void shouldNotWalkTheTypesOfFieldsTheVisitorSkips() {
+        var types = new ArrayList<Class<?>>();
+        var skipAddress = visitor(types, new ArrayList<>(), field -> !"address".equals(field.getName()));
+        HandlerTypes.walk(method("save"), skipAddress);
+
+        assertEquals(List.of(Customer.class), types);
+    }
+
+    @Test
+    void shouldNotVisitTypesAlreadyVisited() {
+        var types = new ArrayList<Class<?>>();
+        Set<Class<?>> visited = new HashSet<>();
+        HandlerTypes.walk(method("save"), visitor(types, new ArrayList<>(), field -> true), visited);
+        HandlerTypes.walk(method("find"), visitor(types, new ArrayList<>(), field -> true), visited);
+
+        assertEquals(List.of(Customer.class, Address.class, Order.class, Item.class), types);
+    }
+
+    @Test
+    void shouldNotTreatFrameworkTypesAsApplicationTypes() {
+        assertTrue(HandlerTypes.isApplicationType(Order.class));
+        assertFalse(HandlerTypes.isApplicationType(Object.class));
+        assertFalse(HandlerTypes.isApplicationType(int.class));
+        assertFalse(HandlerTypes.isApplicationType(ResponseEntity.class));
+        assertFalse(HandlerTypes.isApplicationType(null));
+    }
+
+    private static HandlerTypes.Visitor visitor(List<Class<?>> types, List<String> fields, Predicate<Field> walkField) {
+        return new HandlerTypes.Visitor() {
+            @Override
+            public void type(Class<?> type) {
+                types.add(type);
+            }
+
+            @Override
+            public boolean field(Class<?> type, Field field) {
+                fields.add(type.getSimpleName() + "." + field.getName());
+                return walkField.test(field);
+            }
+        };
+    }
+
+    private static Method method(String name) {
+        for (Method method : OrderController.class.getDeclaredMethods()) {
+            if (method.getName().equals(name))
+                return method;
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    static class OrderController {
+
+        ResponseEntity<List<Order>> find(Map<String, Customer> customers) {
+            return null;
+        }
+
+        void save(Customer customer) {
+        }
+    }
+
+    static class Entity {
+        Long id;
+    }
+
+    static class Customer extends Entity {
+        static final String TYPE = "customer";
+        String name;
+        String document;
+        Address address;
+    }
+
+    static class Address {
+        String street;
+    }
+
+    static class Order {
+        Item[] items;
+    }
+
+    static class Item {
+        String sku;
+    }
+}
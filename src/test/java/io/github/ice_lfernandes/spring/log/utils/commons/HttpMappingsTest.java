@@ -0,0 +1,76 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HttpMappingsTest {
+
+    @Test
+    void shouldJoinTheClassAndMethodPaths() {
+        assertEquals("GET /orders/{id}", HttpMappings.describe(method(OrderController.class, "find")));
+        assertEquals("POST /orders", HttpMappings.describe(method(OrderController.class, "create")));
+    }
+
+    @Test
+    void shouldListEveryVerbOfARequestMapping() {
+        assertEquals("GET,POST /orders/search", HttpMappings.describe(method(OrderController.class, "search")));
+        assertEquals("/orders/all", HttpMappings.describe(method(OrderController.class, "all")));
+    }
+
+    @Test
+    void shouldDescribeAMappingWithoutPathAsTheRoot() {
+        assertEquals("GET /", HttpMappings.describe(method(HomeController.class, "home")));
+    }
+
+    @Test
+    void shouldNotDescribeMethodsThatAreNotMapped() {
+        assertEquals("", HttpMappings.describe(method(OrderController.class, "validate")));
+    }
+
+    private static Method method(Class<?> type, String name) {
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.getName().equals(name))
+                return method;
+        }
+        throw new IllegalStateException("No method " + name);
+    }
+
+    @RequestMapping("/orders")
+    static class OrderController {
+
+        @GetMapping("/{id}")
+        public String find(long id) {
+            return "order-" + id;
+        }
+
+        @PostMapping
+        public void create() {
+        }
+
+        @RequestMapping(path = "/search", method = {RequestMethod.GET, RequestMethod.POST})
+        public void search() {
+        }
+
+        @RequestMapping("/all")
+        public void all() {
+        }
+
+        public void validate() {
+        }
+    }
+
+    static class HomeController {
+
+        @GetMapping
+        public String home() {
+            return "home";
+        }
+    }
+}
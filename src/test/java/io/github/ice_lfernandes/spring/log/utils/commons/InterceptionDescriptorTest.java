@@ -0,0 +1,66 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogFormat;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import org.junit.jupiter.api.Test;
+import org.slf4j.helpers.MessageFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InterceptionDescriptorTest {
+
+    private static final Object[] PARAMETERS = {1, "a"};
+
+    @Test
+    void shouldRenderAllDetailsByDefault() {
+        var descriptor = InterceptionDescriptor.of("getUser", "GreetingService", "", true, true, RenderLimits.DEFAULT);
+        assertEquals("stage=init, method=getUser, class=GreetingService, parameters=[1, a]",
+                format(descriptor.initTemplate(), descriptor.initArguments(PARAMETERS)));
+        assertEquals("stage=finish, method=getUser, class=GreetingService, parameters=[1, a], result=ok, time-execution=5ms",
+                format(descriptor.finishTemplate(), descriptor.finishArguments(PARAMETERS, "ok", 5)));
+    }
+
+    @Test
+    void shouldAlignArgumentsWithTemplateWhenParametersAreDisabled() {
+        var descriptor = InterceptionDescriptor.of("getUser", "GreetingService", "", true, false, RenderLimits.DEFAULT);
+        assertEquals("stage=init, method=getUser, class=GreetingService",
+                format(descriptor.initTemplate(), descriptor.initArguments(PARAMETERS)));
+        assertEquals("stage=finish, method=getUser, class=GreetingService, result=ok, time-execution=5ms",
+                format(descriptor.finishTemplate(), descriptor.finishArguments(PARAMETERS, "ok", 5)));
+    }
+
+    @Test
+    void shouldAlignArgumentsWithTemplateWhenReturnIsDisabled() {
+        var descriptor = InterceptionDescriptor.of("getUser", "GreetingService", "", false, true, RenderLimits.DEFAULT);
+        assertEquals("stage=finish, method=getUser, class=GreetingService, parameters=[1, a], time-execution=5ms",
+                format(descriptor.finishTemplate(), descriptor.finishArguments(PARAMETERS, "ok", 5)));
+    }
+
+    @Test
+    void shouldRenderCompactFinishLine() {
+        var descriptor = InterceptionDescriptor.of("getUser", "GreetingService", "", true, true, RenderLimits.DEFAULT);
+        assertEquals("stage=finish, method=getUser, class=GreetingService, time-execution=5ms",
+                format(descriptor.compactTemplate(), descriptor.compactArguments(5)));
+    }
+
+    @Test
+    void shouldRejectUnresolvedMode() {
+        var descriptor = InterceptionDescriptor.of("getUser", "GreetingService", "", true, true, RenderLimits.DEFAULT);
+        assertThrows(IllegalArgumentException.class, () -> descriptor.withMode(LogMode.DEFAULT, 0));
+    }
+
+    @Test
+    void shouldRenderJsonRecord() {
+        var descriptor = InterceptionDescriptor.of("getUser", "GreetingService", "GET /users", true, true, RenderLimits.DEFAULT)
+                .withFormat(LogFormat.JSON);
+        assertEquals("{\"stage\":\"finish\",\"method\":\"getUser\",\"class\":\"GreetingService\",\"http\":\"GET /users\","
+                        + "\"parameters\":[1,\"a\"],\"result\":\"ok\",\"timeExecutionMs\":5}",
+                format(descriptor.finishTemplate(), descriptor.finishArguments(PARAMETERS, "ok", 5)));
+    }
+
+    private static String format(String template, Object[] arguments) {
+        return MessageFormatter.arrayFormat(template, arguments).getMessage();
+    }
+}
@@ -0,0 +1,251 @@
+package io.github.ice_lfernandes.spring.log.utils.commons;
+
+import io.github.ice_lfernandes.spring.log.utils.features.conditions.LogConditions;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LogModeTest {
+
+    private static final InterceptionDescriptor DESCRIPTOR =
+            InterceptionDescriptor.of("getUser", "GreetingService", "", true, true, RenderLimits.DEFAULT);
+
+    private final List<String> templates = new ArrayList<>();
+
+    private final List<Level> levels = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LoggingCommonsMethods.setLogSink((logger, level, template, arguments) -> {
+            templates.add(template);
+            levels.add(level);
+            for (Object argument : arguments)
+                String.valueOf(argument);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        LoggingCommonsMethods.setLogSink(LogSink.SYNC);
+    }
+
+    @Test
+    void shouldWriteNothingForFastCallsInTailMode() throws Throwable {
+        var descriptor = DESCRIPTOR.withMode(LogMode.TAIL, TimeUnit.SECONDS.toNanos(10));
+        assertEquals("ok", LoggingCommonsMethods.logInterceptJoinPoint(joinPoint("ok"), descriptor));
+        assertTrue(templates.isEmpty());
+    }
+
+    @Test
+    void shouldWriteCompactLineForFastCallsInTailCompactMode() throws Throwable {
+        var descriptor = DESCRIPTOR.withMode(LogMode.TAIL_COMPACT, TimeUnit.SECONDS.toNanos(10));
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint("ok"), descriptor);
+        assertEquals(List.of(descriptor.compactTemplate()), templates);
+    }
+
+    @Test
+    void shouldWriteDeferredInitAndFinishLinesForSlowCalls() throws Throwable {
+        var descriptor = DESCRIPTOR.withMode(LogMode.TAIL_COMPACT, 1);
+        var joinPoint = joinPoint("ok");
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            Thread.sleep(1);
+            return "ok";
+        });
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, descriptor);
+        assertEquals(List.of(descriptor.initTemplate(), descriptor.finishTemplate()), templates);
+    }
+
+    @Test
+    void shouldWriteEveryCallInFullWithZeroSlowThreshold() throws Throwable {
+        var descriptor = DESCRIPTOR.withMode(LogMode.TAIL_COMPACT, 0);
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint("ok"), descriptor);
+        assertEquals(List.of(descriptor.initTemplate(), descriptor.finishTemplate()), templates);
+    }
+
+    @Test
+    void shouldLogUnsampledCallsOnlyFromSlowThreshold() throws Throwable {
+        LoggingCommonsMethods.logInterceptJoinPointIfNotable(joinPoint("ok"), DESCRIPTOR, Long.MAX_VALUE, true);
+        assertTrue(templates.isEmpty());
+        LoggingCommonsMethods.logInterceptJoinPointIfNotable(joinPoint("ok"), DESCRIPTOR, 0, true);
+        assertEquals(List.of(DESCRIPTOR.initTemplate(), DESCRIPTOR.finishTemplate()), templates);
+    }
+
+    @Test
+    void shouldWriteDeferredInitAndErrorLinesForFailedCalls() throws Throwable {
+        var descriptor = DESCRIPTOR.withMode(LogMode.TAIL, TimeUnit.SECONDS.toNanos(10));
+        var joinPoint = joinPoint("ok");
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+        assertThrows(IllegalStateException.class, () -> LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, descriptor));
+        assertEquals(List.of(descriptor.initTemplate(), descriptor.errorTemplate()), templates);
+    }
+
+    @Test
+    void shouldWriteOnlyFinishLineInSingleMode() throws Throwable {
+        var descriptor = DESCRIPTOR.withMode(LogMode.SINGLE, 0);
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint("ok"), descriptor);
+        assertEquals(List.of(descriptor.finishTemplate()), templates);
+    }
+
+    @Test
+    void shouldWriteOnlyErrorLineForFailedCallsInSingleMode() throws Throwable {
+        var descriptor = DESCRIPTOR.withMode(LogMode.SINGLE, 0);
+        var joinPoint = joinPoint("ok");
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+        assertThrows(IllegalStateException.class, () -> LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, descriptor));
+        assertEquals(List.of(descriptor.errorTemplate()), templates);
+    }
+
+    @Test
+    void shouldWriteInitAndErrorLinesForFailedCallsInFullMode() throws Throwable {
+        var joinPoint = joinPoint("ok");
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+        assertThrows(IllegalStateException.class, () -> LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, DESCRIPTOR));
+        assertEquals(List.of(DESCRIPTOR.initTemplate(), DESCRIPTOR.errorTemplate()), templates);
+        assertEquals(List.of(Level.INFO, Level.ERROR), levels);
+    }
+
+    @Test
+    void shouldRenderParametersOnceInFullMode() throws Throwable {
+        var renderings = new AtomicInteger();
+        var parameter = new Object() {
+            @Override
+            public String toString() {
+                renderings.incrementAndGet();
+                return "parameter";
+            }
+        };
+        var joinPoint = joinPoint("ok");
+        when(joinPoint.getArgs()).thenReturn(new Object[]{parameter});
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, DESCRIPTOR);
+        assertEquals(List.of(DESCRIPTOR.initTemplate(), DESCRIPTOR.finishTemplate()), templates);
+        assertEquals(1, renderings.get());
+    }
+
+    @Test
+    void shouldWriteParametersAsPassedInFinishLineOfFullMode() throws Throwable {
+        List<String> lines = new ArrayList<>();
+        LoggingCommonsMethods.setLogSink((logger, level, template, arguments) ->
+                lines.add(MessageFormatter.arrayFormat(template, arguments).getMessage()));
+        var parameter = new StringBuilder("before");
+        var joinPoint = joinPoint("ok");
+        when(joinPoint.getArgs()).thenReturn(new Object[]{parameter});
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            parameter.append("-after");
+            return "ok";
+        });
+
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, DESCRIPTOR);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("parameters=[before]"), lines.get(0));
+        assertTrue(lines.get(1).contains("parameters=[before]"), lines.get(1));
+
+        lines.clear();
+        parameter.setLength(0);
+        parameter.append("before");
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, DESCRIPTOR.withMode(LogMode.SINGLE, 0));
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("parameters=[before-after]"), lines.get(0));
+    }
+
+    @Test
+    void shouldSkipCallsNotMatchingConditionOrExcludedByUnless() throws Throwable {
+        var method = LogModeTest.class.getDeclaredMethod("getUser", Long.class);
+        var descriptor = DESCRIPTOR.withConditions(LogConditions.of(method, "#id > 0", "#result == 'skip'"));
+        var joinPoint = joinPoint("ok");
+        when(joinPoint.getArgs()).thenReturn(new Object[]{0L});
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, descriptor);
+        assertTrue(templates.isEmpty());
+
+        when(joinPoint.getArgs()).thenReturn(new Object[]{1L});
+        when(joinPoint.proceed()).thenReturn("skip");
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, descriptor);
+        assertTrue(templates.isEmpty());
+
+        when(joinPoint.proceed()).thenReturn("ok");
+        LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, descriptor);
+        assertEquals(List.of(descriptor.initTemplate(), descriptor.finishTemplate()), templates);
+    }
+
+    @Test
+    void shouldWriteOneTreeForNestedCallsInTreeMode() throws Throwable {
+        List<Object> entries = new ArrayList<>();
+        LoggingCommonsMethods.setLogSink((logger, level, template, arguments) -> {
+            templates.add(template);
+            entries.add(arguments[0]);
+        });
+        var root = DESCRIPTOR.withMode(LogMode.TREE, 0);
+        var child = InterceptionDescriptor.of("findUser", "UserRepository", "", true, true, RenderLimits.DEFAULT)
+                .withMode(LogMode.SINGLE, 0);
+        var childJoinPoint = joinPoint("user");
+        var joinPoint = joinPoint("ok");
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            LoggingCommonsMethods.logInterceptJoinPoint(childJoinPoint, child);
+            LoggingCommonsMethods.logInterceptJoinPoint(childJoinPoint, child.withMode(LogMode.TREE, 0));
+            return "ok";
+        });
+
+        assertEquals("ok", LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, root));
+        assertEquals(List.of(child.finishTemplate(), "{}"), templates);
+        var lines = entries.get(1).toString().lines().toList();
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).startsWith("stage=tree, method=getUser, class=GreetingService, spans=3, "));
+        assertTrue(lines.get(1).startsWith("  GreetingService.getUser total="));
+        assertTrue(lines.get(2).startsWith("    UserRepository.findUser total="));
+        assertTrue(lines.get(3).startsWith("    UserRepository.findUser total="));
+    }
+
+    @Test
+    void shouldResolveTheDescriptorOfAMethodLoggedWithoutAspectOnce() throws Throwable {
+        List<InterceptionDescriptor> descriptors = new ArrayList<>();
+        ExecutionListener listener = (descriptor, elapsedNanos, throwable) -> descriptors.add(descriptor);
+        var signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(LogModeTest.class.getDeclaredMethod("getUser", Long.class));
+        var joinPoint = joinPoint("ok");
+        when(joinPoint.getSignature()).thenReturn(signature);
+        LoggingCommonsMethods.addExecutionListener(listener);
+        try {
+            LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, true, false);
+            LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, true, false);
+            LoggingCommonsMethods.logInterceptJoinPoint(joinPoint, true, true);
+        } finally {
+            LoggingCommonsMethods.removeExecutionListener(listener);
+        }
+
+        assertSame(descriptors.get(0), descriptors.get(1));
+        assertNotSame(descriptors.get(0), descriptors.get(2));
+        assertSame(descriptors.get(0).methodId(), descriptors.get(2).methodId());
+        assertEquals(LogModeTest.class.getName(), descriptors.get(0).methodId().declaringClassName());
+        assertEquals("LogModeTest", descriptors.get(0).className());
+    }
+
+    @SuppressWarnings("unused")
+    private String getUser(Long id) {
+        return "user";
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object result) throws Throwable {
+        var joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{1});
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+}
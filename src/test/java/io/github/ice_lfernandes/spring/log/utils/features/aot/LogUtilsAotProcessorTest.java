@@ -0,0 +1,75 @@
+package io.github.ice_lfernandes.spring.log.utils.features.aot;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.LogExecution;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.generate.GenerationContext;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationCode;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LogUtilsAotProcessorTest {
+
+    private final LogUtilsAotProcessor processor = new LogUtilsAotProcessor();
+
+    @Test
+    void shouldRegisterInterceptedMethodsAndMaskedTypes() {
+        var beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("orderService", new RootBeanDefinition(OrderService.class));
+        var contribution = processor.processAheadOfTime(beanFactory);
+        assertNotNull(contribution);
+
+        var hints = new RuntimeHints();
+        var generationContext = mock(GenerationContext.class);
+        when(generationContext.getRuntimeHints()).thenReturn(hints);
+        contribution.applyTo(generationContext, mock(BeanFactoryInitializationCode.class));
+
+        var service = hints.reflection().getTypeHint(OrderService.class);
+        assertNotNull(service);
+        assertEquals(List.of("place"), service.methods().map(method -> method.getName()).toList());
+        assertTrue(hints.reflection().getTypeHint(Order.class).getMemberCategories().contains(MemberCategory.DECLARED_FIELDS));
+        assertTrue(hints.reflection().getTypeHint(Customer.class).getMemberCategories().contains(MemberCategory.DECLARED_FIELDS));
+        assertNull(hints.reflection().getTypeHint(Receipt.class));
+    }
+
+    @Test
+    void shouldContributeNothingWithoutInterceptedMethods() {
+        var beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("receipt", new RootBeanDefinition(Receipt.class));
+        assertNull(processor.processAheadOfTime(beanFactory));
+    }
+
+    static class OrderService {
+
+        @LogExecution
+        public Receipt place(Order order) {
+            return new Receipt(order.id());
+        }
+
+        public Order find(Long id) {
+            return null;
+        }
+    }
+
+    record Order(Long id, List<Customer> customers) implements LogMask {
+    }
+
+    record Customer(@MaskSensitiveData(maskedType = MaskedType.EMAIL) String email) {
+    }
+
+    record Receipt(Long id) {
+    }
+}
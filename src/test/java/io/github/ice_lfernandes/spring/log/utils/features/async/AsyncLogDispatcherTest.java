@@ -0,0 +1,220 @@
+package io.github.ice_lfernandes.spring.log.utils.features.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import io.github.ice_lfernandes.spring.log.utils.commons.LogSink;
+import io.github.ice_lfernandes.spring.log.utils.commons.LoggingCommonsMethods;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.OverflowPolicy;
+import io.github.ice_lfernandes.spring.log.utils.properties.AsyncProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncLogDispatcherTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AsyncLogDispatcherTest.class);
+
+    private final GatedAppender appender = new GatedAppender();
+
+    private AsyncLogDispatcher dispatcher;
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+    }
+
+    @AfterEach
+    void detachAppender() throws InterruptedException {
+        appender.open();
+        if (dispatcher != null)
+            dispatcher.destroy();
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+        logger.setAdditive(true);
+        LoggingCommonsMethods.setLogSink(LogSink.SYNC);
+    }
+
+    @Test
+    void shouldRenderArgumentsOnTheWorkers() throws InterruptedException {
+        start(OverflowPolicy.BLOCK);
+        var renderingThread = new AtomicReference<String>();
+        var value = new Object() {
+            @Override
+            public String toString() {
+                renderingThread.set(Thread.currentThread().getName());
+                return "value";
+            }
+        };
+
+        dispatcher.info(logger, "value={}", value);
+        assertNull(renderingThread.get());
+        appender.open();
+        dispatcher.destroy();
+
+        assertEquals(List.of("r0", "value=value"), appender.messages());
+        assertTrue(renderingThread.get().startsWith("log-utils-async-"), renderingThread.get());
+    }
+
+    @Test
+    void shouldRenderMutableArgumentsOnTheCallingThreadWithSnapshot() throws InterruptedException {
+        start(OverflowPolicy.BLOCK, true);
+        var value = new StringBuilder("before");
+
+        dispatcher.info(logger, "value={}, values={}", value, new int[]{1, 2});
+        value.append("-after");
+        appender.open();
+        dispatcher.destroy();
+
+        assertEquals(List.of("r0", "value=before, values=[1, 2]"), appender.messages());
+    }
+
+    @Test
+    void shouldDiscardTheNewRecordWhenFullWithDropNewest() throws InterruptedException {
+        start(OverflowPolicy.DROP_NEWEST);
+
+        dispatcher.info(logger, "r1");
+        dispatcher.info(logger, "r2");
+        dispatcher.info(logger, "r3");
+        appender.open();
+        dispatcher.destroy();
+
+        assertEquals(List.of("r0", "r1", "r2"), appender.messages());
+        assertEquals(1, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void shouldDiscardTheOldestRecordWhenFullWithDropOldest() throws InterruptedException {
+        start(OverflowPolicy.DROP_OLDEST);
+
+        dispatcher.info(logger, "r1");
+        dispatcher.info(logger, "r2");
+        dispatcher.info(logger, "r3");
+        appender.open();
+        dispatcher.destroy();
+
+        assertEquals(List.of("r0", "r2", "r3"), appender.messages());
+        assertEquals(1, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void shouldEmitOnTheCallingThreadWhenFullWithCallerRuns() throws InterruptedException {
+        start(OverflowPolicy.CALLER_RUNS);
+
+        dispatcher.info(logger, "r1");
+        dispatcher.info(logger, "r2");
+        dispatcher.info(logger, "r3");
+
+        assertEquals(List.of("r3"), appender.messages());
+        assertEquals(Thread.currentThread().getName(), appender.events.get(0).getThreadName());
+        appender.open();
+        dispatcher.destroy();
+        assertEquals(List.of("r3", "r0", "r1", "r2"), appender.messages());
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void shouldParkTheCallingThreadUntilASlotIsFreedWithBlock() throws InterruptedException {
+        start(OverflowPolicy.BLOCK);
+        dispatcher.info(logger, "r1");
+        dispatcher.info(logger, "r2");
+
+        var caller = new Thread(() -> dispatcher.info(logger, "r3"));
+        caller.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (caller.getState() != Thread.State.WAITING && System.nanoTime() < deadline)
+            Thread.onSpinWait();
+
+        assertEquals(Thread.State.WAITING, caller.getState());
+        appender.open();
+        caller.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(caller.isAlive());
+        dispatcher.destroy();
+        assertEquals(List.of("r0", "r1", "r2", "r3"), appender.messages());
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void shouldDrainTheBufferAndRestoreThePreviousSinkOnDestroy() throws InterruptedException {
+        LogSink previous = (logger, level, template, arguments) -> {
+        };
+        LoggingCommonsMethods.setLogSink(previous);
+        start(OverflowPolicy.BLOCK);
+        assertSame(dispatcher, LoggingCommonsMethods.getLogSink());
+        dispatcher.info(logger, "r1");
+        dispatcher.info(logger, "r2");
+
+        appender.open();
+        dispatcher.destroy();
+
+        assertEquals(List.of("r0", "r1", "r2"), appender.messages());
+        assertEquals(0, dispatcher.getPendingCount());
+        assertSame(previous, LoggingCommonsMethods.getLogSink());
+    }
+
+    /**
+     * Starts a dispatcher with a buffer of 2 records and one worker, held in the appender by a first record "r0", so
+     * that the next records stay buffered until the appender is opened.
+     */
+    private void start(OverflowPolicy overflowPolicy) throws InterruptedException {
+        start(overflowPolicy, false);
+    }
+
+    private void start(OverflowPolicy overflowPolicy, boolean snapshotArguments) throws InterruptedException {
+        dispatcher = new AsyncLogDispatcher(new AsyncProperties(true, 2, 1, overflowPolicy, null, snapshotArguments));
+        dispatcher.afterPropertiesSet();
+        dispatcher.info(logger, "r0");
+        assertTrue(appender.held.await(5, TimeUnit.SECONDS));
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    /**
+     * Records the events, formatting them on the appending thread as an encoder does, and holding the dispatcher's
+     * workers until {@link #open()} is called.
+     */
+    private static final class GatedAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch held = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            event.getFormattedMessage();
+            if (Thread.currentThread().getName().startsWith("log-utils-async-")) {
+                held.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+        }
+
+        private void open() {
+            gate.countDown();
+        }
+
+        private List<String> messages() {
+            return events.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        }
+    }
+}
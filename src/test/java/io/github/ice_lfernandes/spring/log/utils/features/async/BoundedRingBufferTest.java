@@ -0,0 +1,75 @@
+package io.github.ice_lfernandes.spring.log.utils.features.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertEquals(8, new BoundedRingBuffer<>(5).capacity());
+        assertEquals(8, new BoundedRingBuffer<>(8).capacity());
+    }
+
+    @Test
+    void shouldKeepFifoOrderAndRejectWhenFull() {
+        var buffer = new BoundedRingBuffer<Integer>(4);
+        for (int i = 0; i < 4; i++)
+            assertTrue(buffer.offer(i));
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        for (int i = 1; i <= 4; i++)
+            assertEquals(i, buffer.poll());
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void shouldDeliverEveryElementExactlyOnceUnderContention() throws InterruptedException {
+        var buffer = new BoundedRingBuffer<Integer>(64);
+        int producers = 4;
+        int perProducer = 50_000;
+        var received = ConcurrentHashMap.<Integer>newKeySet();
+        var remaining = new AtomicInteger(producers * perProducer);
+        var done = new CountDownLatch(producers * 2);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int offset = p * perProducer;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(offset + i))
+                        Thread.onSpinWait();
+                }
+                done.countDown();
+            }));
+            threads.add(new Thread(() -> {
+                while (remaining.get() > 0) {
+                    Integer value = buffer.poll();
+                    if (value != null) {
+                        received.add(value);
+                        remaining.decrementAndGet();
+                    }
+                }
+                done.countDown();
+            }));
+        }
+        threads.forEach(Thread::start);
+        done.await();
+
+        assertEquals(producers * perProducer, received.size());
+        assertNull(buffer.poll());
+    }
+}
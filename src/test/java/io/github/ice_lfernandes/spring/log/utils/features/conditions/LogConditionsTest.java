@@ -0,0 +1,77 @@
+package io.github.ice_lfernandes.spring.log.utils.features.conditions;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogConditionsTest {
+
+    private static final Method PAY = method();
+
+    @Test
+    void shouldMatchConditionAgainstArgumentsByNameAndIndex() {
+        var conditions = LogConditions.of(PAY, "#tenant == 'acme' and #p1 > 100", "");
+        assertTrue(conditions.hasCondition());
+        assertFalse(conditions.hasUnless());
+        // past the evaluations after which the expression is compiled
+        for (int i = 0; i < 10; i++) {
+            assertTrue(conditions.matches(new Object[]{"acme", 500L}));
+            assertFalse(conditions.matches(new Object[]{"acme", 50L}));
+            assertFalse(conditions.matches(new Object[]{"other", 500L}));
+        }
+    }
+
+    @Test
+    void shouldExcludeCallsMatchingUnless() {
+        var conditions = LogConditions.of(PAY, "", "#exception == null and #elapsed < 100 and #result == 'paid'");
+        Object[] arguments = {"acme", 500L};
+        for (int i = 0; i < 10; i++) {
+            assertTrue(conditions.excludes(arguments, "paid", null, 5));
+            assertFalse(conditions.excludes(arguments, "paid", null, 500));
+            assertFalse(conditions.excludes(arguments, null, new IllegalStateException(), 5));
+        }
+    }
+
+    @Test
+    void shouldParseOnceAndLogWhenEvaluationFails() {
+        assertSame(LogConditions.NONE, LogConditions.of(PAY, "", " "));
+        assertSame(LogConditions.of(PAY, "#p0.length() > 2", ""), LogConditions.of(PAY, "#p0.length() > 2", ""));
+        var failing = LogConditions.of(PAY, "#p0.missing", "");
+        for (int i = 0; i < 3; i++)
+            assertTrue(failing.matches(new Object[]{"acme", 500L}));
+    }
+
+    @Test
+    void shouldRejectInvalidExpressionsWhenValidatedAndIgnoreThemOtherwise() {
+        assertThrows(IllegalArgumentException.class, () -> LogConditions.validate(PAY, "#p0 ==", ""));
+        assertSame(LogConditions.NONE, LogConditions.of(PAY, "#p0 ==", ""));
+
+        LogConditions.validate(PAY, "#amount > 1", "");
+        assertSame(LogConditions.of(PAY, "#amount > 1", ""), LogConditions.of(PAY, "#amount > 1", ""));
+    }
+
+    @Test
+    void shouldShadowIndexedNamesWithParameterNamesButNotCallVariables() {
+        var conditions = LogConditions.of(PAY, "#args.length == 2 and #a1 == #amount", "#result == 'paid'");
+        assertTrue(conditions.matches(new Object[]{"acme", 500L}));
+        assertTrue(conditions.excludes(new Object[]{"acme", 500L}, "paid", null, 1));
+    }
+
+    @SuppressWarnings("unused")
+    public String pay(String tenant, Long amount) {
+        return "paid";
+    }
+
+    private static Method method() {
+        try {
+            return LogConditionsTest.class.getDeclaredMethod("pay", String.class, Long.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
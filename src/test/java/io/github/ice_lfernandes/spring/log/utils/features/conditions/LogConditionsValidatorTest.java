@@ -0,0 +1,55 @@
+package io.github.ice_lfernandes.spring.log.utils.features.conditions;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.LogExecution;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogConditionsValidatorTest {
+
+    @Test
+    void shouldFailStartupListingEveryInvalidExpression() {
+        var beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("payments", new RootBeanDefinition(Payments.class));
+        beanFactory.registerBeanDefinition("refunds", new RootBeanDefinition(Refunds.class));
+
+        var error = assertThrows(IllegalStateException.class,
+                () -> new LogConditionsValidator(beanFactory).afterSingletonsInstantiated());
+        assertTrue(error.getMessage().contains("'#amount >'"), error.getMessage());
+        assertTrue(error.getMessage().contains("'#result =='"), error.getMessage());
+    }
+
+    @Test
+    void shouldAcceptValidExpressions() {
+        var beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("valid", new RootBeanDefinition(Valid.class));
+
+        assertDoesNotThrow(() -> new LogConditionsValidator(beanFactory).afterSingletonsInstantiated());
+    }
+
+    static class Payments {
+
+        @LogExecution(condition = "#amount >")
+        public void pay(long amount) {
+        }
+    }
+
+    static class Refunds {
+
+        @LogExecution(unless = "#result ==")
+        public String refund(long amount) {
+            return "refunded";
+        }
+    }
+
+    static class Valid {
+
+        @LogExecution(condition = "#amount > 100", unless = "#elapsed < 10")
+        public void pay(long amount) {
+        }
+    }
+}
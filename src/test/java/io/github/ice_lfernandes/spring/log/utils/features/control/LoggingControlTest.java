@@ -0,0 +1,90 @@
+package io.github.ice_lfernandes.spring.log.utils.features.control;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.properties.ControlProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.EndpointOverride;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoggingControlTest {
+
+    private static final String PACKAGE = LoggingControlTest.class.getPackageName();
+    private static final String CLASS = Target.class.getName();
+
+    @Test
+    void shouldMergeOverridesFromPackageToMethod() throws NoSuchMethodException {
+        var snapshot = new ControlSnapshot(Map.of(
+                CLASS + ".call", new EndpointOverride(true, null, null, null, null, null, null),
+                PACKAGE, new EndpointOverride(false, false, null, LogMode.TAIL, null, null, null),
+                CLASS, new EndpointOverride(null, null, null, null, Duration.ofMillis(200), null, null)));
+
+        var call = snapshot.resolve(method("call"));
+        assertTrue(call.resolveEnabled(false));
+        assertFalse(call.resolveLogParameters(true));
+        assertEquals(LogMode.TAIL, call.resolveMode(LogMode.FULL));
+        assertEquals(Duration.ofMillis(200).toNanos(), call.resolveSlowThresholdNanos(0));
+
+        var other = snapshot.resolve(method("callAgain"));
+        assertFalse(other.resolveEnabled(true));
+        assertTrue(other.resolveLogReturn(true));
+    }
+
+    @Test
+    void shouldNotMatchPartialNames() throws NoSuchMethodException {
+        var snapshot = new ControlSnapshot(Map.of(CLASS + ".cal", new EndpointOverride(false, null, null, null, null, null, null)));
+        assertSame(EndpointOverride.NONE, snapshot.resolve(method("call")));
+    }
+
+    @Test
+    void shouldRebuildCachedStateOnlyAfterChange() throws NoSuchMethodException {
+        var control = new LoggingControl(new ControlProperties(Map.of(
+                CLASS, new EndpointOverride(false, null, null, null, null, null, null))));
+        Map<Method, ControlledEndpoint> endpoints = new ConcurrentHashMap<>();
+        var builds = new AtomicInteger();
+        var method = method("call");
+
+        var first = control.resolve(endpoints, method, (m, snapshot) -> build(m, snapshot, builds));
+        assertSame(first, control.resolve(endpoints, method, (m, snapshot) -> build(m, snapshot, builds)));
+        assertFalse(first.enabled());
+
+        control.setOverride(CLASS, new EndpointOverride(true, null, null, null, null, 0.5, null));
+        var second = control.resolve(endpoints, method, (m, snapshot) -> build(m, snapshot, builds));
+        assertNotSame(first, second);
+        assertTrue(second.enabled());
+        assertEquals(2, builds.get());
+
+        control.reset();
+        assertFalse(control.resolve(endpoints, method, (m, snapshot) -> build(m, snapshot, builds)).enabled());
+        control.removeOverride(CLASS);
+        assertTrue(control.getSnapshot().getOverrides().isEmpty());
+    }
+
+    private static ControlledEndpoint build(Method method, ControlSnapshot snapshot, AtomicInteger builds) {
+        builds.incrementAndGet();
+        return new ControlledEndpoint(snapshot, snapshot.resolve(method).resolveEnabled(true), null, null);
+    }
+
+    private static Method method(String name) throws NoSuchMethodException {
+        return Target.class.getDeclaredMethod(name);
+    }
+
+    @SuppressWarnings("unused")
+    static class Target {
+        void call() {
+        }
+
+        void callAgain() {
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.ice_lfernandes.spring.log.utils.features.exceptions;
+
+import io.github.ice_lfernandes.spring.log.utils.properties.ExceptionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExceptionDeduplicatorTest {
+
+    private final ExceptionDeduplicator deduplicator =
+            new ExceptionDeduplicator(new ExceptionProperties(Duration.ofMinutes(1), 100, 5, 3));
+
+    @Test
+    void shouldResetAnEmptyWindowToTheDefault() {
+        assertEquals(Duration.ofMinutes(1), new ExceptionProperties(Duration.ZERO, null, null, null).window());
+        assertEquals(Duration.ofMinutes(1), new ExceptionProperties(Duration.ofSeconds(-1), null, null, null).window());
+        assertEquals(Duration.ofSeconds(5), new ExceptionProperties(Duration.ofSeconds(5), null, null, null).window());
+    }
+
+    @Test
+    void shouldWriteTrimmedStackTraceForFirstOccurrenceOnly() {
+        List<ExceptionReport> reports = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            reports.add(deduplicator.report(fail("order " + i)));
+
+        var first = reports.get(0);
+        assertTrue(first.isFirst());
+        var text = first.toString();
+        assertTrue(text.startsWith("java.lang.IllegalStateException: order 0 [fingerprint=" + first.getFingerprint() + "]"));
+        assertEquals(3, text.lines().filter(line -> line.startsWith("\tat ")).count());
+        assertTrue(text.contains("\n\t... "));
+        assertTrue(text.endsWith("\nCaused by: java.io.IOException: disk full"));
+
+        var repeated = reports.get(3);
+        assertFalse(repeated.isFirst());
+        assertEquals("java.lang.IllegalStateException: order 3 [fingerprint=" + first.getFingerprint()
+                + ", occurrences=4, stack trace omitted]", repeated.toString());
+    }
+
+    @Test
+    void shouldFingerprintTypeAndThrowingFrame() {
+        var fingerprint = deduplicator.report(fail("a")).getFingerprint();
+        assertNotEquals(fingerprint, deduplicator.report(new IllegalStateException("a")).getFingerprint());
+        assertNotEquals(fingerprint, deduplicator.report(failDifferently()).getFingerprint());
+        assertEquals(3, deduplicator.getFingerprintCount());
+    }
+
+    @Test
+    void shouldReportAgainAfterWindow() {
+        var deduplicator = new ExceptionDeduplicator(new ExceptionProperties(Duration.ZERO, 100, 5, 3));
+        for (int i = 0; i < 2; i++)
+            assertTrue(deduplicator.report(fail("a")).isFirst());
+    }
+
+    private static IllegalStateException fail(String message) {
+        return new IllegalStateException(message, new IOException("disk full"));
+    }
+
+    private static IllegalStateException failDifferently() {
+        return new IllegalStateException("a");
+    }
+}
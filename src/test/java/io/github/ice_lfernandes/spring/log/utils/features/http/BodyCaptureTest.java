@@ -0,0 +1,72 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import io.github.ice_lfernandes.spring.log.utils.features.pii.PiiScanner;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BodyCaptureTest {
+
+    private static final BodyMasker MASKER = new BodyMasker(PiiScanner.ALL, List.of("password"), true);
+
+    @Test
+    void shouldCaptureFirstBytesAndMaskPersonalData() {
+        var capture = new BodyCapture(new CaptureBufferPool(1, 48));
+        byte[] body = "{\"email\":\"lucas.fernandes@gmail.com\",\"amount\":10}".getBytes(StandardCharsets.UTF_8);
+        capture.append(body, 0, 10);
+        var rest = ByteBuffer.wrap(body, 10, body.length - 10);
+        capture.append(rest);
+
+        assertEquals(10, rest.position());
+        assertEquals(body.length, capture.getSize());
+        assertEquals("{\"email\":\"******des***.com\",\"amount\":10...[49 bytes]",
+                capture.render("application/json", MASKER, Map.of()).toString());
+    }
+
+    @Test
+    void shouldNotDecodeBinaryBodies() {
+        var capture = new BodyCapture(new CaptureBufferPool(1, 32));
+        capture.append(new byte[]{1, 2, 3}, 0, 3);
+        assertEquals("[binary, 3 bytes]", capture.render("image/png", MASKER, Map.of()).toString());
+    }
+
+    @Test
+    void shouldReuseBuffersAndSkipCaptureWhenPoolIsExhausted() {
+        var pool = new CaptureBufferPool(1, 8);
+        var first = new BodyCapture(pool);
+        var second = new BodyCapture(pool);
+        first.append('a');
+        second.append('b');
+        assertEquals("[not captured, 1 bytes]", second.render("text/plain", MASKER, Map.of()).toString());
+        assertEquals("a", first.render("text/plain", MASKER, Map.of()).toString());
+
+        byte[] buffer = pool.acquire();
+        assertNotNull(buffer);
+        assertNull(pool.acquire());
+        pool.release(buffer);
+        assertSame(buffer, pool.acquire());
+        assertEquals(1, pool.getAllocated());
+    }
+
+    @Test
+    void shouldStopCapturingOnceReleased() {
+        var pool = new CaptureBufferPool(1, 8);
+        var capture = new BodyCapture(pool);
+        capture.append('a');
+        capture.release();
+        capture.append('b');
+        capture.append(new byte[]{'c'}, 0, 1);
+
+        assertEquals(3, capture.getSize());
+        assertNotNull(pool.acquire());
+        assertNull(pool.acquire());
+    }
+}
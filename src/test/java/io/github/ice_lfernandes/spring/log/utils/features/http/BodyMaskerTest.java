@@ -0,0 +1,49 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Maskers;
+import io.github.ice_lfernandes.spring.log.utils.features.pii.PiiScanner;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BodyMaskerTest {
+
+    private final BodyMasker masker = new BodyMasker(PiiScanner.ALL, List.of("password", "token", "cvv"), false);
+
+    @Test
+    void shouldMaskDeniedAndAnnotatedJsonFields() {
+        String body = "{\"user\":{\"email\":\"lucas.fernandes@gmail.com\",\"newPassword\":\"s3cr3t\","
+                + "\"card\":{\"cvv\":123}},\"refresh_token\":{\"value\":\"abc\",\"expires\":10},"
+                + "\"names\":[\"Lucas\",null],\"document\":\"12345\"}";
+
+        assertEquals("{\"user\":{\"email\":\"******des***.com\",\"newPassword\":\"******\",\"card\":{\"cvv\":\"***\"}},"
+                        + "\"refresh_token\":{\"value\":\"***\",\"expires\":\"**\"},\"names\":[\"Lucas\",null],"
+                        + "\"document\":\"*****\"}",
+                masker.mask(body, MimeTypeUtils.APPLICATION_JSON, false,
+                        Map.of("document", Maskers.forType(MaskedType.ALL))));
+    }
+
+    @Test
+    void shouldKeepTheValuesReadBeforeTheEndOfATruncatedOrInvalidJsonBody() {
+        assertEquals("{\"name\":\"Lucas\",\"password\"",
+                masker.mask("{\"name\":\"Lucas\",\"password\":\"s3c", MimeTypeUtils.APPLICATION_JSON, true, Map.of()));
+        assertEquals("{...[invalid JSON]",
+                masker.mask("{password: \"s3cr3t\"}", MimeTypeUtils.APPLICATION_JSON, false, Map.of()));
+    }
+
+    @Test
+    void shouldMaskFormFieldsAndSkipUnstructuredBodies() {
+        assertEquals("user=******des***.com&password=***&access-token=***",
+                masker.mask("user=lucas.fernandes%40gmail.com&password=abc&access-token=x%2By",
+                        MimeTypeUtils.parseMimeType("application/x-www-form-urlencoded"), false, Map.of()));
+        assertNull(masker.mask("password=abc", MimeTypeUtils.TEXT_PLAIN, false, Map.of()));
+        assertEquals("password=abc", new BodyMasker(PiiScanner.ALL, List.of(), true)
+                .mask("password=abc", MimeTypeUtils.TEXT_PLAIN, false, Map.of()));
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.control.ControlSnapshot;
+import io.github.ice_lfernandes.spring.log.utils.features.control.ControlledEndpoint;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import io.github.ice_lfernandes.spring.log.utils.features.sampling.EndpointSampler;
+import io.github.ice_lfernandes.spring.log.utils.properties.HttpCaptureProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.SamplingProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HttpCaptureFilterTest {
+
+    private static final String REQUEST = "{\"email\":\"lucas.fernandes@gmail.com\",\"password\":\"s3cr3t\","
+            + "\"document\":\"12345678909\"}";
+
+    private static final Method CREATE = method("create");
+
+    private static final InterceptionDescriptor DESCRIPTOR = InterceptionDescriptor.of(CREATE, true, true,
+            RenderLimits.DEFAULT);
+
+    private final HttpCaptureFilter filter = new HttpCaptureFilter(
+            new HttpCaptureProperties(true, null, null, null, null, null, null));
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(HttpExchangeCapture.class);
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void shouldWriteTheMaskedExchangeOfACorrelatedRequest() throws Exception {
+        var request = jsonRequest();
+        var response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            req.getInputStream().readAllBytes();
+            HttpExchangeCapture.correlate(CREATE, DESCRIPTOR, false).run();
+            ((HttpServletResponse) res).setStatus(201);
+            res.setContentType("application/json");
+            res.getWriter().write("{\"id\":42,\"token\":\"abc\"}");
+        };
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals("{\"id\":42,\"token\":\"abc\"}", response.getContentAsString());
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("stage=http, method=create, class=OrderController, request=POST /orders, "), line);
+        assertTrue(line.contains(", status=201, request-body={\"email\":\"******des***.com\",\"password\":\"******\","
+                + "\"document\":\"***********\"}, response-body={\"id\":42,\"token\":\"***\"}, "), line);
+    }
+
+    @Test
+    void shouldWriteAFailedAsynchronousRequestOnceCompleted() throws Exception {
+        var request = jsonRequest();
+        request.setAsyncSupported(true);
+        var response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            req.getInputStream().readAllBytes();
+            HttpExchangeCapture.correlate(CREATE, DESCRIPTOR, false).run();
+            req.startAsync();
+        };
+
+        filter.doFilter(request, response, chain);
+        assertTrue(appender.list.isEmpty());
+
+        var asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners())
+            listener.onError(new AsyncEvent(asyncContext, new IOException("connection reset")));
+        asyncContext.complete();
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains(", status=500, "));
+    }
+
+    @Test
+    void shouldWriteARequestWhoseCallIsLogged() throws Throwable {
+        var endpoint = new ControlledEndpoint(ControlSnapshot.EMPTY, true, DESCRIPTOR, null);
+        var joinPoint = joinPoint();
+        FilterChain chain = (req, res) -> {
+            req.getInputStream().readAllBytes();
+            endpoint.proceed(joinPoint, HttpExchangeCapture.correlate(CREATE, DESCRIPTOR, false));
+        };
+
+        filter.doFilter(jsonRequest(), new MockHttpServletResponse(), chain);
+
+        assertEquals(1, appender.list.size());
+    }
+
+    @Test
+    void shouldNotWriteARequestWhoseCallIsDroppedByTheSampler() throws Throwable {
+        var sampler = new EndpointSampler(new SamplingProperties(0.0, null, null, false, null));
+        var endpoint = new ControlledEndpoint(ControlSnapshot.EMPTY, true, DESCRIPTOR, sampler);
+        var joinPoint = joinPoint();
+        FilterChain chain = (req, res) -> {
+            req.getInputStream().readAllBytes();
+            endpoint.proceed(joinPoint, HttpExchangeCapture.correlate(CREATE, DESCRIPTOR, true));
+        };
+
+        filter.doFilter(jsonRequest(), new MockHttpServletResponse(), chain);
+
+        verify(joinPoint).proceed();
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void shouldNotWriteRequestsNotHandledByALoggedMethod() throws Exception {
+        filter.doFilter(jsonRequest(), new MockHttpServletResponse(),
+                (req, res) -> req.getInputStream().readAllBytes());
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    private static MockHttpServletRequest jsonRequest() {
+        var request = new MockHttpServletRequest("POST", "/orders");
+        request.setContentType("application/json");
+        request.setContent(REQUEST.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static ProceedingJoinPoint joinPoint() throws Throwable {
+        var joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{new Order("lucas.fernandes@gmail.com", "s3cr3t", "1")});
+        when(joinPoint.proceed()).thenReturn(null);
+        return joinPoint;
+    }
+
+    private static Method method(String name) {
+        try {
+            return OrderController.class.getMethod(name, Order.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record Order(String email, String password, @MaskSensitiveData String document) {
+    }
+
+    static class OrderController {
+
+        @PostMapping("/orders")
+        public Order create(@RequestBody Order order) {
+            return order;
+        }
+    }
+}
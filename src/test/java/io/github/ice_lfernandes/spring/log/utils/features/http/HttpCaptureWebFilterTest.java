@@ -0,0 +1,127 @@
+package io.github.ice_lfernandes.spring.log.utils.features.http;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import io.github.ice_lfernandes.spring.log.utils.properties.HttpCaptureProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpCaptureWebFilterTest {
+
+    private static final Method CREATE = method();
+
+    private static final InterceptionDescriptor DESCRIPTOR = InterceptionDescriptor.of(CREATE, true, true,
+            RenderLimits.DEFAULT);
+
+    private final HttpCaptureWebFilter filter = new HttpCaptureWebFilter(
+            new HttpCaptureProperties(true, null, null, null, null, null, null));
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(HttpExchangeCapture.class);
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void shouldCorrelateARequestBodyHandlerInvokedOnAnotherThread() {
+        filter.filter(orderExchange(), orderChain(false)).block();
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("stage=http, method=create, class=OrderController, request=POST /orders, "), line);
+        assertTrue(line.contains(", status=201, request-body={\"email\":\"******des***.com\","
+                + "\"document\":\"***********\"}, response-body={\"id\":42}, "), line);
+    }
+
+    @Test
+    void shouldNotCorrelateASampledHandlerInvokedOnAnotherThread() {
+        filter.filter(orderExchange(), orderChain(true)).block();
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void shouldNotWriteRequestsNotHandledByALoggedMethod() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/health"));
+
+        filter.filter(exchange, captured -> captured.getResponse().setComplete()).block();
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    private static MockServerWebExchange orderExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"email\":\"lucas.fernandes@gmail.com\",\"document\":\"12345678909\"}"));
+    }
+
+    private static WebFilterChain orderChain(boolean sampled) {
+        return captured -> {
+            captured.getAttributes().put(HttpCaptureWebFilter.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                    new HandlerMethod(new OrderController(), CREATE));
+            return DataBufferUtils.join(captured.getRequest().getBody())
+                    .publishOn(Schedulers.boundedElastic())
+                    .flatMap(body -> {
+                        DataBufferUtils.release(body);
+                        // the aspect runs once the body is decoded, outside the subscribing thread
+                        HttpExchangeCapture.correlate(CREATE, DESCRIPTOR, sampled);
+                        var response = captured.getResponse();
+                        response.setStatusCode(HttpStatus.CREATED);
+                        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        return response.writeWith(Mono.just(response.bufferFactory()
+                                .wrap("{\"id\":42}".getBytes(StandardCharsets.UTF_8))));
+                    });
+        };
+    }
+
+    private static Method method() {
+        try {
+            return OrderController.class.getMethod("create", Order.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record Order(String email, @MaskSensitiveData String document) {
+    }
+
+    static class OrderController {
+
+        @PostMapping("/orders")
+        public Order create(@RequestBody Order order) {
+            return order;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.ice_lfernandes.spring.log.utils.features.interfaces;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogMaskTest {
+
+    @Test
+    void shouldMaskAnnotatedRecordComponents() {
+        var user = new User("lucas.fernandes@gmail.com", "Lucas Fernandes", 31, LocalDate.of(2025, 5, 13), "12345678911");
+        var expected = "User{email=******des***.com, name=**s****es, age=**, birthDate=***5-13, document=********911}";
+        assertEquals(expected, user.toString());
+        assertEquals(expected, user.toString());
+    }
+
+    @Test
+    void shouldRenderNullAndNotEligibleValuesAsIs() {
+        assertEquals("Account{id=10, owner=null, tags=[a]}", new Account().toString());
+    }
+
+    record User(
+            @MaskSensitiveData(maskedType = MaskedType.EMAIL) String email,
+            @MaskSensitiveData(maskedType = MaskedType.NAME) String name,
+            @MaskSensitiveData(maskedType = MaskedType.NUMBER) Integer age,
+            @MaskSensitiveData(maskedType = MaskedType.DATE) LocalDate birthDate,
+            @MaskSensitiveData(maskedType = MaskedType.DOCUMENT) String document) implements LogMask {
+
+        @Override
+        public String toString() {
+            return mask(this);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Account implements LogMask {
+        @MaskSensitiveData
+        private final Long id = 10L;
+        @MaskSensitiveData
+        private final String owner = null;
+        @MaskSensitiveData
+        private final java.util.List<String> tags = java.util.List.of("a");
+
+        @Override
+        public String toString() {
+            return mask(this);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.ice_lfernandes.spring.log.utils.features.journal;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import io.github.ice_lfernandes.spring.log.utils.properties.JournalProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutionJournalTest {
+
+    private static final InterceptionDescriptor FIND = InterceptionDescriptor.of(
+            "find", "UserService", "", true, true, RenderLimits.DEFAULT);
+    private static final InterceptionDescriptor SAVE = InterceptionDescriptor.of(
+            "save", "UserController", "POST /users", false, true, RenderLimits.DEFAULT);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadBackRecordedExecutions() {
+        var journal = journal(DataSize.ofMegabytes(1), 1024);
+        try {
+            journal.onExecution(FIND, 2_000_000, null, new Object[]{42, "name"}, List.of("ana"));
+            journal.onExecution(SAVE, 5_000_000, new IllegalStateException("duplicated"), new Object[]{"ana"}, null);
+        } finally {
+            journal.destroy();
+        }
+
+        var entries = readAll();
+        assertEquals(2, entries.size());
+        var find = entries.get(0);
+        assertEquals("find", find.methodName());
+        assertEquals("UserService", find.className());
+        assertEquals(2_000_000, find.durationNanos());
+        assertFalse(find.error());
+        assertEquals("[42, name]", find.parameters());
+        assertEquals("[ana]", find.result());
+
+        var save = entries.get(1);
+        assertEquals("POST /users", save.httpMapping());
+        assertTrue(save.error());
+        assertEquals("java.lang.IllegalStateException: duplicated", save.result());
+    }
+
+    @Test
+    void shouldDefineMethodsOnceWhateverTheirDescriptor() {
+        var journal = journal(DataSize.ofMegabytes(1), 1024);
+        try {
+            journal.onExecution(FIND, 1, null, new Object[]{1}, null);
+            journal.onExecution(FIND.withMode(LogMode.TAIL, 1_000), 2, null, new Object[]{2}, null);
+        } finally {
+            journal.destroy();
+        }
+
+        var entries = readAll();
+        assertEquals(2, entries.size());
+        assertEquals(entries.get(0).methodName(), entries.get(1).methodName());
+        assertEquals("UserService", entries.get(1).className());
+    }
+
+    @Test
+    void shouldBoundPayloads() {
+        var journal = journal(DataSize.ofMegabytes(1), 16);
+        try {
+            journal.onExecution(FIND, 1, null, new Object[]{"x".repeat(100)}, "\u00e9".repeat(100));
+        } finally {
+            journal.destroy();
+        }
+
+        var entry = readAll().get(0);
+        assertTrue(entry.parameters().length() <= 16);
+        assertEquals("\u00e9".repeat(8), entry.result());
+    }
+
+    @Test
+    void shouldOverwriteOldestSegmentsAndResumeAfterRestart() {
+        var journal = journal(DataSize.ofBytes(4096), 64);
+        try {
+            for (int i = 0; i < 1_000; i++)
+                journal.onExecution(FIND, i, null, new Object[]{i}, i);
+        } finally {
+            journal.destroy();
+        }
+
+        var entries = readAll();
+        assertTrue(entries.size() < 1_000);
+        assertEquals(999, entries.get(entries.size() - 1).durationNanos());
+        for (int i = 1; i < entries.size(); i++)
+            assertEquals(entries.get(i - 1).durationNanos() + 1, entries.get(i).durationNanos());
+        // every segment, including its first entry, decodes on its own
+        for (var entry : entries) {
+            assertEquals("find", entry.methodName());
+            assertEquals("UserService", entry.className());
+        }
+
+        var restarted = journal(DataSize.ofBytes(4096), 64);
+        try {
+            restarted.onExecution(SAVE, 1_000, null, new Object[]{"after"}, null);
+        } finally {
+            restarted.destroy();
+        }
+        var resumed = readAll();
+        assertEquals("save", resumed.get(resumed.size() - 1).methodName());
+        assertEquals(999, resumed.get(resumed.size() - 2).durationNanos());
+    }
+
+    private ExecutionJournal journal(DataSize segmentSize, int maxPayloadBytes) {
+        return new ExecutionJournal(new JournalProperties(true, directory.toString(), segmentSize, 3, maxPayloadBytes));
+    }
+
+    private List<JournalEntry> readAll() {
+        List<JournalEntry> entries = new ArrayList<>();
+        JournalReader.readAll(directory, entries::add);
+        return entries;
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.ice_lfernandes.spring.log.utils.features.json;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonRendererTest {
+
+    @Test
+    void shouldMaskLogMaskFieldsWhileWriting() {
+        var user = new User("lucas.fernandes@gmail.com", "Lucas Fernandes", 31);
+        assertEquals("{\"email\":\"******des***.com\",\"name\":\"Lucas Fernandes\",\"age\":\"**\"}",
+                JsonRenderer.lazy(user, RenderLimits.DEFAULT).toString());
+    }
+
+    @Test
+    void shouldWriteValuesWithinLimits() {
+        var limits = new RenderLimits(5, 2, 2);
+        assertEquals("[1,2,\"...(1 more)\"]", JsonRenderer.lazy(List.of(1, 2, 3), limits).toString());
+        assertEquals("[[\"[...]\"]]", JsonRenderer.lazy(List.of(List.of(List.of(1))), limits).toString());
+        assertEquals("\"abcde...(truncated)\"", JsonRenderer.lazy("abcdefgh", limits).toString());
+        assertEquals("{\"k\":true}", JsonRenderer.lazy(Map.of("k", true), limits).toString());
+    }
+
+    @Test
+    void shouldWriteObjectsReferencingThemselvesAsCycles() {
+        var unbounded = new RenderLimits(0, 0, 0);
+        List<Object> list = new ArrayList<>(List.of(1));
+        list.add(list);
+        var node = new Node();
+        node.children.add(node);
+
+        assertEquals("[1,\"(cycle)\"]", JsonRenderer.lazy(list, unbounded).toString());
+        assertEquals("{\"name\":\"root\",\"children\":[\"(cycle)\"]}", JsonRenderer.lazy(node, unbounded).toString());
+    }
+
+    @Test
+    void shouldReuseGeneratorAcrossDocuments() {
+        assertEquals("1", JsonRenderer.lazy(1, RenderLimits.DEFAULT).toString());
+        assertEquals("\"a\"", JsonRenderer.lazy("a", RenderLimits.DEFAULT).toString());
+    }
+
+    @Test
+    void shouldKeepTheGeneratorOfTheThreadWhenANestedDocumentFails() {
+        var writers = new ArrayList<JsonRenderer.ValueWriter>();
+        String document = JsonRenderer.encode(writer -> {
+            writers.add(writer);
+            assertThrows(IllegalStateException.class, () -> JsonRenderer.encode(nested -> {
+                nested.generator().writeStartArray();
+                throw new IllegalStateException("boom");
+            }));
+            writer.generator().writeNumber(1);
+        });
+        JsonRenderer.encode(writers::add);
+
+        assertEquals("1", document);
+        assertSame(writers.get(0), writers.get(1));
+    }
+
+    record User(
+            @MaskSensitiveData(maskedType = MaskedType.EMAIL) String email,
+            String name,
+            @MaskSensitiveData(maskedType = MaskedType.NUMBER) Integer age) implements LogMask {
+    }
+
+    static class Node implements LogMask {
+        final String name = "root";
+        final List<Node> children = new ArrayList<>();
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.ice_lfernandes.spring.log.utils.features.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MaskSensitiveDataModuleTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new MaskSensitiveDataModule());
+
+    @Test
+    void shouldMaskAnnotatedRecordComponents() throws Exception {
+        var user = new User("lucas.fernandes@gmail.com", "Lucas", 31, List.of("a"));
+        assertEquals("{\"email\":\"******des***.com\",\"name\":\"Lucas\",\"age\":\"**\",\"tags\":[\"a\"]}",
+                objectMapper.writeValueAsString(user));
+    }
+
+    @Test
+    void shouldMaskAnnotatedFieldsExposedByGetters() throws Exception {
+        assertEquals("{\"document\":\"********911\"}", objectMapper.writeValueAsString(new Customer()));
+    }
+
+    @Test
+    void shouldWriteNullsAsIs() throws Exception {
+        assertEquals("{\"email\":null,\"name\":null,\"age\":null,\"tags\":null}",
+                objectMapper.writeValueAsString(new User(null, null, null, null)));
+    }
+
+    @Test
+    void shouldCallTheGetterOfAPropertyOnce() throws Exception {
+        var account = new Account();
+        assertEquals("{\"owner\":\"******des***.com\",\"tags\":[\"a\"]}", objectMapper.writeValueAsString(account));
+        assertEquals(1, account.ownerReads.get());
+        assertEquals(1, account.tagsReads.get());
+    }
+
+    @Test
+    void shouldApplyTheInclusionOfTheProperty() throws Exception {
+        assertEquals("{}", objectMapper.writeValueAsString(new Contact(null, List.of())));
+    }
+
+    record User(
+            @MaskSensitiveData(maskedType = MaskedType.EMAIL) String email,
+            String name,
+            @MaskSensitiveData(maskedType = MaskedType.NUMBER) Integer age,
+            @MaskSensitiveData List<String> tags) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    record Contact(@MaskSensitiveData(maskedType = MaskedType.EMAIL) String email, @MaskSensitiveData List<String> tags) {
+    }
+
+    @JsonPropertyOrder({"owner", "tags"})
+    static class Account {
+        @MaskSensitiveData(maskedType = MaskedType.EMAIL)
+        private final String owner = "lucas.fernandes@gmail.com";
+        @MaskSensitiveData
+        private final List<String> tags = List.of("a");
+        private final AtomicInteger ownerReads = new AtomicInteger();
+        private final AtomicInteger tagsReads = new AtomicInteger();
+
+        public String getOwner() {
+            ownerReads.incrementAndGet();
+            return owner;
+        }
+
+        public List<String> getTags() {
+            tagsReads.incrementAndGet();
+            return tags;
+        }
+    }
+
+    static class Customer {
+        @MaskSensitiveData(maskedType = MaskedType.DOCUMENT)
+        private final String document = "12345678911";
+
+        public String getDocument() {
+            return document;
+        }
+    }
+}
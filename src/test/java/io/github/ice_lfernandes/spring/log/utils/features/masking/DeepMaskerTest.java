@@ -0,0 +1,128 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.BoundedRenderer;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.ValueWalker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeepMaskerTest {
+
+    @Test
+    void shouldRenderInheritedFieldsAndNestedObjects() {
+        var order = new Order(1L, new Customer("lucas.fernandes@gmail.com"), List.of(new Customer("ana.silva@gmail.com")));
+        assertEquals("Order{id=1, customer=Customer{email=******des***.com}, others=[Customer{email=***lva***.com}]}",
+                DeepMasker.DEFAULT.mask(order));
+        assertEquals("Vip{email=******des***.com, level=2}", DeepMasker.DEFAULT.mask(new Vip("lucas.fernandes@gmail.com", 2)));
+    }
+
+    @Test
+    void shouldMaskElementsAndKeysOfAnnotatedContainers() {
+        assertEquals("Contacts{emails=[******des***.com], phones={*ome=******789}}",
+                DeepMasker.DEFAULT.mask(new Contacts(List.of("lucas.fernandes@gmail.com"), Map.of("home", "123456789"))));
+    }
+
+    @Test
+    void shouldRenderMapKeysLikeValues() {
+        var node = new Node("a");
+        node.children.add(Map.of(new Customer("lucas.fernandes@gmail.com"), "vip"));
+        node.children.add(Map.of(node, "self"));
+        assertEquals("Node{name=a, children=[{Customer{email=******des***.com}=vip}, {" + ValueWalker.CYCLE + "=self}]}",
+                DeepMasker.DEFAULT.mask(node));
+    }
+
+    @Test
+    void shouldRenderCyclesOnce() {
+        var node = new Node("a");
+        node.children.add(node);
+        assertEquals("Node{name=a, children=[" + ValueWalker.CYCLE + "]}", DeepMasker.DEFAULT.mask(node));
+    }
+
+    @Test
+    void shouldApplyBudget() {
+        var masker = new DeepMasker(new RenderLimits(0, 2, 2));
+        var deep = new Node("a");
+        var child = new Node("b");
+        deep.children.add(child);
+        child.children.add(new Node("c"));
+        assertEquals("Node{name=a, children=[Node{...}]}", masker.mask(deep));
+
+        var wide = new Node("a");
+        for (int i = 0; i < 5; i++)
+            wide.children.add("x");
+        assertEquals("Node{name=a, children=[x, x, ...(3 more)]}", masker.mask(wide));
+    }
+
+    @Test
+    void shouldStopWalkingOnceOutputIsFull() {
+        var masker = new DeepMasker(new RenderLimits(20, 0, 0));
+        var node = new Node("a");
+        for (int i = 0; i < 1_000; i++)
+            node.children.add(new Node("child" + i));
+        var masked = masker.mask(node);
+        assertEquals("Node{name=a, childre" + BoundedRenderer.TRUNCATED, masked);
+        assertTrue(masked.length() < 100);
+    }
+
+    @Test
+    void shouldWalkDeepGraphsWithoutRecursion() {
+        var root = new Node("0");
+        var node = root;
+        for (int i = 1; i < 100_000; i++) {
+            var child = new Node(String.valueOf(i));
+            node.children.add(child);
+            node = child;
+        }
+        var masked = new DeepMasker(RenderLimits.UNBOUNDED).mask(root);
+        assertTrue(masked.contains("Node{name=99999, children=[]}]}]}"));
+    }
+
+    record Customer(@MaskSensitiveData(maskedType = MaskedType.EMAIL) String email) implements LogMask {
+    }
+
+    record Order(Long id, Customer customer, List<Customer> others) implements LogMask {
+    }
+
+    record Contacts(@MaskSensitiveData(maskedType = MaskedType.EMAIL) List<String> emails,
+                    @MaskSensitiveData(maskedType = MaskedType.DOCUMENT) Map<String, String> phones) {
+    }
+
+    @SuppressWarnings("unused")
+    static class Person implements LogMask {
+        @MaskSensitiveData(maskedType = MaskedType.EMAIL)
+        private final String email;
+
+        Person(String email) {
+            this.email = email;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Vip extends Person {
+        private final int level;
+
+        Vip(String email, int level) {
+            super(email);
+            this.level = level;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Node implements LogMask {
+        private final String name;
+        private final List<Object> children = new ArrayList<>();
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import io.github.ice_lfernandes.spring.log.utils.properties.MaskCacheProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MaskCacheTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Masker counting = (value, out) -> {
+        calls.incrementAndGet();
+        Maskers.forType(MaskedType.EMAIL).maskTo(value, out);
+    };
+
+    @Test
+    void shouldMaskRepeatedValuesOnce() {
+        var cache = new MaskCache(new MaskCacheProperties(true, 100L, Duration.ofMinutes(1), 32));
+        for (int i = 0; i < 3; i++)
+            assertEquals("******des***.com", cache.mask("lucas.fernandes@gmail.com", counting));
+        assertEquals(1, calls.get());
+        assertEquals(2, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+
+        // same value, other masker
+        assertEquals("*************************", cache.mask("lucas.fernandes@gmail.com", Maskers.forType(MaskedType.ALL)));
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    void shouldBypassLongValuesAndEvictBeyondMaximumSize() {
+        var cache = new MaskCache(new MaskCacheProperties(true, 1L, Duration.ofMinutes(1), 20));
+        String longValue = "lucas.fernandes@gmail.com";
+        cache.mask(longValue, counting);
+        cache.mask(longValue, counting);
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.getSize());
+
+        cache.mask("ana@gmail.com", counting);
+        cache.mask("bia@gmail.com", counting);
+        assertEquals(1, cache.getSize());
+        assertEquals(1, cache.getStats().evictionCount());
+    }
+
+    @Test
+    void shouldBeUsedByMaskersOnceInstalled() {
+        var cache = new MaskCache(new MaskCacheProperties(true, null, null, null));
+        cache.afterPropertiesSet();
+        try {
+            var out = new StringBuilder();
+            Maskers.appendMasked("lucas.fernandes@gmail.com", counting, out);
+            Maskers.appendMasked("lucas.fernandes@gmail.com", counting, out);
+            assertEquals("******des***.com******des***.com", out.toString());
+            assertEquals(1, calls.get());
+        } finally {
+            cache.destroy();
+        }
+        assertEquals("******des***.com", Maskers.mask("lucas.fernandes@gmail.com", counting));
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.ice_lfernandes.spring.log.utils.features.masking;
+
+import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MaskersTest {
+
+    private static final String PLAIN_ALPHABET = "ab1@-. 9";
+    private static final String FULL_ALPHABET = PLAIN_ALPHABET + "\t\n\r\u0085\u2028\u000B\uD83D\uDE00\uD83D";
+
+    @ParameterizedTest
+    @EnumSource(MaskedType.class)
+    void shouldProduceSameOutputAsReplaceAll(MaskedType type) {
+        var masker = Maskers.forType(type);
+        var random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            var alphabet = random.nextBoolean() ? PLAIN_ALPHABET : FULL_ALPHABET;
+            var sb = new StringBuilder();
+            for (int j = random.nextInt(16); j > 0; j--)
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            var value = sb.toString();
+            assertEquals(value.replaceAll(type.getRegex(), "*"), masker.mask(value), () -> "value=[" + value + "]");
+        }
+    }
+
+    @Test
+    void shouldAppendToExistingBuilder() {
+        var sb = new StringBuilder("email=");
+        Maskers.forType(MaskedType.EMAIL).maskTo("john.doe@gmail.com", sb);
+        assertEquals("email=**.doe***.com", sb.toString());
+    }
+
+    @Test
+    void shouldResolveBuiltInRegexToTypeMasker() {
+        assertSame(Maskers.forType(MaskedType.EMAIL), Maskers.forRegex(MaskedType.EMAIL.getRegex()));
+    }
+
+    @Test
+    void shouldCacheCustomRegex() {
+        assertSame(Maskers.forRegex("\\d{4}"), Maskers.forRegex("\\d{4}"));
+        assertEquals("**-2025", Maskers.forRegex("[a-z]{2}").mask("abcd-2025"));
+    }
+
+    @Test
+    void shouldKeepBuiltInRegexesWhenCustomRegexesAreEvicted() {
+        for (int i = 0; i < 2_000; i++)
+            assertEquals("*" + i, Maskers.forRegex("[a-z]{4}(?=" + i + ")").mask("abcd" + i));
+        assertSame(Maskers.forType(MaskedType.EMAIL), Maskers.forRegex(MaskedType.EMAIL.getRegex()));
+        assertSame(Maskers.forRegex("\\d{4}"), Maskers.forRegex("\\d{4}"));
+    }
+
+    @Test
+    void shouldPrioritizeCustomRegexOfAnnotation() throws NoSuchFieldException {
+        var custom = Sample.class.getDeclaredField("custom").getAnnotation(MaskSensitiveData.class);
+        var typed = Sample.class.getDeclaredField("typed").getAnnotation(MaskSensitiveData.class);
+        assertSame(Maskers.forRegex("\\d"), Maskers.forAnnotation(custom));
+        assertSame(Maskers.forType(MaskedType.DOCUMENT), Maskers.forAnnotation(typed));
+    }
+
+    @SuppressWarnings("unused")
+    private static class Sample {
+        @MaskSensitiveData(maskedType = MaskedType.EMAIL, customMaskRegex = "\\d")
+        private String custom;
+        @MaskSensitiveData(maskedType = MaskedType.DOCUMENT, customMaskRegex = " ")
+        private String typed;
+    }
+}
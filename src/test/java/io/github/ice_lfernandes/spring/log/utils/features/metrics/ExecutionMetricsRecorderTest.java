@@ -0,0 +1,122 @@
+package io.github.ice_lfernandes.spring.log.utils.features.metrics;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.async.AsyncLogDispatcher;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogFormat;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.MaskCache;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.Maskers;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import io.github.ice_lfernandes.spring.log.utils.properties.AsyncProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.MaskCacheProperties;
+import io.github.ice_lfernandes.spring.log.utils.properties.MetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExecutionMetricsRecorderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final InterceptionDescriptor descriptor = InterceptionDescriptor.of(method(), true, true,
+            RenderLimits.DEFAULT);
+
+    @Test
+    void shouldRecordExecutionsByOutcomeTaggedWithTheFullyQualifiedClassName() {
+        var recorder = recorder(null);
+
+        recorder.onExecution(descriptor, TimeUnit.MILLISECONDS.toNanos(5), null);
+        recorder.onExecution(descriptor, TimeUnit.MILLISECONDS.toNanos(7), new IllegalStateException("boom"));
+
+        Timer success = timer("SUCCESS");
+        assertEquals(1, success.count());
+        assertEquals(5, success.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, timer("ERROR").count());
+        assertEquals(7, timer("ERROR").totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldShareTheTimersOfTheDescriptorsOfAMethod() {
+        var recorder = recorder(null);
+
+        recorder.onExecution(descriptor, 1_000, null);
+        recorder.onExecution(descriptor.withFormat(LogFormat.JSON), 1_000, null);
+        recorder.onExecution(descriptor.withMode(LogMode.TAIL_COMPACT, 0), 1_000, null);
+
+        assertEquals(3, timer("SUCCESS").count());
+        assertEquals(2, registry.getMeters().size());
+    }
+
+    @Test
+    void shouldPublishTheGaugesOfTheAsynchronousPipeline() {
+        recorder(new AsyncLogDispatcher(new AsyncProperties(true, null, null, null, null, null)));
+
+        assertEquals(0, registry.get("log.utils.async.dropped").gauge().value());
+        assertEquals(0, registry.get("log.utils.async.pending").gauge().value());
+        assertEquals(0, registry.get("log.utils.async.lag.max").gauge().value());
+    }
+
+    @Test
+    void shouldPublishTheStatisticsOfTheMaskCache() {
+        var maskCache = new MaskCache(new MaskCacheProperties(true, null, null, null));
+        recorder(null, maskCache);
+
+        maskCache.mask("john.doe@gmail.com", Maskers.forType(MaskedType.EMAIL));
+        maskCache.mask("john.doe@gmail.com", Maskers.forType(MaskedType.EMAIL));
+
+        assertEquals(1, registry.get("cache.gets").tags("cache", "log.utils.mask", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "log.utils.mask", "result", "miss")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.size").tags("cache", "log.utils.mask").gauge().value());
+    }
+
+    private ExecutionMetricsRecorder recorder(AsyncLogDispatcher dispatcher) {
+        return recorder(dispatcher, null);
+    }
+
+    private ExecutionMetricsRecorder recorder(AsyncLogDispatcher dispatcher, MaskCache maskCache) {
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", registry);
+        if (dispatcher != null)
+            beanFactory.addBean("asyncLogDispatcher", dispatcher);
+        if (maskCache != null)
+            beanFactory.addBean("maskCache", maskCache);
+        var recorder = new ExecutionMetricsRecorder(new MetricsProperties(null, null, null, null),
+                beanFactory.getBeanProvider(MeterRegistry.class), beanFactory.getBeanProvider(AsyncLogDispatcher.class),
+                beanFactory.getBeanProvider(MaskCache.class));
+        // resolves the registry, then stops listening to the calls intercepted by the other tests
+        recorder.afterSingletonsInstantiated();
+        recorder.destroy();
+        return recorder;
+    }
+
+    private Timer timer(String outcome) {
+        return registry.get("log.utils.executions")
+                .tags("class", OrderService.class.getName(), "method", "find", "http", "none", "outcome", outcome)
+                .timer();
+    }
+
+    private static Method method() {
+        try {
+            return OrderService.class.getMethod("find", long.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class OrderService {
+
+        public String find(long id) {
+            return "order-" + id;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.ice_lfernandes.spring.log.utils.features.pii;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.StatusUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PiiMaskingConverterTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void shouldMaskEveryTypeOfTheFormattedMessageByDefault() {
+        var converter = converter(null);
+
+        assertEquals("user ******des***.com, cpf ***********-09",
+                converter.convert(event("user {}, cpf {}", "lucas.fernandes@gmail.com", "123.456.789-09")));
+    }
+
+    @Test
+    void shouldOnlyMaskTheTypesOfItsOptions() {
+        var converter = converter(List.of("EMAIL"));
+
+        assertEquals("**.doe***.com 123.456.789-09", converter.convert(event("{} {}", "john.doe@gmail.com",
+                "123.456.789-09")));
+    }
+
+    @Test
+    void shouldMaskEveryTypeAndReportAnErrorWithInvalidOptions() {
+        var converter = converter(List.of("EMAIL", "IBAN"));
+
+        assertTrue(converter.isStarted());
+        assertEquals(Status.ERROR, new StatusUtil(context).getHighestLevel(0));
+        assertEquals("cpf ***********-09", converter.convert(event("cpf {}", "123.456.789-09")));
+    }
+
+    private PiiMaskingConverter converter(List<String> options) {
+        var converter = new PiiMaskingConverter();
+        converter.setContext(context);
+        converter.setOptionList(options);
+        converter.start();
+        return converter;
+    }
+
+    private LoggingEvent event(String template, Object... arguments) {
+        return new LoggingEvent(PiiMaskingConverterTest.class.getName(), context.getLogger(PiiMaskingConverterTest.class),
+                Level.INFO, template, null, arguments);
+    }
+}
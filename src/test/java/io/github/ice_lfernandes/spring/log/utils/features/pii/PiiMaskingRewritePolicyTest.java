@@ -0,0 +1,56 @@
+package io.github.ice_lfernandes.spring.log.utils.features.pii;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PiiMaskingRewritePolicyTest {
+
+    @Test
+    void shouldReplaceTheMessageWithItsMaskedFormattedMessage() {
+        var policy = PiiMaskingRewritePolicy.createPolicy(null);
+        var event = event("user {}, cpf {}", "lucas.fernandes@gmail.com", "123.456.789-09");
+
+        LogEvent rewritten = policy.rewrite(event);
+
+        assertEquals("user ******des***.com, cpf ***********-09", rewritten.getMessage().getFormattedMessage());
+        assertEquals(event.getLoggerName(), rewritten.getLoggerName());
+        assertEquals(event.getLevel(), rewritten.getLevel());
+        assertEquals(event.getTimeMillis(), rewritten.getTimeMillis());
+    }
+
+    @Test
+    void shouldOnlyMaskTheTypesOfItsAttribute() {
+        var policy = PiiMaskingRewritePolicy.createPolicy("EMAIL");
+
+        assertEquals("**.doe***.com 123.456.789-09", policy.rewrite(event("{} {}", "john.doe@gmail.com",
+                "123.456.789-09")).getMessage().getFormattedMessage());
+    }
+
+    @Test
+    void shouldPassEventsWithoutPersonalDataUnchanged() {
+        var event = event("order {} created", 12345);
+
+        assertSame(event, PiiMaskingRewritePolicy.createPolicy("EMAIL,DOCUMENT").rewrite(event));
+    }
+
+    @Test
+    void shouldRejectUnknownTypes() {
+        assertThrows(IllegalArgumentException.class, () -> PiiMaskingRewritePolicy.createPolicy("EMAIL,IBAN"));
+    }
+
+    private static LogEvent event(String template, Object... arguments) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(PiiMaskingRewritePolicyTest.class.getName())
+                .setLevel(Level.INFO)
+                .setTimeMillis(1_000)
+                .setMessage(new ParameterizedMessage(template, arguments))
+                .build();
+    }
+}
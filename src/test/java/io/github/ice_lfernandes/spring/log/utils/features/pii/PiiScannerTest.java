@@ -0,0 +1,59 @@
+package io.github.ice_lfernandes.spring.log.utils.features.pii;
+
+import io.github.ice_lfernandes.spring.log.utils.features.enums.PiiType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PiiScannerTest {
+
+    @Test
+    void shouldMaskEveryTypeInOnePass() {
+        assertEquals("user ******des***.com, cpf ***********-09, phone *********8 registered",
+                PiiScanner.ALL.mask("user lucas.fernandes@gmail.com, cpf 123.456.789-09, phone +55 (11) 91234-5678 registered"));
+    }
+
+    @Test
+    void shouldMaskEmailEndingSentence() {
+        assertEquals("Sent to ******mple***com.", PiiScanner.ALL.mask("Sent to john.doe.example@mail.com."));
+    }
+
+    @Test
+    void shouldMaskPlainDocuments() {
+        assertEquals("cpf=********909 cnpj=***********195",
+                PiiScanner.ALL.mask("cpf=12345678909 cnpj=12345678000195"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "no personal data here",
+            "order 12345 created at 2025-05-13T10:00:00 in 1715600000123ms",
+            "id=123e4567-e89b-12d3-a456-426614174000 ip=192.168.100.200",
+            "annotations like @MaskSensitiveData and user@localhost",
+            "ref A12345678909 and 12345678909B"
+    })
+    void shouldReturnTextWithoutPersonalDataAsIs(String text) {
+        assertSame(text, PiiScanner.ALL.mask(text));
+    }
+
+    @Test
+    void shouldOnlyDetectEnabledTypes() {
+        var scanner = PiiScanner.of(List.of(PiiType.EMAIL));
+        assertEquals("**.doe***.com 123.456.789-09", scanner.mask("john.doe@gmail.com 123.456.789-09"));
+        assertEquals(scanner.mask("john.doe@gmail.com"), PiiScanner.parse(" EMAIL ").mask("john.doe@gmail.com"));
+        assertSame(PiiScanner.ALL, PiiScanner.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> PiiScanner.parse("EMAIL,IBAN"));
+    }
+
+    @Test
+    void shouldScanLongTextsInLinearTime() {
+        var text = "a@b.c1-".repeat(200_000);
+        assertSame(text, PiiScanner.ALL.mask(text));
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.ice_lfernandes.spring.log.utils.features.rendering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedRendererTest {
+
+    @Test
+    void shouldRenderLikeToStringWithinLimits() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", List.of(1, 2));
+        map.put("b", null);
+        Object[] parameters = {1, "text", map, new int[]{3, 4}};
+        assertEquals("[1, text, {a=[1, 2], b=null}, [3, 4]]", BoundedRenderer.render(parameters, RenderLimits.DEFAULT));
+    }
+
+    @Test
+    void shouldLimitElements() {
+        var list = IntStream.range(0, 50_000).boxed().toList();
+        assertEquals("[0, 1, 2, ...(49997 more)]", BoundedRenderer.render(list, new RenderLimits(0, 3, 0)));
+    }
+
+    @Test
+    void shouldLimitDepth() {
+        Object nested = List.of(List.of(List.of(1)), Map.of("k", List.of(2)));
+        assertEquals("[[[...]], {k=[...]}]", BoundedRenderer.render(nested, new RenderLimits(0, 0, 2)));
+    }
+
+    @Test
+    void shouldStopAtCharacterBudget() {
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++)
+            list.add("element-" + i);
+        assertEquals("[element-0, el" + BoundedRenderer.TRUNCATED, BoundedRenderer.render(list, new RenderLimits(14, 0, 0)));
+    }
+
+    @Test
+    void shouldRenderByteArrayAsLengthAndHash() {
+        byte[] small = {1, 2, 3};
+        assertEquals("byte[length=3, hash=" + Integer.toHexString(Arrays.hashCode(small)) + "]",
+                BoundedRenderer.render(small, RenderLimits.DEFAULT));
+    }
+
+    @Test
+    void shouldHashASampleOfLargeByteArrays() {
+        byte[] upload = new byte[1024 * 1024];
+        String empty = BoundedRenderer.render(upload, RenderLimits.DEFAULT);
+        upload[512 * 1024] = 1;
+        String rendered = BoundedRenderer.render(upload, RenderLimits.DEFAULT);
+
+        assertTrue(rendered.startsWith("byte[length=1048576, hash="), rendered);
+        assertNotEquals(empty, rendered);
+    }
+
+    @Test
+    void shouldRenderContainersReferencingThemselvesAsCycles() {
+        var unbounded = new RenderLimits(0, 0, 0);
+        List<Object> list = new ArrayList<>(List.of(1));
+        list.add(list);
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("self", map);
+        map.put("list", list);
+        var shared = List.of(1);
+
+        assertEquals("[1, (cycle)]", BoundedRenderer.render(list, unbounded));
+        assertEquals("{self=(cycle), list=[1, (cycle)]}", BoundedRenderer.render(map, unbounded));
+        assertEquals("[[1], [1]]", BoundedRenderer.render(List.of(shared, shared), unbounded));
+    }
+
+    @Test
+    void shouldRenderCollectionsWithACustomToStringThroughIt() {
+        var page = new Page();
+        page.addAll(List.of("a", "b"));
+        var numbers = Collections.unmodifiableList(IntStream.range(0, 10).boxed().toList());
+
+        assertEquals("[Page(size=2)]", BoundedRenderer.render(List.of(page), RenderLimits.DEFAULT));
+        assertEquals("[0, 1, ...(8 more)]", BoundedRenderer.render(numbers, new RenderLimits(0, 2, 0)));
+    }
+
+    @Test
+    void shouldRenderLazily() {
+        var lazy = BoundedRenderer.lazy(List.of("a", "b", "c"), new RenderLimits(0, 1, 0));
+        assertEquals("[a, ...(2 more)]", lazy.toString());
+    }
+
+    static class Page extends ArrayList<String> {
+
+        @Override
+        public String toString() {
+            return "Page(size=" + size() + ")";
+        }
+    }
+}
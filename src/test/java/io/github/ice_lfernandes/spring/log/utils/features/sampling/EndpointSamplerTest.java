@@ -0,0 +1,67 @@
+package io.github.ice_lfernandes.spring.log.utils.features.sampling;
+
+import io.github.ice_lfernandes.spring.log.utils.properties.SamplingProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EndpointSamplerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstThenLimitRate() {
+        var sampler = new EndpointSampler(new SamplingProperties(null, 10, 3, null, null));
+        long now = 1_000 * SECOND;
+
+        assertTrue(sampler.tryAcquire(now));
+        assertTrue(sampler.tryAcquire(now));
+        assertTrue(sampler.tryAcquire(now));
+        assertFalse(sampler.tryAcquire(now));
+
+        assertFalse(sampler.tryAcquire(now + SECOND / 20));
+        assertTrue(sampler.tryAcquire(now + SECOND / 10));
+        assertFalse(sampler.tryAcquire(now + SECOND / 10));
+    }
+
+    @Test
+    void shouldRefillAfterIdlePeriod() {
+        var sampler = new EndpointSampler(new SamplingProperties(null, 2, null, null, null));
+        long now = 1_000 * SECOND;
+
+        assertTrue(sampler.tryAcquire(now));
+        assertTrue(sampler.tryAcquire(now));
+        assertFalse(sampler.tryAcquire(now));
+        assertTrue(sampler.tryAcquire(now + 10 * SECOND));
+    }
+
+    @Test
+    void shouldSampleApproximatelyAtRate() {
+        var sampler = new EndpointSampler(new SamplingProperties(0.1, null, null, null, null));
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (sampler.sample())
+                sampled++;
+        }
+        assertEquals(10_000, sampled, 1_000);
+    }
+
+    @Test
+    void shouldNeverTreatUnsampledCallsAsSlowWithoutThreshold() {
+        var sampler = new EndpointSampler(new SamplingProperties(0.0, null, null, null, null));
+        assertEquals(Long.MAX_VALUE, sampler.getSlowThresholdNanos());
+    }
+
+    @Test
+    void shouldExposeOverrides() {
+        var sampler = new EndpointSampler(new SamplingProperties(0.0, null, null, false, Duration.ofMillis(500)));
+        assertFalse(sampler.sample());
+        assertFalse(sampler.isAlwaysLogErrors());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), sampler.getSlowThresholdNanos());
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.ice_lfernandes.spring.log.utils.features.summary;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogFormat;
+import io.github.ice_lfernandes.spring.log.utils.features.enums.LogMode;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import io.github.ice_lfernandes.spring.log.utils.properties.SummaryProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutionSummarizerTest {
+
+    private final InterceptionDescriptor descriptor = InterceptionDescriptor.of(method(), true, true,
+            RenderLimits.DEFAULT).withMode(LogMode.SUMMARY, 0);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ExecutionSummarizer.class);
+
+    private final ExecutionSummarizer summarizer = new ExecutionSummarizer(
+            new SummaryProperties(true, Duration.ofHours(1), List.of(0.5)));
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        summarizer.destroy();
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void shouldWriteOneLinePerMethodCalledDuringTheInterval() {
+        summarizer.onExecution(descriptor, TimeUnit.MILLISECONDS.toNanos(2), null);
+        summarizer.onExecution(descriptor, TimeUnit.MILLISECONDS.toNanos(4), new IllegalStateException("boom"));
+
+        summarizer.flush();
+        summarizer.flush();
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("stage=summary, method=getUser, class=ExecutionSummarizerTest, interval=3600s, "
+                + "count=2, errors=1, min="), line);
+        assertTrue(line.contains(", p50="), line);
+    }
+
+    @Test
+    void shouldShareTheSummaryOfTheDescriptorsOfAMethod() {
+        summarizer.onExecution(descriptor, 1_000, null);
+        summarizer.onExecution(descriptor.withMode(LogMode.SUMMARY, TimeUnit.SECONDS.toNanos(1)), 1_000, null);
+        summarizer.onExecution(descriptor.withFormat(LogFormat.JSON), 1_000, null);
+
+        summarizer.flush();
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("{\"stage\":\"summary\",\"method\":\"getUser\""), line);
+        assertTrue(line.contains("\"count\":3"), line);
+    }
+
+    @SuppressWarnings("unused")
+    private String getUser(Long id) {
+        return "user";
+    }
+
+    private static Method method() {
+        try {
+            return ExecutionSummarizerTest.class.getDeclaredMethod("getUser", Long.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.ice_lfernandes.spring.log.utils.features.summary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutionSummaryTest {
+
+    @Test
+    void shouldAggregateExecutionsAndResetOnDrain() {
+        var summary = new ExecutionSummary();
+        for (int millis = 1; millis <= 100; millis++)
+            summary.record(TimeUnit.MILLISECONDS.toNanos(millis), millis % 10 == 0);
+
+        var snapshot = summary.drain();
+        assertEquals(100, snapshot.count());
+        assertEquals(10, snapshot.errors());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), snapshot.minNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), snapshot.maxNanos());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(50_500), snapshot.meanNanos());
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(50), snapshot.percentileNanos(0.5));
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(99), snapshot.percentileNanos(0.99));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), snapshot.percentileNanos(1));
+
+        assertNull(summary.drain());
+    }
+
+    @Test
+    void shouldBucketEveryDurationWithBoundedError() {
+        int previous = 0;
+        for (long nanos = 0; nanos < TimeUnit.HOURS.toNanos(2); nanos = nanos * 3 / 2 + 1) {
+            int bucket = ExecutionSummary.bucket(nanos);
+            assertTrue(bucket >= previous && bucket < ExecutionSummary.BUCKETS);
+            if (nanos >= 4096 && nanos < TimeUnit.HOURS.toNanos(1))
+                assertWithin(nanos, ExecutionSummary.midpoint(bucket));
+            previous = bucket;
+        }
+    }
+
+    @Test
+    void shouldNotLoseConcurrentExecutions() throws InterruptedException {
+        var summary = new ExecutionSummary();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 10_000; j++)
+                    summary.record(j, false);
+            }));
+        long count = 0;
+        for (Thread thread : threads) {
+            thread.join();
+            var snapshot = summary.drain();
+            count += snapshot == null ? 0 : snapshot.count();
+        }
+        var last = summary.drain();
+        assertEquals(80_000, count + (last == null ? 0 : last.count()));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 8, () -> actual + " is not within 12.5% of " + expected);
+    }
+}
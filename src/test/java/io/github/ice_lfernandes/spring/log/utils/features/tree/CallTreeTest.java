@@ -0,0 +1,72 @@
+package io.github.ice_lfernandes.spring.log.utils.features.tree;
+
+import io.github.ice_lfernandes.spring.log.utils.commons.InterceptionDescriptor;
+import io.github.ice_lfernandes.spring.log.utils.features.rendering.RenderLimits;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallTreeTest {
+
+    private static final InterceptionDescriptor CONTROLLER =
+            InterceptionDescriptor.of("create", "OrderController", "", true, true, RenderLimits.DEFAULT);
+    private static final InterceptionDescriptor SERVICE =
+            InterceptionDescriptor.of("place", "OrderService", "", true, true, RenderLimits.DEFAULT);
+    private static final InterceptionDescriptor CLIENT =
+            InterceptionDescriptor.of("charge", "PaymentClient", "", true, true, RenderLimits.DEFAULT);
+
+    @Test
+    void shouldComputeSelfTimeFromChildren() throws InterruptedException {
+        var tree = new CallTree(8);
+        int root = tree.enter(CONTROLLER);
+        int service = tree.enter(SERVICE);
+        int client = tree.enter(CLIENT);
+        Thread.sleep(2);
+        tree.exit(client, true);
+        tree.exit(service, false);
+        int second = tree.enter(SERVICE);
+        tree.exit(second, false);
+        tree.exit(root, false);
+        assertTrue(tree.isClosed());
+
+        var snapshot = tree.snapshot();
+        assertArrayEquals(new int[]{-1, 0, 1, 0}, snapshot.parents());
+        assertArrayEquals(new int[]{0, 1, 2, 1}, snapshot.depths());
+        long[] totals = snapshot.totals();
+        long[] selves = snapshot.selves();
+        assertEquals(totals[0] - totals[1] - totals[3], selves[0]);
+        assertEquals(totals[1] - totals[2], selves[1]);
+        assertEquals(totals[2], selves[2]);
+        assertTrue(totals[2] >= 2_000_000);
+
+        var lines = snapshot.toString().lines().toList();
+        assertTrue(lines.get(0).startsWith("stage=tree, method=create, class=OrderController, spans=4, time-execution="));
+        assertTrue(lines.get(3).startsWith("      PaymentClient.charge total="));
+        assertTrue(lines.get(3).endsWith("ms, error=true"));
+        assertTrue(lines.get(4).startsWith("    OrderService.place total="));
+    }
+
+    @Test
+    void shouldCountSpansBeyondCapacityAndBeReusable() {
+        var tree = new CallTree(2);
+        int root = tree.enter(CONTROLLER);
+        int service = tree.enter(SERVICE);
+        int client = tree.enter(CLIENT);
+        assertEquals(-1, client);
+        tree.exit(client, false);
+        tree.exit(service, false);
+        assertFalse(tree.isClosed());
+        tree.exit(root, false);
+
+        var snapshot = tree.snapshot();
+        assertEquals(2, snapshot.descriptors().length);
+        assertEquals(1, snapshot.dropped());
+        assertTrue(snapshot.toString().startsWith("stage=tree, method=create, class=OrderController, spans=2, dropped=1, "));
+
+        tree.reset();
+        assertEquals(0, tree.enter(SERVICE));
+    }
+}
@@ -0,0 +1,234 @@
+package io.github.ice_lfernandes.spring.log.utils.processor;
+
+import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.MaskPlan;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.ObjectMasker;
+import io.github.ice_lfernandes.spring.log.utils.features.masking.ObjectMaskers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogMaskProcessorTest {
+
+    private static final Pattern TYPE_NAME = Pattern.compile("package ([\\w.]+);.*?(?:class|record) (\\w+)",
+            Pattern.DOTALL);
+
+    private static final String IMPORTS = """
+            import io.github.ice_lfernandes.spring.log.utils.features.annotations.MaskSensitiveData;
+            import io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType;
+            import io.github.ice_lfernandes.spring.log.utils.features.interfaces.LogMask;
+            """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldGenerateAMaskerRenderingARecordAsReflectionDoes() throws Exception {
+        var compilation = compile("""
+                package com.acme;
+                """ + IMPORTS + """
+                public record User(@MaskSensitiveData(maskedType = MaskedType.EMAIL) String email, String name,
+                                   int age, @MaskSensitiveData(customMaskRegex = "\\\\d(?=\\\\d{3})") String document)
+                        implements LogMask {
+                }
+                """);
+
+        assertEquals(List.of(), compilation.errors());
+        String generated = compilation.generated("com.acme.UserLogMasker");
+        assertTrue(generated.contains("private static final Masker MASKER_0 = Maskers.forType("
+                + "io.github.ice_lfernandes.spring.log.utils.features.enums.MaskedType.EMAIL);"), generated);
+        assertTrue(generated.contains("private static final Masker MASKER_3 = Maskers.forRegex(\"\\\\d(?=\\\\d{3})\");"),
+                generated);
+        assertTrue(generated.contains("Maskers.appendMasked(value.email(), MASKER_0, out);"), generated);
+        assertTrue(generated.contains("out.append((Object) value.name());"), generated);
+        assertTrue(generated.contains("out.append(value.age());"), generated);
+
+        Class<?> type = compilation.load("com.acme.User");
+        Object user = type.getConstructor(String.class, String.class, int.class, String.class)
+                .newInstance("lucas.fernandes@gmail.com", "Lucas", 31, "12345678911");
+        ObjectMasker masker = ObjectMaskers.forClass(type);
+        assertEquals("com.acme.UserLogMasker", masker.getClass().getName());
+        assertEquals(MaskPlan.of(type).mask(user), masker.mask(user));
+    }
+
+    @Test
+    void shouldGenerateMaskersForStaticNestedClassesOnly() throws Exception {
+        var compilation = compile("""
+                package com.acme;
+                """ + IMPORTS + """
+                public class Outer {
+                    public static class Customer implements LogMask {
+                        @MaskSensitiveData(maskedType = MaskedType.NAME) String name = "Lucas Fernandes";
+                        int visits = 3;
+                    }
+                    public class Session implements LogMask {
+                        @MaskSensitiveData String token = "abc";
+                    }
+                    static class Account implements LogMask {
+                        @MaskSensitiveData private String iban = "NL91ABNA0417164300";
+                    }
+                    public record Card(@MaskSensitiveData String number) implements LogMask {
+                        public String number() {
+                            return number;
+                        }
+                    }
+                    static class Payment {
+                        @MaskSensitiveData String pan = "4111111111111111";
+                    }
+                }
+                """);
+
+        assertEquals(List.of(), compilation.errors());
+        assertEquals(List.of("com/acme/Outer_CustomerLogMasker.java"), compilation.generatedFiles());
+        Class<?> type = compilation.load("com.acme.Outer$Customer");
+        var constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        Object customer = constructor.newInstance();
+        assertEquals(MaskPlan.of(type).mask(customer), ObjectMaskers.forClass(type).mask(customer));
+    }
+
+    @Test
+    void shouldWarnAndSkipTypesMappingToTheSameMaskerName() throws Exception {
+        var compilation = compile("""
+                package com.acme;
+                """ + IMPORTS + """
+                public class Outer {
+                    public static class Customer implements LogMask {
+                        @MaskSensitiveData String name;
+                    }
+                }
+                """, """
+                package com.acme;
+                """ + IMPORTS + """
+                public class Outer_Customer implements LogMask {
+                    @MaskSensitiveData String name;
+                }
+                """);
+
+        assertEquals(List.of(), compilation.errors());
+        assertEquals(2, compilation.warnings().size(), compilation.warnings().toString());
+        assertTrue(compilation.warnings().stream().allMatch(warning ->
+                warning.startsWith("Not generating com.acme.Outer_CustomerLogMasker: ")), compilation.warnings().toString());
+        assertEquals(List.of(), compilation.generatedFiles());
+        assertTrue(ObjectMaskers.forClass(compilation.load("com.acme.Outer$Customer")) instanceof MaskPlan);
+        assertTrue(ObjectMaskers.forClass(compilation.load("com.acme.Outer_Customer")) instanceof MaskPlan);
+    }
+
+    @Test
+    void shouldNotUseAMaskerGeneratedForAnotherTypeWithTheSameName() throws Exception {
+        var flat = compile("""
+                package com.acme;
+                """ + IMPORTS + """
+                public class Outer_Customer implements LogMask {
+                    @MaskSensitiveData String name = "Lucas Fernandes";
+                }
+                """);
+        assertEquals(List.of("com/acme/Outer_CustomerLogMasker.java"), flat.generatedFiles());
+
+        // compiled separately, with a private field, so no masker is generated for it
+        var nested = compile("""
+                package com.acme;
+                """ + IMPORTS + """
+                public class Outer {
+                    public static class Customer implements LogMask {
+                        @MaskSensitiveData private String name = "Lucas Fernandes";
+                    }
+                }
+                """);
+
+        assertEquals(List.of(), nested.errors());
+        Class<?> type = nested.load("com.acme.Outer$Customer");
+        ObjectMasker masker = ObjectMaskers.forClass(type);
+        assertTrue(masker instanceof MaskPlan, masker.getClass().getName());
+    }
+
+    @Test
+    void shouldIgnoreTypesNotImplementingLogMask() throws Exception {
+        var compilation = compile("""
+                package com.acme;
+                """ + IMPORTS + """
+                public record Order(@MaskSensitiveData String customer) {
+                }
+                """);
+
+        assertEquals(List.of(), compilation.errors());
+        assertFalse(Files.exists(compilation.sources().resolve("com/acme/OrderLogMasker.java")));
+    }
+
+    private Compilation compile(String... sources) throws IOException, URISyntaxException {
+        Path input = Files.createDirectories(directory.resolve("input"));
+        Path sourceOutput = Files.createDirectories(directory.resolve("generated"));
+        Path classOutput = Files.createDirectories(directory.resolve("classes"));
+        var files = new ArrayList<Path>();
+        for (String source : sources) {
+            Matcher name = TYPE_NAME.matcher(source);
+            assertTrue(name.find(), source);
+            Path file = input.resolve(name.group(1).replace('.', '/')).resolve(name.group(2) + ".java");
+            Files.createDirectories(file.getParent());
+            files.add(Files.writeString(file, source));
+        }
+        String classpath = Path.of(LogMask.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                + File.pathSeparator + System.getProperty("java.class.path");
+
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        try (var fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            var task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-classpath", classpath, "-d", classOutput.toString(), "-s", sourceOutput.toString()),
+                    null, fileManager.getJavaFileObjectsFromPaths(files));
+            task.setProcessors(List.of(new LogMaskProcessor()));
+            task.call();
+        }
+        return new Compilation(messages(diagnostics, Diagnostic.Kind.ERROR),
+                messages(diagnostics, Diagnostic.Kind.WARNING), sourceOutput, classOutput);
+    }
+
+    private static List<String> messages(DiagnosticCollector<JavaFileObject> diagnostics, Diagnostic.Kind kind) {
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == kind)
+                .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                .toList();
+    }
+
+    private record Compilation(List<String> errors, List<String> warnings, Path sources, Path classes) {
+
+        String generated(String className) throws IOException {
+            return Files.readString(sources.resolve(className.replace('.', '/') + ".java"));
+        }
+
+        List<String> generatedFiles() throws IOException {
+            try (var files = Files.walk(sources)) {
+                return files.filter(Files::isRegularFile)
+                        .map(file -> sources.relativize(file).toString().replace(File.separatorChar, '/'))
+                        .sorted()
+                        .toList();
+            }
+        }
+
+        Class<?> load(String className) throws Exception {
+            var loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, LogMaskProcessorTest.class.getClassLoader());
+            return Class.forName(className, true, loader);
+        }
+    }
+}